@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON encoding of bulk lookup requests and decoding of the responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkLookupBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	int size;
+
+	Set<Hash> phoneHashes;
+	Set<Hash> emailHashes;
+	String response;
+
+	@Setup
+	public void setup() {
+		phoneHashes = new HashSet<>();
+		emailHashes = new HashSet<>();
+		var json = new StringBuilder("[");
+		var key = RawPublicKey.of(KeyGenerator.generate().getPublic()).getHexValue();
+		for (int i = 0; i < size; i++) {
+			var phone = Hash.ofPhone(String.format("4179%07d", i));
+			var email = Hash.ofEmail(String.format("user%d@example.com", i));
+			phoneHashes.add(phone);
+			emailHashes.add(email);
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append(String.format("{\"phoneHash\":\"%s\",\"identity\":\"P%07d\",\"publicKey\":\"%s\"},",
+					phone.getHexValue(), i, key));
+			json.append(String.format("{\"emailHash\":\"%s\",\"identity\":\"E%07d\",\"publicKey\":\"%s\"}",
+					email.getHexValue(), i, key));
+		}
+		response = json.append(']').toString();
+	}
+
+	@Benchmark
+	public String writeRequest() {
+		return BulkLookup.writeRequest(phoneHashes, emailHashes);
+	}
+
+	@Benchmark
+	public HashMap<Hash, Gateway.IDKey> readResponse() {
+		return BulkLookup.readResponse(response);
+	}
+
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.security.KeyPair;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Comparison of the available crypto providers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoProviderBenchmark {
+
+	@Param({ "saltyCoffee", "pureJava" })
+	String provider;
+
+	@Param({ "100", "4096", "65536" })
+	int size;
+
+	CryptoProvider crypto;
+	KeyPair alice;
+	KeyPair bob;
+	SecretKey key;
+	byte[] nonce;
+	byte[] plaintext;
+	byte[] box;
+
+	@Setup
+	public void setup() {
+		crypto = "pureJava".equals(provider) ? CryptoProvider.pureJava() : CryptoProvider.saltyCoffee();
+		alice = KeyGenerator.generate();
+		bob = KeyGenerator.generate();
+		key = crypto.agree(alice.getPrivate(), bob.getPublic());
+		nonce = new byte[Nonce.SIZE];
+		plaintext = new byte[size];
+		new Random(0).nextBytes(plaintext);
+		box = crypto.encrypt(key, nonce, plaintext);
+	}
+
+	@Benchmark
+	public byte[] encrypt() {
+		return crypto.encrypt(key, nonce, plaintext);
+	}
+
+	@Benchmark
+	public byte[] decrypt() {
+		return crypto.decrypt(key, nonce, box);
+	}
+
+	@Benchmark
+	public SecretKey agree() {
+		return crypto.agree(alice.getPrivate(), bob.getPublic());
+	}
+
+}
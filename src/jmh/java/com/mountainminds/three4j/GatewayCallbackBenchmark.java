@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and MAC verification of callback bodies for small and large boxes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayCallbackBenchmark {
+
+	@Param({ "64", "4000" })
+	int boxSize;
+
+	byte[] body;
+
+	@Setup
+	public void setup() {
+		var box = new byte[boxSize];
+		new Random(0).nextBytes(box);
+		var params = "from=SENDER01&to=%2ARECEIVE&messageId=0011223344556677&date=1650000000" //
+				+ "&nonce=" + "00".repeat(Nonce.SIZE) + "&box=" + ByteArrayValue.toHex(box);
+		var mac = Hash.newMAC("secret".getBytes(US_ASCII));
+		for (var param : params.split("&")) {
+			var value = param.substring(param.indexOf('=') + 1);
+			mac.update(value.replace("%2A", "*").getBytes(US_ASCII));
+		}
+		body = (params + "&mac=" + ByteArrayValue.toHex(mac.doFinal()) + "&nickname=three4j").getBytes(US_ASCII);
+	}
+
+	@Benchmark
+	public GatewayCallback parse() {
+		return new GatewayCallback(body, "secret");
+	}
+
+}
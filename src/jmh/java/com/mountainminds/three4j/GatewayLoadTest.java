@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test of the HTTP path of a single {@link Gateway} instance against a
+ * local HTTPS stub. Worker threads call the selected operation in a loop for
+ * the given time and the test reports throughput, latency percentiles,
+ * allocation rate and thread counts. Options are given as
+ * <code>key=value</code> arguments:
+ * 
+ * <ul>
+ * <li><code>operation</code>: <code>send</code> (default), <code>upload</code>
+ * or <code>lookup</code></li>
+ * <li><code>concurrency</code>: number of worker threads, default 16</li>
+ * <li><code>latency</code>: simulated gateway latency in milliseconds, default
+ * 10</li>
+ * <li><code>warmup</code>: warmup time in seconds, default 3</li>
+ * <li><code>duration</code>: measurement time in seconds, default 10</li>
+ * <li><code>size</code>: blob size in bytes for <code>upload</code> or number of
+ * hashes for <code>lookup</code>, default 65536 or 100</li>
+ * </ul>
+ * 
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@loadtest -Dloadtest.args="operation=send concurrency=64 latency=20"
+ * </pre>
+ */
+public final class GatewayLoadTest {
+
+	interface Operation {
+		void run() throws Exception;
+	}
+
+	private final Operation operation;
+	private final int concurrency;
+
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	private final LongAdder errors = new LongAdder();
+
+	private volatile boolean recording;
+	private volatile boolean stopped;
+
+	private GatewayLoadTest(Operation operation, int concurrency) {
+		this.operation = operation;
+		this.concurrency = concurrency;
+	}
+
+	public static void main(String[] args) throws Exception {
+		var options = new HashMap<String, String>();
+		for (var arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq < 0) {
+				throw new IllegalArgumentException("Invalid option: " + arg);
+			}
+			options.put(arg.substring(0, eq), arg.substring(eq + 1));
+		}
+		var name = options.getOrDefault("operation", "send");
+		int concurrency = intOption(options, "concurrency", 16);
+		var latency = Duration.ofMillis(intOption(options, "latency", 10));
+		var warmup = Duration.ofSeconds(intOption(options, "warmup", 3));
+		var duration = Duration.ofSeconds(intOption(options, "duration", 10));
+		int size = intOption(options, "size", "upload".equals(name) ? 65536 : 100);
+
+		try (var stub = new GatewayStub(latency, size)) {
+			var keys = KeyGenerator.generate();
+			var identity = new Identity(ThreemaId.of("*LOADTST"), "secret", keys.getPrivate());
+			var gateway = new Gateway(identity, stub.newClient(), stub.getBaseUrl());
+			var operation = createOperation(name, gateway, RawPublicKey.of(keys.getPublic()), size);
+			System.out.printf("operation=%s concurrency=%s latency=%s size=%s%n", name, concurrency, latency, size);
+			new GatewayLoadTest(operation, concurrency).run(warmup, duration);
+		}
+	}
+
+	private static int intOption(Map<String, String> options, String key, int defaultValue) {
+		var value = options.get(key);
+		return value == null ? defaultValue : Integer.parseInt(value);
+	}
+
+	private static Operation createOperation(String name, Gateway gateway, RawPublicKey receiverKey, int size) {
+		switch (name) {
+		case "send":
+			var receiver = ThreemaId.of("ECHOECHO");
+			var message = new PlainMessage.Text("Load test message");
+			return () -> gateway.sendMessage(receiver, receiverKey, message);
+		case "upload":
+			var content = new byte[size];
+			return () -> gateway.uploadBlob(content);
+		case "lookup":
+			Set<Hash> phones = new HashSet<>();
+			for (int i = 0; i < size; i++) {
+				phones.add(Hash.ofPhone(String.format("4179%07d", i)));
+			}
+			return () -> gateway.bulkLookup(phones, Set.of());
+		default:
+			throw new IllegalArgumentException("Unknown operation: " + name);
+		}
+	}
+
+	private void run(Duration warmup, Duration duration) throws InterruptedException {
+		var done = new CountDownLatch(concurrency);
+		for (int i = 0; i < concurrency; i++) {
+			var t = new Thread(() -> {
+				work();
+				done.countDown();
+			}, "three4j-load-" + i);
+			t.setDaemon(true);
+			t.start();
+		}
+		Thread.sleep(warmup.toMillis());
+
+		long allocatedBefore = ThreadMetrics.getTotalAllocatedBytes();
+		long start = System.nanoTime();
+		recording = true;
+		Thread.sleep(duration.toMillis());
+		recording = false;
+		long elapsed = System.nanoTime() - start;
+		long allocated = ThreadMetrics.getTotalAllocatedBytes() - allocatedBefore;
+		int threads = ThreadMetrics.getThreadCount();
+
+		stopped = true;
+		done.await();
+
+		var snapshot = latencies.snapshot();
+		double seconds = elapsed / 1e9;
+		System.out.printf("throughput:  %.1f ops/s (%s ops, %s errors)%n", snapshot.getCount() / seconds,
+				snapshot.getCount(), errors.sum());
+		System.out.printf("latency:     mean=%s p50=%s p90=%s p99=%s p99.9=%s max=%s%n", snapshot.getMean(),
+				snapshot.getPercentile(50), snapshot.getPercentile(90), snapshot.getPercentile(99),
+				snapshot.getPercentile(99.9), snapshot.getMax());
+		if (allocatedBefore < 0) {
+			System.out.println("allocation:  not supported by this JVM");
+		} else {
+			System.out.printf("allocation:  %.1f MB/s, %s bytes/op (client and stub)%n", allocated / seconds / 1e6,
+					snapshot.getCount() == 0 ? 0 : allocated / snapshot.getCount());
+		}
+		System.out.printf("threads:     %s live, %s peak%n", threads, ThreadMetrics.getPeakThreadCount());
+	}
+
+	private void work() {
+		while (!stopped) {
+			long start = System.nanoTime();
+			try {
+				operation.run();
+				if (recording) {
+					latencies.record(System.nanoTime() - start);
+				}
+			} catch (Exception e) {
+				if (recording) {
+					errors.increment();
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * Local HTTPS server which answers the gateway endpoints <code>send_e2e</code>,
+ * <code>upload_blob</code> and <code>lookup/bulk</code> with canned responses
+ * after a configurable latency. The latency is simulated with a scheduler, so
+ * pending responses do not block server threads. A self-signed certificate
+ * for <code>127.0.0.1</code> is created with <code>keytool</code> on startup.
+ */
+final class GatewayStub implements AutoCloseable {
+
+	private static final String PASSWORD = "three4j";
+
+	static {
+		// Headers and body are written separately, avoid delayed ACK stalls
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final SSLContext sslContext;
+	private final HttpsServer server;
+	private final ExecutorService executor;
+	private final ScheduledExecutorService delays;
+	private final long latencyNanos;
+	private final byte[] lookupResponse;
+
+	private final LongAdder requests = new LongAdder();
+
+	/**
+	 * Creates and starts a new stub.
+	 * 
+	 * @param latency       delay of every response
+	 * @param lookupEntries number of entries in bulk lookup responses
+	 */
+	GatewayStub(Duration latency, int lookupEntries) throws IOException, GeneralSecurityException {
+		this.latencyNanos = latency.toNanos();
+		this.lookupResponse = lookupResponse(lookupEntries);
+		this.sslContext = createSslContext();
+		this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), daemon("stub"));
+		this.delays = Executors.newSingleThreadScheduledExecutor(daemon("stub-delay"));
+		server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+		server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+		server.setExecutor(executor);
+		server.createContext("/send_e2e", e -> respond(e, hex(MessageId.SIZE)));
+		server.createContext("/upload_blob", e -> respond(e, hex(BlobId.SIZE)));
+		server.createContext("/lookup/bulk", e -> respond(e, lookupResponse));
+		server.start();
+	}
+
+	private static ThreadFactory daemon(String name) {
+		return r -> {
+			var t = new Thread(r, "three4j-" + name);
+			t.setDaemon(true);
+			return t;
+		};
+	}
+
+	private static SSLContext createSslContext() throws IOException, GeneralSecurityException {
+		var dir = Files.createTempDirectory("three4j-stub");
+		var file = dir.resolve("stub.p12");
+		try {
+			var keytool = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+			var process = new ProcessBuilder(keytool, "-genkeypair", "-keystore", file.toString(), "-storetype",
+					"PKCS12", "-storepass", PASSWORD, "-keypass", PASSWORD, "-alias", "stub", "-keyalg", "EC",
+					"-groupname", "secp256r1", "-dname", "CN=127.0.0.1", "-ext", "san=ip:127.0.0.1", "-validity", "1")
+					.redirectErrorStream(true).start();
+			var output = new String(process.getInputStream().readAllBytes(), US_ASCII);
+			if (process.waitFor() != 0) {
+				throw new IOException("keytool failed: " + output);
+			}
+			var keystore = KeyStore.getInstance("PKCS12");
+			try (InputStream in = Files.newInputStream(file)) {
+				keystore.load(in, PASSWORD.toCharArray());
+			}
+			var keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+			keys.init(keystore, PASSWORD.toCharArray());
+			var trust = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+			trust.init(keystore);
+			var context = SSLContext.getInstance("TLS");
+			context.init(keys.getKeyManagers(), trust.getTrustManagers(), null);
+			return context;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} finally {
+			Files.deleteIfExists(file);
+			Files.delete(dir);
+		}
+	}
+
+	private static byte[] hex(int size) {
+		var bytes = new byte[size];
+		RandomSource.getDefault().nextBytes(bytes);
+		return ByteArrayValue.toHex(bytes).getBytes(US_ASCII);
+	}
+
+	private static byte[] lookupResponse(int entries) {
+		var key = RawPublicKey.of(KeyGenerator.generate().getPublic()).getHexValue();
+		var json = new StringBuilder("[");
+		for (int i = 0; i < entries; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			var hash = Hash.ofPhone(String.format("4179%07d", i)).getHexValue();
+			json.append(String.format("{\"phoneHash\":\"%s\",\"identity\":\"P%07d\",\"publicKey\":\"%s\"}", hash, i,
+					key));
+		}
+		return json.append(']').toString().getBytes(US_ASCII);
+	}
+
+	private void respond(HttpExchange exchange, byte[] body) throws IOException {
+		requests.increment();
+		try (var in = exchange.getRequestBody()) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		if (latencyNanos > 0) {
+			delays.schedule(() -> executor.execute(() -> send(exchange, body)), latencyNanos, TimeUnit.NANOSECONDS);
+		} else {
+			send(exchange, body);
+		}
+	}
+
+	private static void send(HttpExchange exchange, byte[] body) {
+		try {
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+		} catch (IOException e) {
+			// Client has gone away
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * @return base URL for {@link Gateway#Gateway(Identity, HttpClient, String)}
+	 */
+	String getBaseUrl() {
+		return "https://127.0.0.1:" + server.getAddress().getPort() + "/";
+	}
+
+	/**
+	 * @return new HTTP client which trusts the certificate of this stub
+	 */
+	HttpClient newClient() {
+		return HttpClient.newBuilder().sslContext(sslContext).build();
+	}
+
+	/**
+	 * @return number of requests received so far
+	 */
+	long getRequests() {
+		return requests.sum();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		delays.shutdownNow();
+		executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mountainminds.three4j.PlainMessage.DeliveryReceipt;
+import com.mountainminds.three4j.PlainMessage.DeliveryReceipt.ReceiptType;
+import com.mountainminds.three4j.PlainMessage.File;
+import com.mountainminds.three4j.PlainMessage.File.RenderingType;
+import com.mountainminds.three4j.PlainMessage.Location;
+import com.mountainminds.three4j.PlainMessage.Text;
+
+/**
+ * End-to-end encryption and decryption of the different message types with
+ * the cached shared keys of the sender and receiver identities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark {
+
+	@Param({ "text", "location", "file", "receipt" })
+	String type;
+
+	Identity sender;
+	Identity receiver;
+	RawPublicKey senderKey;
+	RawPublicKey receiverKey;
+	PlainMessage message;
+	EncryptedMessage encrypted;
+
+	@Setup
+	public void setup() {
+		var senderKeys = KeyGenerator.generate();
+		var receiverKeys = KeyGenerator.generate();
+		sender = new Identity(ThreemaId.of("*SENDER1"), "secret", senderKeys.getPrivate());
+		receiver = new Identity(ThreemaId.of("*RECEIVE"), "secret", receiverKeys.getPrivate());
+		senderKey = RawPublicKey.of(senderKeys.getPublic());
+		receiverKey = RawPublicKey.of(receiverKeys.getPublic());
+		message = createMessage();
+		encrypted = message.encrypt(sender, receiverKey);
+	}
+
+	private PlainMessage createMessage() {
+		switch (type) {
+		case "text":
+			return new Text("Hello from the three4j benchmark! ".repeat(10));
+		case "location":
+			return new Location(47.3769, 8.5417, 12.5);
+		case "file":
+			var blob = Blob.newFile().uploaded(BlobId.of(new byte[BlobId.SIZE]), 123456);
+			return new File(blob, "application/pdf", RenderingType.DEFAULT);
+		case "receipt":
+			return new DeliveryReceipt(ReceiptType.READ, 1, 2, 3, 4, 5, 6, 7, 8);
+		default:
+			throw new IllegalArgumentException(type);
+		}
+	}
+
+	@Benchmark
+	public EncryptedMessage encrypt() {
+		return message.encrypt(sender, receiverKey);
+	}
+
+	@Benchmark
+	public PlainMessage decrypt() {
+		return encrypted.decrypt(senderKey, receiver);
+	}
+
+}
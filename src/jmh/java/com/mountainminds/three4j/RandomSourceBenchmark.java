@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mountainminds.three4j.PlainMessage.Text;
+
+/**
+ * Nonce creation and message encryption with different random sources on many
+ * threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RandomSourceBenchmark {
+
+	@Param({ "drbg", "securerandom" })
+	String source;
+
+	Identity identity;
+	RawPublicKey receiver;
+	Text message;
+
+	@Setup
+	public void setup() {
+		if ("securerandom".equals(source)) {
+			// Equivalent to the previous implementation
+			RandomSource.setDefault(RandomSource.of(new SecureRandom()));
+		}
+		identity = new Identity(ThreemaId.of("*GWYTEST"), "secret", KeyGenerator.generate().getPrivate());
+		receiver = RawPublicKey.of(KeyGenerator.generate().getPublic());
+		message = new Text("Hello Threema!");
+	}
+
+	@TearDown
+	public void teardown() {
+		RandomSource.setDefault(null);
+	}
+
+	@Benchmark
+	public Nonce nonce() {
+		return Nonce.random();
+	}
+
+	@Benchmark
+	public EncryptedMessage encrypt() {
+		return message.encrypt(identity, receiver);
+	}
+
+}
@@ -18,7 +18,6 @@ import java.security.PublicKey;
 
 import javax.crypto.SecretKey;
 
-import software.pando.crypto.nacl.CryptoBox;
 import software.pando.crypto.nacl.SecretBox;
 
 /**
@@ -64,7 +63,12 @@ public class Blob {
 	 * @return encrypted content
 	 */
 	public byte[] encrypt(byte[] plaincontent) {
-		return SecretBox.encrypt(key, nonce.getValue(), plaincontent).getCiphertextWithTag();
+		var event = FlightRecorderEvents.startBlobCrypto();
+		var encrypted = CryptoProvider.getDefault().encrypt(key, nonce.getValue(), plaincontent);
+		if (event != null) {
+			event.commit(FlightRecorderEvents.ENCRYPT, encrypted.length);
+		}
+		return encrypted;
 	}
 
 	/**
@@ -74,7 +78,12 @@ public class Blob {
 	 * @return plain content
 	 */
 	public byte[] decrypt(byte[] encryptedcontent) {
-		return SecretBox.fromCombined(nonce.getValue(), encryptedcontent).decrypt(key);
+		var event = FlightRecorderEvents.startBlobCrypto();
+		var plain = CryptoProvider.getDefault().decrypt(key, nonce.getValue(), encryptedcontent);
+		if (event != null) {
+			event.commit(FlightRecorderEvents.DECRYPT, encryptedcontent.length);
+		}
+		return plain;
 	}
 
 	/**
@@ -108,7 +117,31 @@ public class Blob {
 	 * @return blob handle
 	 */
 	public static Blob newImage(PrivateKey privatekey, PublicKey publicKey) {
-		return new Blob((SecretKey) CryptoBox.agree(privatekey, publicKey), Nonce.random());
+		return new Blob(CryptoProvider.getDefault().agree(privatekey, publicKey), Nonce.random());
+	}
+
+	/**
+	 * Creates a new blob to hold an image which will be encrypted based on the
+	 * given keys.
+	 * 
+	 * @param privatekey private key of one party
+	 * @param publicKey  raw public key of the other party
+	 * @return blob handle
+	 */
+	public static Blob newImage(PrivateKey privatekey, RawPublicKey publicKey) {
+		return newImage(privatekey, publicKey.toPublicKey());
+	}
+
+	/**
+	 * Creates a new blob to hold an image which will be encrypted with the cached
+	 * shared key of the given identity.
+	 * 
+	 * @param identity  identity of one party
+	 * @param publicKey raw public key of the other party
+	 * @return blob handle
+	 */
+	public static Blob newImage(Identity identity, RawPublicKey publicKey) {
+		return new Blob(identity.getSharedKey(publicKey), Nonce.random());
 	}
 
 	/**
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Utility to calculate hashes for large numbers of telephone numbers or email
+ * addresses, for example from an address book. Hashes are calculated in
+ * parallel on all available cores using the common fork join pool.
+ */
+public final class BulkHash {
+
+	/**
+	 * Type of the contact information to hash.
+	 */
+	public enum Type {
+
+		/** Telephone numbers, see {@link Hash#ofPhone(String)} */
+		PHONE(Hash::ofPhone),
+
+		/** Email addresses, see {@link Hash#ofEmail(String)} */
+		EMAIL(Hash::ofEmail);
+
+		private final Function<String, Hash> function;
+
+		private Type(Function<String, Hash> function) {
+			this.function = function;
+		}
+
+		/**
+		 * Calculates the hash for the given input.
+		 * 
+		 * @param input telephone number or email address
+		 * @return hash as specified by Threema
+		 */
+		public Hash hash(String input) {
+			return function.apply(input);
+		}
+	}
+
+	/**
+	 * Calculates the hashes for the given inputs in parallel.
+	 * 
+	 * @param type   type of the inputs
+	 * @param inputs telephone numbers or email addresses
+	 * @return map from input to its hash
+	 */
+	public static Map<String, Hash> of(Type type, Collection<String> inputs) {
+		return of(type, inputs.stream());
+	}
+
+	/**
+	 * Calculates the hashes for the given inputs in parallel.
+	 * 
+	 * @param type   type of the inputs
+	 * @param inputs telephone numbers or email addresses
+	 * @return map from input to its hash
+	 */
+	public static Map<String, Hash> of(Type type, Stream<String> inputs) {
+		return inputs.parallel().collect(Collectors.toConcurrentMap(Function.identity(), type::hash, (a, b) -> a));
+	}
+
+	/**
+	 * Calculates the hashes for the lines of the given UTF-8 encoded text file.
+	 * Empty lines are ignored. The file is split for parallel processing without
+	 * reading it completely into memory.
+	 * 
+	 * @param type type of the inputs
+	 * @param file text file with one telephone number or email address per line
+	 * @return map from input to its hash
+	 * @throws IOException if the file cannot be read
+	 */
+	public static Map<String, Hash> ofFile(Type type, Path file) throws IOException {
+		try (var lines = Files.lines(file, UTF_8)) {
+			return of(type, lines.filter(l -> !l.isBlank()));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Calculates the hashes for a column of the given UTF-8 encoded CSV file.
+	 * Values may be quoted with double quotes. Empty values are ignored.
+	 * 
+	 * @param type      type of the inputs
+	 * @param file      CSV file
+	 * @param column    zero based column index
+	 * @param separator column separator, e.g. <code>','</code> or
+	 *                  <code>';'</code>
+	 * @return map from column value to its hash
+	 * @throws IOException if the file cannot be read
+	 */
+	public static Map<String, Hash> ofCsv(Type type, Path file, int column, char separator) throws IOException {
+		try (var lines = Files.lines(file, UTF_8)) {
+			return of(type, lines.map(l -> csvValue(l, column, separator)).filter(v -> v != null && !v.isBlank()));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Extracts the value of the given column from a CSV line.
+	 * 
+	 * @param line      CSV line
+	 * @param column    zero based column index
+	 * @param separator column separator
+	 * @return column value or <code>null</code> if the line has less columns
+	 */
+	static String csvValue(String line, int column, char separator) {
+		int pos = 0;
+		for (int c = 0; c < column; c++) {
+			pos = skipValue(line, pos, separator);
+			if (pos >= line.length()) {
+				return null;
+			}
+			pos++;
+		}
+		if (pos < line.length() && line.charAt(pos) == '"') {
+			var value = new StringBuilder();
+			for (int i = pos + 1; i < line.length(); i++) {
+				var ch = line.charAt(i);
+				if (ch == '"') {
+					if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+						i++;
+					} else {
+						break;
+					}
+				}
+				value.append(ch);
+			}
+			return value.toString();
+		}
+		return line.substring(pos, skipValue(line, pos, separator));
+	}
+
+	private static int skipValue(String line, int pos, char separator) {
+		boolean quoted = false;
+		for (; pos < line.length(); pos++) {
+			var ch = line.charAt(pos);
+			if (ch == '"') {
+				quoted = !quoted;
+			} else if (ch == separator && !quoted) {
+				break;
+			}
+		}
+		return pos;
+	}
+
+	private BulkHash() {
+		// no instances
+	}
+
+}
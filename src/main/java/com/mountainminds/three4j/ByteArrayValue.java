@@ -13,16 +13,40 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
 import java.util.Arrays;
 
 /**
  * Internal base class for all byte[] based immutable types. The purpose of the
- * subclasses is to provide type safety at the API.
+ * subclasses is to provide type safety at the API. The encapsulated byte array
+ * must not be modified.
  */
 public abstract class ByteArrayValue {
 
+	/**
+	 * Hex strings are only cached for small values like ids, hashes and keys.
+	 */
+	private static final int HEX_CACHE_LIMIT = 32;
+
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(ISO_8859_1);
+
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < 16; i++) {
+			HEX_VALUES["0123456789abcdef".charAt(i)] = (byte) i;
+			HEX_VALUES["0123456789ABCDEF".charAt(i)] = (byte) i;
+		}
+	}
+
 	private final byte[] value;
 
+	// Lazily calculated, races are benign as the values are always identical
+	private String hex;
+	private int hash;
+
 	ByteArrayValue(byte[] value) {
 		this.value = value;
 	}
@@ -45,12 +69,23 @@ public abstract class ByteArrayValue {
 	 * @return encapsulated byte array as hex string
 	 */
 	public String getHexValue() {
-		return toHex(value);
+		var h = hex;
+		if (h == null) {
+			h = toHex(value);
+			if (value.length <= HEX_CACHE_LIMIT) {
+				hex = h;
+			}
+		}
+		return h;
 	}
 
 	@Override
 	public int hashCode() {
-		return Arrays.hashCode(value);
+		var h = hash;
+		if (h == 0) {
+			hash = h = Arrays.hashCode(value);
+		}
+		return h;
 	}
 
 	@Override
@@ -63,7 +98,7 @@ public abstract class ByteArrayValue {
 
 	@Override
 	public String toString() {
-		return getClass().getSimpleName() + "[" + toHex(value) + "]";
+		return getClass().getSimpleName() + "[" + getHexValue() + "]";
 	}
 
 	/**
@@ -71,17 +106,59 @@ public abstract class ByteArrayValue {
 	 * 
 	 * @param hex hex string
 	 * @return byte array (half the size than hex digits)
+	 * @throws IllegalArgumentException if the string is not a valid hex string
+	 */
+	static byte[] fromHex(String hex) throws IllegalArgumentException {
+		int len = hex.length();
+		if ((len & 1) != 0) {
+			throw new IllegalArgumentException("Invalid hex string length: " + len);
+		}
+		var bytes = new byte[len >> 1];
+		for (int i = 0, j = 0; i < bytes.length; i++) {
+			var d1 = hexValue(hex.charAt(j++));
+			var d2 = hexValue(hex.charAt(j++));
+			if ((d1 | d2) < 0) {
+				throw invalidHex(hex.charAt(j - (d1 < 0 ? 2 : 1)));
+			}
+			bytes[i] = (byte) ((d1 << 4) | d2);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Converts ASCII encoded hex digits into a byte array.
+	 * 
+	 * @param hex    buffer containing ASCII hex digits
+	 * @param offset offset of the first hex digit
+	 * @param length number of hex digits
+	 * @return byte array (half the size than hex digits)
+	 * @throws IllegalArgumentException if the buffer does not contain valid hex
+	 *                                  digits
 	 */
-	static byte[] fromHex(String hex) {
-		var bytes = new byte[hex.length() / 2];
-		for (int i = 0; i < bytes.length; i++) {
-			var d1 = Character.digit(hex.charAt(2 * i), 16);
-			var d2 = Character.digit(hex.charAt(2 * i + 1), 16);
+	static byte[] fromHex(byte[] hex, int offset, int length) throws IllegalArgumentException {
+		if ((length & 1) != 0) {
+			throw new IllegalArgumentException("Invalid hex string length: " + length);
+		}
+		var bytes = new byte[length >> 1];
+		for (int i = 0, j = offset; i < bytes.length; i++) {
+			var d1 = hexValue((char) (hex[j++] & 0xff));
+			var d2 = hexValue((char) (hex[j++] & 0xff));
+			if ((d1 | d2) < 0) {
+				throw invalidHex((char) (hex[j - (d1 < 0 ? 2 : 1)] & 0xff));
+			}
 			bytes[i] = (byte) ((d1 << 4) | d2);
 		}
 		return bytes;
 	}
 
+	static int hexValue(char c) {
+		return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+	}
+
+	private static IllegalArgumentException invalidHex(char c) {
+		return new IllegalArgumentException("Invalid hex character: " + c);
+	}
+
 	/**
 	 * Converts a byte array into its hex representation
 	 * 
@@ -89,12 +166,26 @@ public abstract class ByteArrayValue {
 	 * @return hex string (twice as many digits as bytes)
 	 */
 	static String toHex(byte[] bytes) {
-		var sb = new StringBuilder();
+		var hex = new byte[bytes.length << 1];
+		toHex(bytes, hex, 0);
+		return new String(hex, ISO_8859_1);
+	}
+
+	/**
+	 * Writes the ASCII encoded hex representation of the given bytes into the
+	 * target buffer.
+	 * 
+	 * @param bytes  byte array of arbitrary size
+	 * @param target target buffer
+	 * @param offset offset in the target buffer
+	 * @return offset in the target buffer after the last hex digit
+	 */
+	static int toHex(byte[] bytes, byte[] target, int offset) {
 		for (var b : bytes) {
-			sb.append(Character.forDigit((b & 0xff) >> 4, 16));
-			sb.append(Character.forDigit(b & 0xf, 16));
+			target[offset++] = HEX_DIGITS[(b >> 4) & 0xf];
+			target[offset++] = HEX_DIGITS[b & 0xf];
 		}
-		return sb.toString();
+		return offset;
 	}
 
 }
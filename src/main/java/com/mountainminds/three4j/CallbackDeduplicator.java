@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter for duplicate callbacks. The gateway may deliver the same callback
+ * more than once, e.g. if the acknowledgement got lost. Callbacks are
+ * identified by their message ID and sender. Every combination is accepted only
+ * once within the configured window. Callbacks with a date older than the
+ * window are rejected as replays as they cannot be checked against the window
+ * any more. Instances are thread safe.
+ * 
+ * <pre>
+ * var dedup = new CallbackDeduplicator(Duration.ofHours(1), 100_000);
+ * var server = new CallbackServer(address, secret, dedup.filter(handler));
+ * </pre>
+ */
+public final class CallbackDeduplicator {
+
+	/**
+	 * Storage for keys of seen callbacks, see {@link WindowedKeySet} for an in
+	 * memory or file based implementation.
+	 */
+	@FunctionalInterface
+	public interface Store {
+
+		/**
+		 * Atomically adds the given key if it is not already contained.
+		 * 
+		 * @param key  non-zero key
+		 * @param time current time in milliseconds
+		 * @return <code>true</code> if the key has not been contained before
+		 */
+		boolean add(long key, long time);
+
+	}
+
+	private final Store store;
+	private final long windowMillis;
+	private final Clock clock;
+
+	private final LongAdder duplicates = new LongAdder();
+	private final LongAdder replays = new LongAdder();
+
+	/**
+	 * Creates a new filter with an off-heap store.
+	 * 
+	 * @param window            time span in which duplicates are detected
+	 * @param expectedCallbacks expected number of callbacks within the window
+	 */
+	public CallbackDeduplicator(Duration window, int expectedCallbacks) {
+		this(WindowedKeySet.create(window, expectedCallbacks), window);
+	}
+
+	/**
+	 * Creates a new filter with the given store. The store has to keep its keys
+	 * for at least the given window.
+	 * 
+	 * @param store  store for seen callbacks
+	 * @param window time span in which duplicates are detected
+	 */
+	public CallbackDeduplicator(Store store, Duration window) {
+		this(store, window, Clock.systemUTC());
+	}
+
+	CallbackDeduplicator(Store store, Duration window, Clock clock) {
+		this.store = store;
+		this.windowMillis = window.toMillis();
+		this.clock = clock;
+	}
+
+	/**
+	 * Checks whether the given callback should be processed. Every call counts as
+	 * delivery, i.e. the first call for a callback returns <code>true</code>
+	 * while subsequent calls return <code>false</code>.
+	 * 
+	 * @param callback verified callback
+	 * @return <code>true</code> if the callback has not been seen before and is
+	 *         not a replay
+	 */
+	public boolean accept(GatewayCallback callback) {
+		long now = clock.millis();
+		if (callback.getDate().toEpochMilli() < now - windowMillis) {
+			replays.increment();
+			return false;
+		}
+		if (!store.add(key(callback.getMessageId(), callback.getFrom()), now)) {
+			duplicates.increment();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a handler which only passes accepted callbacks to the given
+	 * handler.
+	 * 
+	 * @param handler handler for unique callbacks
+	 * @return filtering handler
+	 */
+	public CallbackServer.Handler filter(CallbackServer.Handler handler) {
+		return callback -> {
+			if (accept(callback)) {
+				handler.handle(callback);
+			}
+		};
+	}
+
+	/**
+	 * @return number of rejected duplicates
+	 */
+	public long getDuplicates() {
+		return duplicates.sum();
+	}
+
+	/**
+	 * @return number of rejected replays
+	 */
+	public long getReplays() {
+		return replays.sum();
+	}
+
+	static long key(MessageId messageId, ThreemaId from) {
+		long h = messageId.toLong() * 0x9e3779b97f4a7c15L + from.toLong();
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		// Zero is reserved for empty slots
+		return h == 0 ? 1 : h;
+	}
+
+}
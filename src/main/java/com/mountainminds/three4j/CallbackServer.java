@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP endpoint for gateway callbacks based on the HTTP server of the
+ * JDK. Every request is read and verified with {@link GatewayCallback} on a
+ * small pool of request threads and answered immediately, so a single slow
+ * client does not block other callbacks. Verified callbacks are passed to a
+ * {@link Handler} on a separate executor, so slow handlers never block the
+ * HTTP server.
+ * <p>
+ * The number of callbacks which have been accepted but not yet been processed
+ * by the handler is limited by the queue capacity. If the limit is reached new
+ * callbacks are answered with status 503, which makes the gateway retry the
+ * delivery later.
+ * <p>
+ * Configuration methods must be called before {@link #start()}. The server
+ * itself should be placed behind a TLS terminating reverse proxy as the gateway
+ * requires HTTPS callback URLs.
+ * <p>
+ * This class requires the JDK module <code>jdk.httpserver</code>, which is an
+ * optional dependency of this library. Modular applications have to add it
+ * explicitly.
+ */
+public final class CallbackServer implements AutoCloseable {
+
+	/**
+	 * Handler for verified callbacks.
+	 */
+	@FunctionalInterface
+	public interface Handler {
+
+		/**
+		 * Called for every verified callback. As the callback has already been
+		 * acknowledged to the gateway, implementations are responsible to handle
+		 * their own failures.
+		 * 
+		 * @param callback verified callback
+		 */
+		void handle(GatewayCallback callback);
+
+	}
+
+	static final int STATUS_OK = 200;
+	static final int STATUS_BAD_REQUEST = 400;
+	static final int STATUS_METHOD_NOT_ALLOWED = 405;
+	static final int STATUS_PAYLOAD_TOO_LARGE = 413;
+	static final int STATUS_UNAVAILABLE = 503;
+
+	/**
+	 * Callback bodies are hex encoded boxes of at most a few kilobytes.
+	 */
+	private static final int MAX_BODY_SIZE = 64 * 1024;
+
+	private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+	private final InetSocketAddress address;
+	private final String secret;
+	private final Handler handler;
+
+	private String path = "/";
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+	private Executor executor;
+	private GatewayListener listener;
+	private ExecutorService ownExecutor;
+	private ExecutorService requestExecutor;
+
+	private HttpServer server;
+	private Semaphore permits;
+	private boolean closed;
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder invalid = new LongAdder();
+
+	/**
+	 * Creates a new server which is not started yet.
+	 * 
+	 * @param address local address to bind to, port 0 selects a free port
+	 * @param secret  gateway API secret
+	 * @param handler handler for verified callbacks
+	 */
+	public CallbackServer(InetSocketAddress address, String secret, Handler handler) {
+		this.address = address;
+		this.secret = secret;
+		this.handler = handler;
+	}
+
+	/**
+	 * Sets the path of the callback endpoint. Default is <code>/</code>.
+	 * 
+	 * @param path absolute path
+	 */
+	public void setPath(String path) {
+		checkNotStarted();
+		if (!path.startsWith("/")) {
+			throw new IllegalArgumentException("Invalid path: " + path);
+		}
+		this.path = path;
+	}
+
+	/**
+	 * Sets the maximum number of accepted callbacks which have not been
+	 * processed by the handler yet. Default is 10000.
+	 * 
+	 * @param queueCapacity maximum number of pending callbacks
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		checkNotStarted();
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException("Invalid queue capacity: " + queueCapacity);
+		}
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Sets the executor which calls the handler, for example a thread pool or a
+	 * virtual thread per task executor. The executor is not shut down by this
+	 * server. By default a pool of daemon threads with one thread per available
+	 * processor is used.
+	 * <p>
+	 * With <code>Runnable::run</code> the handler is called on the request thread
+	 * before the callback is acknowledged. A {@link RejectedExecutionException}
+	 * thrown by the handler then results in status 503.
+	 * 
+	 * @param executor executor for handler calls
+	 */
+	public void setExecutor(Executor executor) {
+		checkNotStarted();
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets a listener which is notified about every verified or rejected
+	 * callback.
+	 * 
+	 * @param listener listener or <code>null</code> to disable
+	 */
+	public void setListener(GatewayListener listener) {
+		checkNotStarted();
+		this.listener = listener;
+	}
+
+	private void checkNotStarted() {
+		if (server != null) {
+			throw new IllegalStateException("Server already started");
+		}
+	}
+
+	/**
+	 * Binds the server socket and starts accepting callbacks.
+	 * 
+	 * @throws IOException if the server socket cannot be bound
+	 */
+	public synchronized void start() throws IOException {
+		checkNotStarted();
+		var s = HttpServer.create(address, 0);
+		s.createContext(path, this::exchange);
+		int processors = Runtime.getRuntime().availableProcessors();
+		requestExecutor = Executors.newFixedThreadPool(Math.max(2, processors),
+				daemonThreads("three4j-callback-http-"));
+		s.setExecutor(requestExecutor);
+		if (executor == null) {
+			executor = ownExecutor = Executors.newFixedThreadPool(processors, daemonThreads("three4j-callback-"));
+		}
+		permits = new Semaphore(queueCapacity);
+		s.start();
+		server = s;
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		var counter = new AtomicInteger();
+		return r -> {
+			var t = new Thread(r, prefix + counter.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		};
+	}
+
+	/**
+	 * @return the local address the server is bound to
+	 */
+	public InetSocketAddress getAddress() {
+		var s = server;
+		return s == null ? address : s.getAddress();
+	}
+
+	/**
+	 * @return number of callbacks which have been accepted but not yet processed
+	 */
+	public int getPending() {
+		var p = permits;
+		return p == null ? 0 : queueCapacity - p.availablePermits();
+	}
+
+	/**
+	 * @return total number of accepted callbacks
+	 */
+	public long getAccepted() {
+		return accepted.sum();
+	}
+
+	/**
+	 * @return total number of callbacks rejected because of a full queue
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	/**
+	 * @return total number of requests which could not be verified
+	 */
+	public long getInvalid() {
+		return invalid.sum();
+	}
+
+	private void exchange(HttpExchange exchange) throws IOException {
+		try {
+			exchange.sendResponseHeaders(receive(exchange), -1);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private int receive(HttpExchange exchange) throws IOException {
+		if (!"POST".equals(exchange.getRequestMethod())) {
+			return STATUS_METHOD_NOT_ALLOWED;
+		}
+		var body = readBody(exchange.getRequestBody());
+		if (body == null) {
+			return STATUS_PAYLOAD_TOO_LARGE;
+		}
+		var l = listener;
+		long start = l == null ? 0 : System.nanoTime();
+		GatewayCallback callback;
+		try {
+			callback = new GatewayCallback(body, secret);
+		} catch (IllegalArgumentException e) {
+			invalid.increment();
+			if (l != null) {
+				l.callbackRejected(System.nanoTime() - start, body.length, e);
+			}
+			return STATUS_BAD_REQUEST;
+		}
+		if (l != null) {
+			l.callbackVerified(System.nanoTime() - start, body.length);
+		}
+		if (!permits.tryAcquire()) {
+			rejected.increment();
+			return STATUS_UNAVAILABLE;
+		}
+		var dispatch = new Dispatch(callback);
+		try {
+			executor.execute(dispatch);
+		} catch (RejectedExecutionException e) {
+			// Either rejected by the executor or by a handler called inline
+			dispatch.release();
+			rejected.increment();
+			return STATUS_UNAVAILABLE;
+		}
+		accepted.increment();
+		return STATUS_OK;
+	}
+
+	private static byte[] readBody(InputStream in) throws IOException {
+		var body = in.readNBytes(MAX_BODY_SIZE);
+		return in.read() == -1 ? body : null;
+	}
+
+	private final class Dispatch implements Runnable {
+
+		private final GatewayCallback callback;
+		private boolean released;
+
+		Dispatch(GatewayCallback callback) {
+			this.callback = callback;
+		}
+
+		@Override
+		public void run() {
+			try {
+				handler.handle(callback);
+			} finally {
+				release();
+			}
+		}
+
+		void release() {
+			if (!released) {
+				released = true;
+				permits.release();
+			}
+		}
+
+	}
+
+	/**
+	 * Stops accepting new callbacks. Callbacks already accepted are still passed
+	 * to the handler.
+	 */
+	@Override
+	public synchronized void close() {
+		var s = server;
+		if (s != null && !closed) {
+			closed = true;
+			s.stop(0);
+			requestExecutor.shutdown();
+			if (ownExecutor != null) {
+				ownExecutor.shutdown();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.mountainminds.three4j.BulkHash.Type;
+import com.mountainminds.three4j.Gateway.IDKey;
+
+/**
+ * Incremental synchronization of a contact directory with Threema IDs. The
+ * results of the previous run are kept in a {@link Store}. On every run only
+ * new hashes and a random sample of the known hashes are looked up, removed
+ * hashes are detected locally. Changes of the mapping from hash to Threema ID
+ * are reported to a {@link Listener}.
+ * 
+ * <pre>
+ * var sync = new ContactSync(gw::bulkLookup, new ContactSync.FileStore(path));
+ * sync.sync(phoneHashes, emailHashes, listener);
+ * </pre>
+ */
+public final class ContactSync {
+
+	/**
+	 * Lookup function, typically {@link Gateway#bulkLookup(Set, Set)}.
+	 */
+	@FunctionalInterface
+	public interface Lookup {
+
+		/**
+		 * @param phoneHashes set of phone hashes
+		 * @param emailHashes set of email hashes
+		 * @return map with entries for every hash where a Threema ID was found for
+		 * @throws IOException when the lookup fails
+		 */
+		Map<Hash, IDKey> lookup(Set<Hash> phoneHashes, Set<Hash> emailHashes) throws IOException;
+
+	}
+
+	/**
+	 * Callback for changes of the mapping from hash to Threema ID.
+	 */
+	public interface Listener {
+
+		/**
+		 * A Threema ID has been found for a new hash or for a hash which had no
+		 * Threema ID before.
+		 * 
+		 * @param hash  contact hash
+		 * @param idkey Threema ID and public key
+		 * @param type  type of the hash
+		 */
+		default void added(Hash hash, IDKey idkey, Type type) {
+		}
+
+		/**
+		 * The hash has been removed from the directory or has no Threema ID
+		 * any more.
+		 * 
+		 * @param hash     contact hash
+		 * @param previous previous Threema ID and public key
+		 * @param type     type of the hash
+		 */
+		default void removed(Hash hash, IDKey previous, Type type) {
+		}
+
+		/**
+		 * The Threema ID or its public key has changed for a hash.
+		 * 
+		 * @param hash     contact hash
+		 * @param previous previous Threema ID and public key
+		 * @param current  current Threema ID and public key
+		 * @param type     type of the hash
+		 */
+		default void changed(Hash hash, IDKey previous, IDKey current, Type type) {
+		}
+
+	}
+
+	/**
+	 * State of a single hash.
+	 */
+	public static final class Entry {
+
+		private final Type type;
+		private final IDKey idkey;
+
+		/**
+		 * @param type  type of the hash
+		 * @param idkey Threema ID and public key or <code>null</code> if no ID
+		 *              exists for the hash
+		 */
+		public Entry(Type type, IDKey idkey) {
+			this.type = type;
+			this.idkey = idkey;
+		}
+
+		/**
+		 * @return type of the hash
+		 */
+		public Type getType() {
+			return type;
+		}
+
+		/**
+		 * @return Threema ID and public key or <code>null</code>
+		 */
+		public IDKey getIdKey() {
+			return idkey;
+		}
+
+	}
+
+	/**
+	 * Persistent state of the previous synchronization run.
+	 */
+	public interface Store {
+
+		/**
+		 * @return state of the last run, empty if no run happened yet
+		 * @throws IOException if the state cannot be read
+		 */
+		Map<Hash, Entry> load() throws IOException;
+
+		/**
+		 * @param state new state to persist
+		 * @throws IOException if the state cannot be written
+		 */
+		void save(Map<Hash, Entry> state) throws IOException;
+
+	}
+
+	/**
+	 * {@link Store} implementation which keeps the state in a local binary file.
+	 * The file is replaced atomically on every save.
+	 */
+	public static final class FileStore implements Store {
+
+		private static final int MAGIC = 0x33344a53;
+
+		// Hash, type and ID of an entry without public key
+		private static final int MIN_ENTRY_SIZE = Hash.SIZE + 1 + 8;
+
+		private final Path file;
+
+		/**
+		 * @param file location of the state file
+		 */
+		public FileStore(Path file) {
+			this.file = file;
+		}
+
+		@Override
+		public Map<Hash, Entry> load() throws IOException {
+			if (!Files.exists(file)) {
+				return new HashMap<>();
+			}
+			try (var in = new DataInputStream(Files.newInputStream(file))) {
+				if (in.readInt() != MAGIC) {
+					throw new IOException("Invalid file format: " + file);
+				}
+				int count = in.readInt();
+				if (count < 0 || count > Files.size(file) / MIN_ENTRY_SIZE) {
+					throw new IOException("Invalid file format: " + file);
+				}
+				var state = new HashMap<Hash, Entry>(count * 2);
+				var types = Type.values();
+				for (int i = 0; i < count; i++) {
+					var hash = Hash.of(in.readNBytes(Hash.SIZE));
+					int ordinal = in.readUnsignedByte();
+					if (ordinal >= types.length) {
+						throw new IOException("Invalid file format: " + file);
+					}
+					var type = types[ordinal];
+					var id = in.readLong();
+					IDKey idkey = null;
+					if (id != 0) {
+						idkey = new IDKey(ThreemaId.fromLong(id), RawPublicKey.of(in.readNBytes(RawPublicKey.SIZE)));
+					}
+					state.put(hash, new Entry(type, idkey));
+				}
+				return state;
+			} catch (EOFException | IllegalArgumentException e) {
+				throw new IOException("Invalid file format: " + file, e);
+			}
+		}
+
+		@Override
+		public void save(Map<Hash, Entry> state) throws IOException {
+			var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			try (var out = new DataOutputStream(Files.newOutputStream(tmp))) {
+				out.writeInt(MAGIC);
+				out.writeInt(state.size());
+				for (var e : state.entrySet()) {
+					out.write(e.getKey().getValue());
+					var entry = e.getValue();
+					out.writeByte(entry.type.ordinal());
+					if (entry.idkey == null) {
+						out.writeLong(0);
+					} else {
+						out.writeLong(entry.idkey.getId().toLong());
+						out.write(entry.idkey.getRawKey().getValue());
+					}
+				}
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+	}
+
+	/**
+	 * Statistics of a synchronization run.
+	 */
+	public static final class Statistics {
+
+		private int contacts, lookups, added, removed, changed;
+
+		/**
+		 * @return total number of hashes in the directory
+		 */
+		public int getContacts() {
+			return contacts;
+		}
+
+		/**
+		 * @return number of hashes sent to the gateway
+		 */
+		public int getLookups() {
+			return lookups;
+		}
+
+		/**
+		 * @return number of added mappings
+		 */
+		public int getAdded() {
+			return added;
+		}
+
+		/**
+		 * @return number of removed mappings
+		 */
+		public int getRemoved() {
+			return removed;
+		}
+
+		/**
+		 * @return number of changed mappings
+		 */
+		public int getChanged() {
+			return changed;
+		}
+
+		@Override
+		public String toString() {
+			return "Statistics[contacts=" + contacts + ", lookups=" + lookups + ", added=" + added + ", removed="
+					+ removed + ", changed=" + changed + "]";
+		}
+
+	}
+
+	private final Lookup lookup;
+	private final Store store;
+	private final Random random;
+
+	private int batchSize = 1000;
+	private double reverificationRate = 0.01;
+
+	/**
+	 * Creates a new synchronization for the given lookup function and store.
+	 * 
+	 * @param lookup lookup function, typically {@link Gateway#bulkLookup(Set, Set)}
+	 * @param store  persistent state
+	 */
+	public ContactSync(Lookup lookup, Store store) {
+		this(lookup, store, new Random());
+	}
+
+	ContactSync(Lookup lookup, Store store, Random random) {
+		this.lookup = lookup;
+		this.store = store;
+		this.random = random;
+	}
+
+	/**
+	 * Sets the maximum number of hashes per lookup request. Default is 1000.
+	 * 
+	 * @param batchSize maximum number of hashes per request
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the fraction of known hashes which are looked up again on every run
+	 * to detect new, changed or removed Threema IDs. Default is 0.01.
+	 * 
+	 * @param reverificationRate value between 0.0 (never) and 1.0 (always)
+	 */
+	public void setReverificationRate(double reverificationRate) {
+		if (!(reverificationRate >= 0.0 && reverificationRate <= 1.0)) {
+			throw new IllegalArgumentException("Invalid rate: " + reverificationRate);
+		}
+		this.reverificationRate = reverificationRate;
+	}
+
+	/**
+	 * Synchronizes the current directory content given as hashes.
+	 * 
+	 * @param phoneHashes all current phone hashes
+	 * @param emailHashes all current email hashes
+	 * @param listener    callback for changes
+	 * @return statistics of this run
+	 * @throws IOException when the lookup or the store fails, in this case the
+	 *                     stored state is not updated
+	 */
+	public Statistics sync(Set<Hash> phoneHashes, Set<Hash> emailHashes, Listener listener) throws IOException {
+		var stats = new Statistics();
+		var previous = store.load();
+		var current = new HashMap<Hash, Entry>((phoneHashes.size() + emailHashes.size()) * 2);
+		var pending = new HashMap<Hash, Type>();
+		collect(phoneHashes, Type.PHONE, previous, current, pending);
+		collect(emailHashes, Type.EMAIL, previous, current, pending);
+		stats.contacts = current.size() + pending.size();
+
+		var results = lookupAll(pending);
+		stats.lookups = pending.size();
+
+		for (var p : pending.entrySet()) {
+			var hash = p.getKey();
+			var type = p.getValue();
+			var old = previous.get(hash);
+			var oldkey = old == null ? null : old.idkey;
+			var newkey = results.get(hash);
+			current.put(hash, new Entry(type, newkey));
+			if (oldkey == null && newkey != null) {
+				stats.added++;
+				listener.added(hash, newkey, type);
+			} else if (oldkey != null && newkey == null) {
+				stats.removed++;
+				listener.removed(hash, oldkey, type);
+			} else if (oldkey != null && !oldkey.equals(newkey)) {
+				stats.changed++;
+				listener.changed(hash, oldkey, newkey, type);
+			}
+		}
+		for (var p : previous.entrySet()) {
+			var entry = p.getValue();
+			if (entry.idkey != null && !current.containsKey(p.getKey())) {
+				stats.removed++;
+				listener.removed(p.getKey(), entry.idkey, entry.type);
+			}
+		}
+
+		store.save(current);
+		return stats;
+	}
+
+	private void collect(Set<Hash> hashes, Type type, Map<Hash, Entry> previous, Map<Hash, Entry> current,
+			Map<Hash, Type> pending) {
+		for (var hash : hashes) {
+			var entry = previous.get(hash);
+			if (entry == null || entry.type != type || random.nextDouble() < reverificationRate) {
+				pending.put(hash, type);
+			} else {
+				current.put(hash, entry);
+			}
+		}
+	}
+
+	private Map<Hash, IDKey> lookupAll(Map<Hash, Type> pending) throws IOException {
+		var results = new HashMap<Hash, IDKey>();
+		var phones = new HashSet<Hash>();
+		var emails = new HashSet<Hash>();
+		for (var p : pending.entrySet()) {
+			(p.getValue() == Type.PHONE ? phones : emails).add(p.getKey());
+			if (phones.size() + emails.size() == batchSize) {
+				results.putAll(lookup.lookup(phones, emails));
+				phones = new HashSet<>();
+				emails = new HashSet<>();
+			}
+		}
+		if (!phones.isEmpty() || !emails.isEmpty()) {
+			results.putAll(lookup.lookup(phones, emails));
+		}
+		return results;
+	}
+
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.nio.ByteBuffer;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Backend for the cryptographic primitives used by this library: the NaCl
+ * <code>crypto_box</code> (X25519, XSalsa20 and Poly1305) and
+ * <code>crypto_secretbox</code> (XSalsa20 and Poly1305) constructions. Boxes
+ * are always in the combined format: 16 bytes authentication tag followed by
+ * the cipher text.
+ * <p>
+ * Two implementations are available: {@link #saltyCoffee()} (the default) and
+ * {@link #pureJava()}. Both produce identical results and use the same key
+ * types, so they can be exchanged at any time.
+ * 
+ * @see #setDefault(CryptoProvider)
+ */
+public interface CryptoProvider {
+
+	/**
+	 * Number of bytes the box is longer than the plain text.
+	 */
+	int OVERHEAD = 16;
+
+	/**
+	 * Calculates the shared key between two parties for use with
+	 * {@link #encrypt(SecretKey, byte[], byte[])} and
+	 * {@link #decrypt(SecretKey, byte[], byte[])}.
+	 * 
+	 * @param privateKey private key of one party
+	 * @param publicKey  public key of the other party
+	 * @return shared secret key
+	 */
+	SecretKey agree(PrivateKey privateKey, PublicKey publicKey);
+
+	/**
+	 * Encrypts the given plain text with a secret key.
+	 * 
+	 * @param key       32 byte secret key
+	 * @param nonce     24 byte nonce
+	 * @param plaintext plain text
+	 * @return box with authentication tag and cipher text
+	 */
+	byte[] encrypt(SecretKey key, byte[] nonce, byte[] plaintext);
+
+	/**
+	 * Decrypts the given box with a secret key.
+	 * 
+	 * @param key   32 byte secret key
+	 * @param nonce 24 byte nonce
+	 * @param box   box with authentication tag and cipher text
+	 * @return plain text
+	 * @throws IllegalArgumentException if the box cannot be authenticated
+	 */
+	byte[] decrypt(SecretKey key, byte[] nonce, byte[] box) throws IllegalArgumentException;
+
+	/**
+	 * Encrypts the given plain text for the receiver.
+	 * 
+	 * @param privateKey private key of the sender
+	 * @param publicKey  public key of the receiver
+	 * @param nonce      24 byte nonce
+	 * @param plaintext  plain text
+	 * @return box with authentication tag and cipher text
+	 */
+	default byte[] encrypt(PrivateKey privateKey, PublicKey publicKey, byte[] nonce, byte[] plaintext) {
+		return encrypt(agree(privateKey, publicKey), nonce, plaintext);
+	}
+
+	/**
+	 * Decrypts the given box from the sender.
+	 * 
+	 * @param privateKey private key of the receiver
+	 * @param publicKey  public key of the sender
+	 * @param nonce      24 byte nonce
+	 * @param box        box with authentication tag and cipher text
+	 * @return plain text
+	 * @throws IllegalArgumentException if the box cannot be authenticated
+	 */
+	default byte[] decrypt(PrivateKey privateKey, PublicKey publicKey, byte[] nonce, byte[] box)
+			throws IllegalArgumentException {
+		return decrypt(agree(privateKey, publicKey), nonce, box);
+	}
+
+	/**
+	 * Encrypts the remaining bytes of the source buffer into the target buffer.
+	 * The target buffer needs {@link #OVERHEAD} more bytes than the plain text.
+	 * The positions of both buffers are advanced.
+	 * 
+	 * @param key    32 byte secret key
+	 * @param nonce  24 byte nonce
+	 * @param source plain text
+	 * @param target buffer for the box
+	 */
+	default void encrypt(SecretKey key, byte[] nonce, ByteBuffer source, ByteBuffer target) {
+		var plaintext = new byte[source.remaining()];
+		source.get(plaintext);
+		target.put(encrypt(key, nonce, plaintext));
+	}
+
+	/**
+	 * Decrypts the remaining bytes of the source buffer into the target buffer.
+	 * The plain text is {@link #OVERHEAD} bytes shorter than the box. Source and
+	 * target may be the same buffer instance or views of the same memory for
+	 * decryption in place. The positions of both buffers are advanced. If the
+	 * same instance is passed, its position is advanced by the length of the
+	 * plain text.
+	 * 
+	 * @param key    32 byte secret key
+	 * @param nonce  24 byte nonce
+	 * @param source box with authentication tag and cipher text
+	 * @param target buffer for the plain text
+	 * @throws IllegalArgumentException if the box cannot be authenticated, in
+	 *                                  this case the buffers are not modified
+	 */
+	default void decrypt(SecretKey key, byte[] nonce, ByteBuffer source, ByteBuffer target)
+			throws IllegalArgumentException {
+		var box = new byte[source.remaining()];
+		source.duplicate().get(box);
+		var plaintext = decrypt(key, nonce, box);
+		int targetPosition = target.position();
+		source.position(source.limit());
+		target.position(targetPosition).put(plaintext);
+	}
+
+	/**
+	 * @return provider based on the salty-coffee library
+	 */
+	static CryptoProvider saltyCoffee() {
+		return SaltyCoffeeCryptoProvider.INSTANCE;
+	}
+
+	/**
+	 * @return allocation-light pure Java provider
+	 */
+	static CryptoProvider pureJava() {
+		return PureJavaCryptoProvider.INSTANCE;
+	}
+
+	/**
+	 * @return provider used by this library
+	 */
+	static CryptoProvider getDefault() {
+		return SaltyCoffeeCryptoProvider.current;
+	}
+
+	/**
+	 * Replaces the provider used by this library.
+	 * 
+	 * @param provider new provider, <code>null</code> to restore the built-in
+	 *                 default
+	 */
+	static void setDefault(CryptoProvider provider) {
+		SaltyCoffeeCryptoProvider.current = provider == null ? SaltyCoffeeCryptoProvider.INSTANCE : provider;
+	}
+
+}
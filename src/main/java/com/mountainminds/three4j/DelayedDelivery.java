@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.mountainminds.three4j.SendScheduler.Priority;
+
+/**
+ * Sends messages at a given time in the future. Scheduled messages are kept in
+ * a hierarchical timer wheel with a configurable tick, which allows to keep
+ * millions of messages with constant costs for scheduling and cancellation.
+ * Due messages are released in batches once per tick into a
+ * {@link SendScheduler}, which limits the number of concurrent sends.
+ * <p>
+ * Scheduled messages are kept in memory only. They can be written to a file
+ * with {@link #save(Path)} and restored with {@link #load(Path)}, e.g. on
+ * shutdown and startup. Messages which became due in the meantime are sent
+ * immediately after loading.
+ * <p>
+ * The outcome of every released message can be observed with a
+ * {@link Listener}.
+ * 
+ * <pre>
+ * var delivery = new DelayedDelivery(scheduler, Priority.NORMAL, Duration.ofSeconds(1));
+ * long handle = delivery.schedule(Instant.parse("2027-01-01T09:00:00Z"), receiver, reminder);
+ * </pre>
+ */
+public final class DelayedDelivery implements AutoCloseable {
+
+	/**
+	 * Listener for the outcome of released messages. Methods are called from the
+	 * threads of the delivery and the send scheduler.
+	 */
+	@FunctionalInterface
+	public interface Listener {
+
+		/**
+		 * Called for every message which has been sent successfully.
+		 * 
+		 * @param to      receiver
+		 * @param message encrypted message
+		 * @param id      ID of the sent message
+		 */
+		void sent(ThreemaId to, EncryptedMessage message, MessageId id);
+
+		/**
+		 * Called if a due message cannot be released into the send scheduler or
+		 * sending fails. The default implementation ignores the failure, failures
+		 * are always counted.
+		 * 
+		 * @param to      receiver
+		 * @param message encrypted message
+		 * @param failure cause of the failure
+		 */
+		default void failed(ThreemaId to, EncryptedMessage message, Throwable failure) {
+		}
+
+	}
+
+	private static final int MAGIC = 0x33344444;
+
+	private final SendScheduler scheduler;
+	private final Priority priority;
+	private final long tickMillis;
+	private final Clock clock;
+	private final ScheduledThreadPoolExecutor ticker;
+
+	// Guarded by this
+	private final TimerWheel<EncryptedMessage> wheel;
+
+	private final LongAdder released = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+	private volatile Listener listener;
+
+	/**
+	 * Creates a new instance which releases due messages into the given
+	 * scheduler.
+	 * 
+	 * @param scheduler scheduler for sending due messages
+	 * @param priority  lane used for due messages
+	 * @param tick      resolution of scheduled times
+	 */
+	public DelayedDelivery(SendScheduler scheduler, Priority priority, Duration tick) {
+		this(scheduler, priority, tick, Clock.systemUTC(), true);
+	}
+
+	DelayedDelivery(SendScheduler scheduler, Priority priority, Duration tick, Clock clock, boolean start) {
+		this.tickMillis = tick.toMillis();
+		if (tickMillis < 1) {
+			throw new IllegalArgumentException("Invalid tick: " + tick);
+		}
+		this.scheduler = scheduler;
+		this.priority = priority;
+		this.clock = clock;
+		this.wheel = new TimerWheel<>(clock.millis() / tickMillis);
+		this.ticker = new ScheduledThreadPoolExecutor(1, r -> {
+			var t = new Thread(r, "three4j-delayed");
+			t.setDaemon(true);
+			return t;
+		});
+		if (start) {
+			ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Sets a listener which is notified about the outcome of every released
+	 * message.
+	 * 
+	 * @param listener listener or <code>null</code> to disable
+	 */
+	public void setListener(Listener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Schedules a message. Messages with a time in the past are sent with the
+	 * next tick.
+	 * 
+	 * @param time    time to send the message, rounded up to the next tick
+	 * @param to      receiver
+	 * @param message encrypted message
+	 * @return handle to cancel the message
+	 */
+	public synchronized long schedule(Instant time, ThreemaId to, EncryptedMessage message) {
+		long deadline = Math.floorDiv(time.toEpochMilli() + tickMillis - 1, tickMillis);
+		return wheel.schedule(deadline, to.toLong(), message);
+	}
+
+	/**
+	 * Cancels a scheduled message.
+	 * 
+	 * @param handle handle returned by
+	 *               {@link #schedule(Instant, ThreemaId, EncryptedMessage)}
+	 * @return <code>true</code> if the message has been cancelled,
+	 *         <code>false</code> if it is already released or cancelled
+	 */
+	public synchronized boolean cancel(long handle) {
+		return wheel.cancel(handle);
+	}
+
+	/**
+	 * @return number of scheduled messages
+	 */
+	public synchronized int getScheduled() {
+		return wheel.size();
+	}
+
+	/**
+	 * @return number of messages released into the send scheduler
+	 */
+	public long getReleased() {
+		return released.sum();
+	}
+
+	/**
+	 * @return number of due messages which could not be released into the send
+	 *         scheduler or could not be sent
+	 */
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	void advance() {
+		var receivers = new ArrayList<ThreemaId>();
+		var messages = new ArrayList<EncryptedMessage>();
+		synchronized (this) {
+			wheel.advance(clock.millis() / tickMillis, (deadline, to, message) -> {
+				receivers.add(ThreemaId.fromLong(to));
+				messages.add(message);
+			});
+		}
+		for (int i = 0; i < receivers.size(); i++) {
+			release(receivers.get(i), messages.get(i));
+		}
+	}
+
+	private void release(ThreemaId to, EncryptedMessage message) {
+		CompletableFuture<MessageId> future;
+		try {
+			future = scheduler.submit(priority, to, message);
+		} catch (RuntimeException e) {
+			// Must not escape, as this would cancel all future ticks
+			fail(to, message, e);
+			return;
+		}
+		released.increment();
+		future.whenComplete((id, failure) -> {
+			if (failure == null) {
+				var l = listener;
+				if (l != null) {
+					l.sent(to, message, id);
+				}
+			} else {
+				fail(to, message, failure);
+			}
+		});
+	}
+
+	private void fail(ThreemaId to, EncryptedMessage message, Throwable failure) {
+		failed.increment();
+		var l = listener;
+		if (l != null) {
+			try {
+				l.failed(to, message, failure);
+			} catch (RuntimeException e) {
+				// Listener failures must not stop the release of other messages
+			}
+		}
+	}
+
+	/**
+	 * Writes all scheduled messages to the given file. The file is replaced
+	 * atomically.
+	 * 
+	 * @param file target file
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void save(Path file) throws IOException {
+		var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(wheel.size());
+			var error = new IOException[1];
+			wheel.forEach((deadline, to, message) -> {
+				try {
+					out.writeLong(deadline * tickMillis);
+					out.writeLong(to);
+					out.write(message.getNonce().getValue());
+					var box = message.getValue();
+					out.writeShort(box.length);
+					out.write(box);
+				} catch (IOException e) {
+					error[0] = e;
+				}
+			});
+			if (error[0] != null) {
+				throw error[0];
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Schedules all messages from a file written with {@link #save(Path)}.
+	 * 
+	 * @param file file written with {@link #save(Path)}
+	 * @return number of loaded messages
+	 * @throws IOException if the file cannot be read or has an invalid format
+	 */
+	public int load(Path file) throws IOException {
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Invalid file format: " + file);
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				var time = Instant.ofEpochMilli(in.readLong());
+				var to = ThreemaId.fromLong(in.readLong());
+				var nonce = new byte[Nonce.SIZE];
+				in.readFully(nonce);
+				var box = new byte[in.readUnsignedShort()];
+				in.readFully(box);
+				schedule(time, to, new EncryptedMessage(box, Nonce.of(nonce)));
+			}
+			return count;
+		} catch (EOFException | IllegalArgumentException e) {
+			throw new IOException("Invalid file format: " + file, e);
+		}
+	}
+
+	/**
+	 * Stops releasing messages. Scheduled messages are discarded unless saved
+	 * before.
+	 */
+	@Override
+	public void close() {
+		ticker.shutdownNow();
+	}
+
+}
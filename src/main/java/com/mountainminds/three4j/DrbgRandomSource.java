@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.ChaCha20ParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Default {@link RandomSource}: a fast key erasure generator based on ChaCha20
+ * with one instance per thread. Each refill produces a block of key stream,
+ * the first 32 bytes of every block become the key for the next block and are
+ * never handed out. The remaining bytes are buffered, so many nonces are
+ * served from a single cipher invocation. Every generator is seeded from
+ * {@link SecureRandom} and reseeded periodically.
+ */
+final class DrbgRandomSource implements RandomSource {
+
+	static final DrbgRandomSource INSTANCE = new DrbgRandomSource();
+
+	static volatile RandomSource current = INSTANCE;
+
+	private static final ThreadLocal<Generator> GENERATOR = ThreadLocal.withInitial(Generator::new);
+
+	private DrbgRandomSource() {
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+		GENERATOR.get().nextBytes(bytes);
+	}
+
+	static final class Generator {
+
+		private static final int KEY_SIZE = 32;
+		private static final int BLOCK_SIZE = 4096;
+		private static final int RESEED_BLOCKS = 1 << 16;
+
+		private static final SecureRandom SEED = new SecureRandom();
+
+		private final Cipher cipher;
+		private final byte[] zeros = new byte[BLOCK_SIZE];
+		private final byte[] block = new byte[BLOCK_SIZE];
+		private final byte[] key = new byte[KEY_SIZE];
+		private final byte[] nonce = new byte[12];
+		private int position = BLOCK_SIZE;
+		private int blocks;
+
+		Generator() {
+			this(seed());
+		}
+
+		Generator(byte[] seed) {
+			try {
+				cipher = Cipher.getInstance("ChaCha20");
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException("ChaCha20 not available", e);
+			}
+			System.arraycopy(seed, 0, key, 0, KEY_SIZE);
+		}
+
+		private static byte[] seed() {
+			var seed = new byte[KEY_SIZE];
+			SEED.nextBytes(seed);
+			return seed;
+		}
+
+		void nextBytes(byte[] bytes) {
+			int offset = 0;
+			while (offset < bytes.length) {
+				if (position == BLOCK_SIZE) {
+					refill();
+				}
+				int len = Math.min(bytes.length - offset, BLOCK_SIZE - position);
+				System.arraycopy(block, position, bytes, offset, len);
+				// Erase handed out bytes so they cannot be recovered later
+				Arrays.fill(block, position, position + len, (byte) 0);
+				position += len;
+				offset += len;
+			}
+		}
+
+		private void refill() {
+			if (++blocks == RESEED_BLOCKS) {
+				var seed = seed();
+				for (int i = 0; i < KEY_SIZE; i++) {
+					key[i] ^= seed[i];
+				}
+				blocks = 0;
+			}
+			try {
+				cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "ChaCha20"),
+						new ChaCha20ParameterSpec(nonce, 0));
+				cipher.doFinal(zeros, 0, BLOCK_SIZE, block, 0);
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+			System.arraycopy(block, 0, key, 0, KEY_SIZE);
+			Arrays.fill(block, 0, KEY_SIZE, (byte) 0);
+			position = KEY_SIZE;
+		}
+
+	}
+
+}
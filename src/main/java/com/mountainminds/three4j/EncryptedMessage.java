@@ -16,8 +16,6 @@ package com.mountainminds.three4j;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 
-import software.pando.crypto.nacl.CryptoBox;
-
 /**
  * An encrypted Threema message with its encrypted content and the corresponding
  * nonce.
@@ -67,8 +65,45 @@ public final class EncryptedMessage extends ByteArrayValue {
 	 * @see PlainMessage#getType()
 	 */
 	public PlainMessage decrypt(PublicKey sender, PrivateKey receiver) {
-		var box = CryptoBox.fromCombined(nonce.getValue(), getValue());
-		return PlainMessage.decode(box.decrypt(receiver, sender));
+		var event = FlightRecorderEvents.startMessageCrypto();
+		var plain = CryptoProvider.getDefault().decrypt(receiver, sender, nonce.getValue(), getValue());
+		var message = PlainMessage.decode(plain);
+		return decrypted(event, message);
+	}
+
+	/**
+	 * Decrypts this message into a plain message of the respective type.
+	 * 
+	 * @param sender   sender raw public key
+	 * @param receiver private key
+	 * @return subclass of {@link PlainMessage} depending on the type
+	 * @see PlainMessage#getType()
+	 */
+	public PlainMessage decrypt(RawPublicKey sender, PrivateKey receiver) {
+		return decrypt(sender.toPublicKey(), receiver);
+	}
+
+	/**
+	 * Decrypts this message into a plain message of the respective type using the
+	 * cached shared key of the receiver identity.
+	 * 
+	 * @param sender   sender raw public key
+	 * @param receiver receiver identity
+	 * @return subclass of {@link PlainMessage} depending on the type
+	 * @see PlainMessage#getType()
+	 */
+	public PlainMessage decrypt(RawPublicKey sender, Identity receiver) {
+		var event = FlightRecorderEvents.startMessageCrypto();
+		var key = receiver.getSharedKey(sender);
+		var message = PlainMessage.decode(CryptoProvider.getDefault().decrypt(key, nonce.getValue(), getValue()));
+		return decrypted(event, message);
+	}
+
+	private PlainMessage decrypted(FlightRecorderEvents.MessageCrypto event, PlainMessage message) {
+		if (event != null) {
+			event.commit(FlightRecorderEvents.DECRYPT, message.getType(), getValue().length);
+		}
+		return message;
 	}
 
 }
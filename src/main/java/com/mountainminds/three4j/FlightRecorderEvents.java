@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Internal JDK Flight Recorder events. Events are disabled by default and can
+ * be enabled with JFR settings, e.g.
+ * <code>-XX:StartFlightRecording:settings=profile,+com.mountainminds.three4j.GatewayRequest#enabled=true</code>.
+ * <p>
+ * The module <code>jdk.jfr</code> is optional. Callers therefore only use the
+ * static <code>start...()</code> methods of this class, which return
+ * <code>null</code> if the module is not available or the event type is
+ * disabled. This way the event classes are not even loaded without JFR, and
+ * for disabled events neither an event object is allocated nor a timestamp is
+ * taken.
+ */
+final class FlightRecorderEvents {
+
+	private FlightRecorderEvents() {
+	}
+
+	static final String CATEGORY = "three4j";
+
+	static final String ENCRYPT = "encrypt";
+	static final String DECRYPT = "decrypt";
+
+	private static final boolean AVAILABLE = isAvailable();
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	static GatewayRequest startGatewayRequest() {
+		return AVAILABLE ? GatewayRequest.start() : null;
+	}
+
+	static MessageCrypto startMessageCrypto() {
+		return AVAILABLE ? MessageCrypto.start() : null;
+	}
+
+	static BlobCrypto startBlobCrypto() {
+		return AVAILABLE ? BlobCrypto.start() : null;
+	}
+
+	static Callback startCallback() {
+		return AVAILABLE ? Callback.start() : null;
+	}
+
+	@Name("com.mountainminds.three4j.GatewayRequest")
+	@Label("Gateway Request")
+	@Description("HTTP request to the Threema gateway")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class GatewayRequest extends Event {
+
+		private static final GatewayRequest PROBE = new GatewayRequest();
+
+		@Label("Endpoint")
+		String endpoint;
+
+		@Label("Status")
+		@Description("HTTP status code or 0 if the request failed")
+		int status;
+
+		@Label("Request Size")
+		@DataAmount
+		long requestSize;
+
+		@Label("Response Size")
+		@DataAmount
+		long responseSize;
+
+		@Label("Failure")
+		String failure;
+
+		static GatewayRequest start() {
+			if (!PROBE.isEnabled()) {
+				return null;
+			}
+			var event = new GatewayRequest();
+			event.begin();
+			return event;
+		}
+
+		void commit(GatewayListener.Endpoint endpoint, int status, long requestSize, long responseSize,
+				Exception failure) {
+			end();
+			if (shouldCommit()) {
+				this.endpoint = endpoint.name();
+				this.status = status;
+				this.requestSize = requestSize;
+				this.responseSize = responseSize;
+				this.failure = failure == null ? null : failure.toString();
+				commit();
+			}
+		}
+
+	}
+
+	@Name("com.mountainminds.three4j.MessageCrypto")
+	@Label("Message Encryption")
+	@Description("Encryption or decryption of a message")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class MessageCrypto extends Event {
+
+		private static final MessageCrypto PROBE = new MessageCrypto();
+
+		@Label("Operation")
+		String operation;
+
+		@Label("Message Type")
+		int messageType;
+
+		@Label("Box Size")
+		@DataAmount
+		int size;
+
+		static MessageCrypto start() {
+			if (!PROBE.isEnabled()) {
+				return null;
+			}
+			var event = new MessageCrypto();
+			event.begin();
+			return event;
+		}
+
+		void commit(String operation, int messageType, int size) {
+			end();
+			if (shouldCommit()) {
+				this.operation = operation;
+				this.messageType = messageType;
+				this.size = size;
+				commit();
+			}
+		}
+
+	}
+
+	@Name("com.mountainminds.three4j.BlobCrypto")
+	@Label("Blob Encryption")
+	@Description("Encryption or decryption of blob content")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class BlobCrypto extends Event {
+
+		private static final BlobCrypto PROBE = new BlobCrypto();
+
+		@Label("Operation")
+		String operation;
+
+		@Label("Size")
+		@Description("Size of the encrypted content")
+		@DataAmount
+		int size;
+
+		static BlobCrypto start() {
+			if (!PROBE.isEnabled()) {
+				return null;
+			}
+			var event = new BlobCrypto();
+			event.begin();
+			return event;
+		}
+
+		void commit(String operation, int size) {
+			end();
+			if (shouldCommit()) {
+				this.operation = operation;
+				this.size = size;
+				commit();
+			}
+		}
+
+	}
+
+	@Name("com.mountainminds.three4j.Callback")
+	@Label("Gateway Callback")
+	@Description("Parsing and verification of a callback from the gateway")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class Callback extends Event {
+
+		private static final Callback PROBE = new Callback();
+
+		@Label("Size")
+		@DataAmount
+		int size;
+
+		@Label("Valid")
+		boolean valid;
+
+		@Label("Failure")
+		String failure;
+
+		static Callback start() {
+			if (!PROBE.isEnabled()) {
+				return null;
+			}
+			var event = new Callback();
+			event.begin();
+			return event;
+		}
+
+		void commit(int size, IllegalArgumentException failure) {
+			end();
+			if (shouldCommit()) {
+				this.size = size;
+				this.valid = failure == null;
+				this.failure = failure == null ? null : failure.getMessage();
+				commit();
+			}
+		}
+
+	}
+
+}
@@ -21,6 +21,8 @@ import static com.mountainminds.three4j.GatewayException.STATUS_PAYLOADTOOLARGE;
 import static com.mountainminds.three4j.GatewayException.STATUS_PAYMENTREQUIRED;
 import static com.mountainminds.three4j.GatewayException.STATUS_UNAUTHORIZED;
 import static com.mountainminds.three4j.HttpSupport.UNKNOWN_RESPONSE;
+import static com.mountainminds.three4j.HttpSupport.trimmedLength;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.Arrays.stream;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
@@ -32,15 +34,20 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpRequest.Builder;
+import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.security.PublicKey;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
+import com.mountainminds.three4j.GatewayListener.Endpoint;
+import com.mountainminds.three4j.HttpSupport.FormBody;
 import com.mountainminds.three4j.HttpSupport.MultipartEncoder;
 import com.mountainminds.three4j.HttpSupport.StatusHandler;
+import com.mountainminds.three4j.HttpSupport.UrlParams;
 
 /**
  * Client for the Threema gateway.
@@ -56,10 +63,25 @@ public final class Gateway {
 			.error(STATUS_FORBIDDEN, "Forbidden") //
 			.error(STATUS_INTERNALSERVERERROR, "Temporary internal server error");
 
-	private final ThreemaId from;
-	private final String secret;
 	private final HttpClient httpclient;
 
+	private final Identity identity;
+
+	private final String baseUrl;
+
+	// Pre-encoded authentication parameters and request URIs
+	private final String authQuery;
+	private final byte[] authForm;
+	private final URI creditsUri;
+	private final URI bulkLookupUri;
+	private final URI uploadBlobUri;
+	private final URI sendE2EUri;
+	private final URI sendSimpleUri;
+
+	private volatile NegativeCache negativeCache;
+
+	private volatile GatewayListener listener;
+
 	/**
 	 * Creates a new gateway client for the given sender using a default HTTP
 	 * client.
@@ -79,9 +101,87 @@ public final class Gateway {
 	 * @param httpclient preconfigured HTTP client
 	 */
 	public Gateway(ThreemaId from, String secret, HttpClient httpclient) {
-		this.from = from;
-		this.secret = secret;
+		this(from, secret, null, httpclient);
+	}
+
+	/**
+	 * Creates a new gateway client for the given identity using a default HTTP
+	 * client.
+	 * 
+	 * @param identity sender identity
+	 */
+	public Gateway(Identity identity) {
+		this(identity, HttpClient.newHttpClient());
+	}
+
+	/**
+	 * Creates a new gateway client for the given identity with the given HTTP
+	 * client.
+	 * 
+	 * @param identity   sender identity
+	 * @param httpclient preconfigured HTTP client
+	 */
+	public Gateway(Identity identity, HttpClient httpclient) {
+		this(identity.getId(), identity.getSecret(), identity, httpclient);
+	}
+
+	/**
+	 * Creates a new gateway client which sends its requests to the given base
+	 * URL instead of the Threema gateway, e.g. a local stub for load tests.
+	 * 
+	 * @param identity   sender identity
+	 * @param httpclient preconfigured HTTP client
+	 * @param baseUrl    base URL ending with <code>/</code>
+	 */
+	Gateway(Identity identity, HttpClient httpclient, String baseUrl) {
+		this(identity.getId(), identity.getSecret(), identity, httpclient, baseUrl);
+	}
+
+	private Gateway(ThreemaId from, String secret, Identity identity, HttpClient httpclient) {
+		this(from, secret, identity, httpclient, THREEMA_GATEWAY_URL);
+	}
+
+	private Gateway(ThreemaId from, String secret, Identity identity, HttpClient httpclient, String baseUrl) {
 		this.httpclient = httpclient;
+		this.identity = identity;
+		this.baseUrl = baseUrl;
+		this.authQuery = new UrlParams().add("from", from.getValue()).add("secret", secret).toString();
+		this.authForm = authQuery.getBytes(US_ASCII);
+		this.creditsUri = gwAuthUri("credits");
+		this.bulkLookupUri = gwAuthUri("lookup", "bulk");
+		this.uploadBlobUri = gwAuthUri("upload_blob");
+		this.sendE2EUri = gwUri("send_e2e");
+		this.sendSimpleUri = gwUri("send_simple");
+	}
+
+	/**
+	 * @return sender identity or <code>null</code> if this gateway has been
+	 *         created with Threema ID and secret only
+	 */
+	public Identity getIdentity() {
+		return identity;
+	}
+
+	/**
+	 * Sets a cache for hashes without Threema ID. If set, hash based lookups for
+	 * cached hashes fail immediately with {@link GatewayException#STATUS_NOTFOUND}
+	 * and {@link #bulkLookup(Set, Set)} does not request them. Hashes reported
+	 * as not found by the gateway are added to the cache.
+	 * 
+	 * @param negativeCache cache for absent hashes or <code>null</code> to disable
+	 */
+	public void setNegativeCache(NegativeCache negativeCache) {
+		this.negativeCache = negativeCache;
+	}
+
+	/**
+	 * Sets a listener which is notified about every request to the gateway and
+	 * every message encrypted by this instance.
+	 * 
+	 * @param listener listener or <code>null</code> to disable
+	 */
+	public void setListener(GatewayListener listener) {
+		this.listener = listener;
 	}
 
 	/**
@@ -95,8 +195,8 @@ public final class Gateway {
 	 * @see #from {@link #getIdByPhoneNumber(Hash)}
 	 */
 	public ThreemaId getIdByPhoneNumber(String number) throws GatewayException, IOException {
-		var request = gwRequest(auth(), "lookup", "phone", number).build();
-		return ThreemaId.of(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
+		var request = gwAuthRequest("lookup", "phone", number).build();
+		return ThreemaId.of(send(Endpoint.LOOKUP_PHONE, request, BodyHandlers.ofString(), DEFAULT_STATUS //
 				.error(STATUS_NOTFOUND, () -> "No matching ID for " + number)));
 	}
 
@@ -110,9 +210,7 @@ public final class Gateway {
 	 * @see Hash#ofPhone(String)
 	 */
 	public ThreemaId getIdByPhoneNumber(Hash number) throws GatewayException, IOException {
-		var request = gwRequest(auth(), "lookup", "phone_hash", number.getHexValue()).build();
-		return ThreemaId.of(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
-				.error(STATUS_NOTFOUND, () -> "No matching ID for " + number)));
+		return getIdByHash(Endpoint.LOOKUP_PHONE_HASH, "phone_hash", number);
 	}
 
 	/**
@@ -126,8 +224,8 @@ public final class Gateway {
 	 * @see #from {@link #getIdByEmailAddress(Hash)}
 	 */
 	public ThreemaId getIdByEmailAddress(String address) throws GatewayException, IOException {
-		var request = gwRequest(auth(), "lookup", "email", address).build();
-		return ThreemaId.of(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
+		var request = gwAuthRequest("lookup", "email", address).build();
+		return ThreemaId.of(send(Endpoint.LOOKUP_EMAIL, request, BodyHandlers.ofString(), DEFAULT_STATUS //
 				.error(STATUS_NOTFOUND, () -> "No matching ID for " + address)));
 	}
 
@@ -141,9 +239,24 @@ public final class Gateway {
 	 * @see Hash#ofEmail(String)
 	 */
 	public ThreemaId getIdByEmailAddress(Hash address) throws GatewayException, IOException {
-		var request = gwRequest(auth(), "lookup", "email_hash", address.getHexValue()).build();
-		return ThreemaId.of(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
-				.error(STATUS_NOTFOUND, () -> "No matching ID for " + address)));
+		return getIdByHash(Endpoint.LOOKUP_EMAIL_HASH, "email_hash", address);
+	}
+
+	private ThreemaId getIdByHash(Endpoint endpoint, String type, Hash hash) throws GatewayException, IOException {
+		var cache = negativeCache;
+		if (cache != null && cache.contains(hash)) {
+			throw new GatewayException(STATUS_NOTFOUND, "No matching ID for " + hash);
+		}
+		var request = gwAuthRequest("lookup", type, hash.getHexValue()).build();
+		try {
+			return ThreemaId.of(send(endpoint, request, BodyHandlers.ofString(), DEFAULT_STATUS //
+					.error(STATUS_NOTFOUND, () -> "No matching ID for " + hash)));
+		} catch (GatewayException e) {
+			if (cache != null && e.getStatus() == STATUS_NOTFOUND) {
+				cache.add(hash);
+			}
+			throw e;
+		}
 	}
 
 	/**
@@ -153,11 +266,19 @@ public final class Gateway {
 	public static class IDKey {
 
 		private final ThreemaId id;
-		private final PublicKey key;
+		private final RawPublicKey key;
 
 		IDKey(String id, String key) {
-			this.id = ThreemaId.of(id);
-			this.key = KeyEncoder.decodePublicKey(key);
+			this(ThreemaId.of(id), RawPublicKey.of(key));
+		}
+
+		IDKey(ThreemaId id, PublicKey key) {
+			this(id, RawPublicKey.of(key));
+		}
+
+		IDKey(ThreemaId id, RawPublicKey key) {
+			this.id = id;
+			this.key = key;
 		}
 
 		/**
@@ -168,15 +289,38 @@ public final class Gateway {
 		}
 
 		/**
+		 * The public key instance is created on first access.
+		 * 
 		 * @return corresponding public key
 		 */
 		public PublicKey getKey() {
+			return key.toPublicKey();
+		}
+
+		/**
+		 * @return corresponding public key in raw representation
+		 */
+		public RawPublicKey getRawKey() {
 			return key;
 		}
 
+		@Override
+		public int hashCode() {
+			return id.hashCode() * 31 + key.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (other == null || !this.getClass().equals(other.getClass())) {
+				return false;
+			}
+			var o = (IDKey) other;
+			return id.equals(o.id) && key.equals(o.key);
+		}
+
 		@Override
 		public String toString() {
-			return "IDKey[" + id.getValue() + ", " + KeyEncoder.encode(key) + "]";
+			return "IDKey[" + id.getValue() + ", " + key.getHexValue() + "]";
 		}
 
 	}
@@ -193,13 +337,27 @@ public final class Gateway {
 	 */
 	public Map<Hash, IDKey> bulkLookup(Set<Hash> phoneHashes, Set<Hash> emailHashes)
 			throws GatewayException, IOException {
+		var cache = negativeCache;
+		if (cache != null) {
+			phoneHashes = phoneHashes.stream().filter(h -> !cache.contains(h)).collect(toSet());
+			emailHashes = emailHashes.stream().filter(h -> !cache.contains(h)).collect(toSet());
+			if (phoneHashes.isEmpty() && emailHashes.isEmpty()) {
+				return Map.of();
+			}
+		}
 		var requestbody = BulkLookup.writeRequest(phoneHashes, emailHashes);
-		var request = gwRequest(auth(), "lookup", "bulk") //
+		var request = HttpRequest.newBuilder(bulkLookupUri) //
 				.POST(HttpRequest.BodyPublishers.ofString(requestbody)) //
 				.build();
-		return BulkLookup.readResponse(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
+		var result = BulkLookup.readResponse(send(Endpoint.LOOKUP_BULK, request, BodyHandlers.ofString(), DEFAULT_STATUS //
 				.error(STATUS_BADREQUEST, "invalid JSON or hash length") //
 				.error(STATUS_PAYLOADTOOLARGE, "too many hashes")));
+		if (cache != null) {
+			Stream.concat(phoneHashes.stream(), emailHashes.stream()) //
+					.filter(h -> !result.containsKey(h)) //
+					.forEach(cache::add);
+		}
+		return result;
 	}
 
 	/**
@@ -210,8 +368,8 @@ public final class Gateway {
 	 * @throws IOException      when a technical communication problem occurs
 	 */
 	public int getRemainingCredits() throws GatewayException, IOException {
-		var request = gwRequest(auth(), "credits").build();
-		var result = send(request, BodyHandlers.ofString(), DEFAULT_STATUS);
+		var request = HttpRequest.newBuilder(creditsUri).build();
+		var result = send(Endpoint.CREDITS, request, BodyHandlers.ofString(), DEFAULT_STATUS);
 		return Integer.parseInt(result);
 	}
 
@@ -225,8 +383,8 @@ public final class Gateway {
 	 * @throws IOException      when a technical communication problem occurs
 	 */
 	public PublicKey getPublicKey(ThreemaId threemaid) throws GatewayException, IOException {
-		var request = gwRequest(auth(), "pubkeys", threemaid.getValue()).build();
-		return KeyEncoder.decodePublicKey(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
+		var request = gwAuthRequest("pubkeys", threemaid.getValue()).build();
+		return KeyEncoder.decodePublicKey(send(Endpoint.PUBLIC_KEY, request, BodyHandlers.ofString(), DEFAULT_STATUS //
 				.error(STATUS_NOTFOUND, () -> "No matching ID for " + threemaid)));
 	}
 
@@ -257,8 +415,8 @@ public final class Gateway {
 	 * @throws IOException      when a technical communication problem occurs
 	 */
 	public Set<Capability> getCapabilities(ThreemaId threemaid) throws GatewayException, IOException {
-		var request = gwRequest(auth(), "capabilities", threemaid.getValue()).build();
-		var result = send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
+		var request = gwAuthRequest("capabilities", threemaid.getValue()).build();
+		var result = send(Endpoint.CAPABILITIES, request, BodyHandlers.ofString(), DEFAULT_STATUS //
 				.error(STATUS_NOTFOUND, () -> "No matching ID for " + threemaid));
 		return stream(result.split(",")).map(Capability::of).collect(toSet());
 	}
@@ -313,17 +471,17 @@ public final class Gateway {
 
 	private MessageId sendSimpleMessage(String receipientKey, String receipientValue, String text)
 			throws GatewayException, IOException {
-		var body = auth() //
+		var body = new UrlParams(authQuery) //
 				.add(receipientKey, receipientValue) //
 				.add("text", text).toBody();
-		var request = gwRequest("send_simple") //
+		var request = HttpRequest.newBuilder(sendSimpleUri) //
 				.header("Content-Type", "application/x-www-form-urlencoded") //
 				.POST(body).build();
-		return MessageId.of(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
+		return MessageId.of(hexBody(send(Endpoint.SEND_SIMPLE, request, BodyHandlers.ofByteArray(), DEFAULT_STATUS //
 				.error(STATUS_BADREQUEST,
 						"the recipient identity is invalid or the account is not set up for basic mode") //
 				.error(STATUS_NOTFOUND, () -> "no matching id for " + receipientValue) //
-				.error(STATUS_PAYLOADTOOLARGE, "message is too long")));
+				.error(STATUS_PAYLOADTOOLARGE, "message is too long"))));
 	}
 
 	/**
@@ -338,17 +496,51 @@ public final class Gateway {
 	 * @throws IOException      when a technical communication problem occurs
 	 */
 	public MessageId sendMessage(ThreemaId toThreemid, EncryptedMessage msg) throws GatewayException, IOException {
-		var body = auth() //
-				.add("to", toThreemid.getValue()) //
-				.add("box", msg.getHexValue()) //
-				.add("nonce", msg.getNonce().getHexValue()).toBody();
-		var request = gwRequest("send_e2e") //
+		var request = HttpRequest.newBuilder(sendE2EUri) //
 				.header("Content-Type", "application/x-www-form-urlencoded") //
-				.POST(body).build();
-		return MessageId.of(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
+				.POST(e2eBody(toThreemid, msg).toBody()).build();
+		return MessageId.of(hexBody(send(Endpoint.SEND_E2E, request, BodyHandlers.ofByteArray(), DEFAULT_STATUS //
 				.error(STATUS_BADREQUEST,
 						"recipient identity is invalid or the account is not set up for end-to-end mode") //
-				.error(STATUS_PAYLOADTOOLARGE, "message is too long")));
+				.error(STATUS_PAYLOADTOOLARGE, "message is too long"))));
+	}
+
+	/**
+	 * Encrypts the given message with the identity of this gateway and sends it
+	 * to the given receiver.
+	 * 
+	 * @param toThreemid receiver Threema ID
+	 * @param publicKey  public key of the receiver
+	 * @param msg        plain message
+	 * @return the new message id
+	 * @throws GatewayException      when the Gateway reports an error status
+	 * @throws IOException           when a technical communication problem occurs
+	 * @throws IllegalStateException if this gateway has no identity
+	 */
+	public MessageId sendMessage(ThreemaId toThreemid, RawPublicKey publicKey, PlainMessage msg)
+			throws GatewayException, IOException {
+		if (identity == null) {
+			throw new IllegalStateException("No identity configured");
+		}
+		var l = listener;
+		if (l == null) {
+			return sendMessage(toThreemid, msg.encrypt(identity, publicKey));
+		}
+		long start = System.nanoTime();
+		var encrypted = msg.encrypt(identity, publicKey);
+		l.messageEncrypted(System.nanoTime() - start, encrypted.getValue().length);
+		return sendMessage(toThreemid, encrypted);
+	}
+
+	FormBody e2eBody(ThreemaId toThreemid, EncryptedMessage msg) {
+		var to = toThreemid.getValue();
+		var box = msg.getValue();
+		var nonce = msg.getNonce().getValue();
+		var size = authForm.length //
+				+ FormBody.size("to", to.length()) //
+				+ FormBody.size("box", 2 * box.length) //
+				+ FormBody.size("nonce", 2 * nonce.length);
+		return new FormBody(authForm, size).add("to", to).addHex("box", box).addHex("nonce", nonce);
 	}
 
 	/**
@@ -361,12 +553,12 @@ public final class Gateway {
 	 */
 	public BlobId uploadBlob(byte[] encryptedcontent) throws GatewayException, IOException {
 		var encoder = new MultipartEncoder(encryptedcontent);
-		var request = gwRequest(auth(), "upload_blob") //
+		var request = HttpRequest.newBuilder(uploadBlobUri) //
 				.header("Content-Type", encoder.getContentType()) //
 				.POST(BodyPublishers.ofByteArray(encoder.getBody())).build();
-		return BlobId.of(send(request, BodyHandlers.ofString(), DEFAULT_STATUS //
+		return BlobId.of(hexBody(send(Endpoint.UPLOAD_BLOB, request, BodyHandlers.ofByteArray(), DEFAULT_STATUS //
 				.error(STATUS_BADREQUEST, "required parameters missing or blob empty") //
-				.error(STATUS_PAYLOADTOOLARGE, "blob is too big")));
+				.error(STATUS_PAYLOADTOOLARGE, "blob is too big"))));
 	}
 
 	/**
@@ -393,8 +585,8 @@ public final class Gateway {
 	 * @throws IOException      when a technical communication problem occurs
 	 */
 	public byte[] downloadBlob(BlobId blobid) throws GatewayException, IOException {
-		var request = gwRequest(auth(), "blobs", blobid.getHexValue()).build();
-		return send(request, BodyHandlers.ofByteArray(), DEFAULT_STATUS//
+		var request = gwAuthRequest("blobs", blobid.getHexValue()).build();
+		return send(Endpoint.DOWNLOAD_BLOB, request, BodyHandlers.ofByteArray(), DEFAULT_STATUS//
 				.error(STATUS_NOTFOUND, () -> "no blob with " + blobid));
 	}
 
@@ -410,31 +602,76 @@ public final class Gateway {
 		return blob.decrypt(downloadBlob(blob.getId()));
 	}
 
-	private Builder gwRequest(String... path) {
-		return HttpRequest.newBuilder(URI.create(gwRequestUrl(path)));
+	private Builder gwAuthRequest(String... path) {
+		return HttpRequest.newBuilder(gwAuthUri(path));
 	}
 
-	private Builder gwRequest(HttpSupport.UrlParams urlparams, String... path) {
-		return HttpRequest.newBuilder(URI.create(gwRequestUrl(path) + "?" + urlparams));
+	private URI gwUri(String... path) {
+		return URI.create(baseUrl + String.join("/", path));
 	}
 
-	private String gwRequestUrl(String... path) {
-		return THREEMA_GATEWAY_URL + String.join("/", path);
+	private URI gwAuthUri(String... path) {
+		var url = new StringBuilder(baseUrl);
+		for (int i = 0; i < path.length; i++) {
+			if (i > 0) {
+				url.append('/');
+			}
+			url.append(path[i]);
+		}
+		return URI.create(url.append('?').append(authQuery).toString());
 	}
 
-	private HttpSupport.UrlParams auth() {
-		return new HttpSupport.UrlParams().add("from", from.getValue()).add("secret", secret);
+	private static byte[] hexBody(byte[] body) {
+		return ByteArrayValue.fromHex(body, 0, trimmedLength(body));
 	}
 
-	private <T> T send(HttpRequest request, BodyHandler<T> handler, StatusHandler statusHandler)
-			throws GatewayException, IOException {
+	private <T> T send(Endpoint endpoint, HttpRequest request, BodyHandler<T> handler,
+			StatusHandler statusHandler) throws GatewayException, IOException {
+		var l = listener;
+		var event = FlightRecorderEvents.startGatewayRequest();
+		long start = l == null ? 0 : System.nanoTime();
+		HttpResponse<T> response;
 		try {
-			var response = httpclient.send(request, handler);
-			statusHandler.handle(response.statusCode());
-			return response.body();
+			response = httpclient.send(request, handler);
+		} catch (IOException e) {
+			failed(l, event, endpoint, start, request, e);
+			throw e;
 		} catch (InterruptedException e) {
-			throw new IOException(e);
+			var ioe = new IOException(e);
+			failed(l, event, endpoint, start, request, ioe);
+			throw ioe;
+		}
+		if (l != null) {
+			l.requestCompleted(endpoint, response.statusCode(), System.nanoTime() - start, requestSize(request),
+					responseSize(response.body()));
+		}
+		if (event != null) {
+			event.commit(endpoint, response.statusCode(), requestSize(request), responseSize(response.body()), null);
+		}
+		statusHandler.handle(response.statusCode());
+		return response.body();
+	}
+
+	private static void failed(GatewayListener l, FlightRecorderEvents.GatewayRequest event, Endpoint endpoint,
+			long start, HttpRequest request, IOException e) {
+		if (l != null) {
+			l.requestFailed(endpoint, System.nanoTime() - start, requestSize(request), e);
+		}
+		if (event != null) {
+			event.commit(endpoint, 0, requestSize(request), 0, e);
+		}
+	}
+
+	private static long requestSize(HttpRequest request) {
+		return request.bodyPublisher().map(p -> Math.max(0, p.contentLength())).orElse(0L);
+	}
+
+	private static long responseSize(Object body) {
+		if (body instanceof byte[]) {
+			return ((byte[]) body).length;
 		}
+		// Textual gateway responses are plain ASCII
+		return body instanceof String ? ((String) body).length() : 0;
 	}
 
 }
@@ -13,22 +13,30 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
+import static com.mountainminds.three4j.ByteArrayValue.fromHex;
+import static com.mountainminds.three4j.ByteArrayValue.hexValue;
 import static com.mountainminds.three4j.Hash.newMAC;
-import static com.mountainminds.three4j.HttpSupport.decodeUrlParams;
 import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
-import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
 import java.time.Instant;
-import java.util.Map;
-import java.util.stream.Stream;
+import java.util.Arrays;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 
 /**
  * Immutable data structure containing the structured data of a gateway callback
  * to receive messages.
+ * <p>
+ * The body is parsed on byte level and the signature is verified before any
+ * value object is created, therefore invalid requests are rejected with minimal
+ * overhead.
  */
 public class GatewayCallback {
 
-	private static final Charset ENCODING = US_ASCII;
+	private static final ThreadLocal<Parser> PARSER = ThreadLocal.withInitial(Parser::new);
 
 	private final ThreemaId from;
 	private final ThreemaId to;
@@ -46,31 +54,7 @@ public class GatewayCallback {
 	 *                                  signature
 	 */
 	public GatewayCallback(String body, String secret) throws IllegalArgumentException {
-		var params = decodeUrlParams(body);
-
-		var m = newMAC(secret.getBytes(ENCODING));
-		Stream.of("from", "to", "messageId", "date", "nonce", "box") //
-				.map(key -> getMandatoryValue(params, key)) //
-				.map(s -> s.getBytes(ENCODING)) //
-				.forEach(m::update);
-		if (!ByteArrayValue.toHex(m.doFinal()).equals(getMandatoryValue(params, "mac"))) {
-			throw new IllegalArgumentException("Invalid signature");
-		}
-
-		from = ThreemaId.of(params.get("from"));
-		to = ThreemaId.of(params.get("to"));
-		messageId = MessageId.of(params.get("messageId"));
-		date = Instant.ofEpochSecond(Long.parseLong(params.get("date")));
-		message = new EncryptedMessage(params.get("box"), Nonce.of(params.get("nonce")));
-		nickname = params.get("nickname");
-	}
-
-	private static String getMandatoryValue(Map<String, String> params, String key) {
-		var value = params.get(key);
-		if (value == null) {
-			throw new IllegalArgumentException("Missing parameter " + key);
-		}
-		return value;
+		this(body.getBytes(UTF_8), secret);
 	}
 
 	/**
@@ -82,7 +66,33 @@ public class GatewayCallback {
 	 *                                  signature
 	 */
 	public GatewayCallback(byte[] body, String secret) throws IllegalArgumentException {
-		this(new String(body, ENCODING), secret);
+		this(PARSER.get().parse(body, 0, body.length, secret));
+	}
+
+	/**
+	 * Decodes and verifies a callback HTTP body from the remaining content of the
+	 * given buffer. The position of the buffer is not modified.
+	 * 
+	 * @param body   url encoded body of the callback request.
+	 * @param secret gateway API secret
+	 * @throws IllegalArgumentException if the data cannot be validated with the
+	 *                                  signature
+	 */
+	public GatewayCallback(ByteBuffer body, String secret) throws IllegalArgumentException {
+		this(PARSER.get().parse(body, secret));
+	}
+
+	private GatewayCallback(Parser parser) throws IllegalArgumentException {
+		try {
+			from = parser.threemaId(Parser.FROM);
+			to = parser.threemaId(Parser.TO);
+			messageId = MessageId.of(parser.bytes(Parser.MESSAGE_ID));
+			date = Instant.ofEpochSecond(parser.number(Parser.DATE));
+			message = new EncryptedMessage(parser.bytes(Parser.BOX), Nonce.of(parser.bytes(Parser.NONCE)));
+			nickname = parser.string(Parser.NICKNAME);
+		} finally {
+			parser.release();
+		}
 	}
 
 	/**
@@ -127,4 +137,224 @@ public class GatewayCallback {
 		return nickname;
 	}
 
+	/**
+	 * Per-thread parser state. Values are referenced by offset and length in the
+	 * original body, only percent encoded values are decoded into a separate
+	 * buffer. The MAC instance is kept for the last used secret.
+	 */
+	private static final class Parser {
+
+		static final int FROM = 0;
+		static final int TO = 1;
+		static final int MESSAGE_ID = 2;
+		static final int DATE = 3;
+		static final int NONCE = 4;
+		static final int BOX = 5;
+		static final int MAC = 6;
+		static final int NICKNAME = 7;
+
+		/** Parameters in the order of MAC calculation, followed by the MAC itself */
+		private static final String[] KEYS = { "from", "to", "messageId", "date", "nonce", "box", "mac", "nickname" };
+
+		private static final byte[][] KEY_BYTES = Arrays.stream(KEYS).map(k -> k.getBytes(US_ASCII))
+				.toArray(byte[][]::new);
+
+		private static final int MAC_SIZE = 32;
+
+		private final byte[][] buffers = new byte[KEYS.length][];
+		private final int[] offsets = new int[KEYS.length];
+		private final int[] lengths = new int[KEYS.length];
+
+		private final byte[] actualMac = new byte[MAC_SIZE];
+
+		private byte[] copy = new byte[0];
+		private byte[] decoded = new byte[0];
+		private int decodedLength;
+
+		private String secret;
+		private Mac mac;
+
+		Parser parse(ByteBuffer body, String secret) {
+			if (body.hasArray()) {
+				return parse(body.array(), body.arrayOffset() + body.position(), body.remaining(), secret);
+			}
+			int length = body.remaining();
+			if (copy.length < length) {
+				copy = new byte[length];
+			}
+			int position = body.position();
+			body.get(copy, 0, length);
+			body.position(position);
+			return parse(copy, 0, length, secret);
+		}
+
+		Parser parse(byte[] body, int offset, int length, String secret) {
+			var event = FlightRecorderEvents.startCallback();
+			try {
+				split(body, offset, offset + length);
+				for (int i = 0; i <= MAC; i++) {
+					if (buffers[i] == null) {
+						throw new IllegalArgumentException("Missing parameter " + KEYS[i]);
+					}
+				}
+				verify(secret);
+			} catch (IllegalArgumentException e) {
+				release();
+				if (event != null) {
+					event.commit(length, e);
+				}
+				throw e;
+			} catch (RuntimeException e) {
+				release();
+				throw e;
+			}
+			if (event != null) {
+				event.commit(length, null);
+			}
+			return this;
+		}
+
+		private void split(byte[] body, int pos, int end) {
+			decodedLength = 0;
+			while (pos < end) {
+				int paramEnd = indexOf(body, '&', pos, end);
+				int eq = indexOf(body, '=', pos, paramEnd);
+				// Like decodeUrlParams() parameters without value are ignored
+				if (eq < paramEnd - 1) {
+					int key = keyIndex(body, pos, eq);
+					if (key >= 0) {
+						if (buffers[key] != null) {
+							throw new IllegalArgumentException("Duplicate parameter " + KEYS[key]);
+						}
+						setValue(key, body, eq + 1, paramEnd);
+					}
+				}
+				pos = paramEnd + 1;
+			}
+		}
+
+		private static int indexOf(byte[] body, char c, int pos, int end) {
+			while (pos < end && body[pos] != c) {
+				pos++;
+			}
+			return pos;
+		}
+
+		private static int keyIndex(byte[] body, int start, int end) {
+			for (int i = 0; i < KEY_BYTES.length; i++) {
+				if (Arrays.equals(KEY_BYTES[i], 0, KEY_BYTES[i].length, body, start, end)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private void setValue(int key, byte[] body, int start, int end) {
+			int pos = start;
+			while (pos < end && body[pos] != '%' && body[pos] != '+') {
+				pos++;
+			}
+			if (pos == end) {
+				buffers[key] = body;
+				offsets[key] = start;
+				lengths[key] = end - start;
+				return;
+			}
+			// Rare case, decoding is never longer than the encoded value
+			if (decoded.length < decodedLength + end - start) {
+				decoded = Arrays.copyOf(decoded, Math.max(2 * decoded.length, decodedLength + end - start));
+			}
+			buffers[key] = decoded;
+			offsets[key] = decodedLength;
+			for (pos = start; pos < end; pos++) {
+				int b = body[pos];
+				if (b == '+') {
+					b = ' ';
+				} else if (b == '%') {
+					int d1 = pos + 2 < end ? hexValue((char) (body[pos + 1] & 0xff)) : -1;
+					int d2 = pos + 2 < end ? hexValue((char) (body[pos + 2] & 0xff)) : -1;
+					if ((d1 | d2) < 0) {
+						throw new IllegalArgumentException("Invalid url encoding for parameter " + KEYS[key]);
+					}
+					b = (d1 << 4) | d2;
+					pos += 2;
+				}
+				decoded[decodedLength++] = (byte) b;
+			}
+			lengths[key] = decodedLength - offsets[key];
+		}
+
+		private void verify(String secret) {
+			if (!secret.equals(this.secret)) {
+				mac = newMAC(secret.getBytes(US_ASCII));
+				this.secret = secret;
+			}
+			for (int i = 0; i < MAC; i++) {
+				mac.update(buffers[i], offsets[i], lengths[i]);
+			}
+			try {
+				mac.doFinal(actualMac, 0);
+			} catch (ShortBufferException e) {
+				throw new IllegalStateException(e);
+			}
+
+			// Compare all digits without data dependent branches on the actual MAC
+			int diff = lengths[MAC] ^ (2 * MAC_SIZE);
+			if (diff == 0) {
+				var expected = buffers[MAC];
+				int pos = offsets[MAC];
+				for (int i = 0; i < MAC_SIZE; i++) {
+					int d1 = hexValue((char) (expected[pos++] & 0xff));
+					int d2 = hexValue((char) (expected[pos++] & 0xff));
+					diff |= ((d1 | d2) >>> 31) | ((actualMac[i] ^ ((d1 << 4) | d2)) & 0xff);
+				}
+			}
+			if (diff != 0) {
+				throw new IllegalArgumentException("Invalid signature");
+			}
+		}
+
+		ThreemaId threemaId(int key) {
+			return ThreemaId.of(buffers[key], offsets[key], lengths[key]);
+		}
+
+		byte[] bytes(int key) {
+			return fromHex(buffers[key], offsets[key], lengths[key]);
+		}
+
+		long number(int key) {
+			var buffer = buffers[key];
+			int pos = offsets[key];
+			int length = lengths[key];
+			// Up to 18 decimal digits can not overflow
+			if (length > 18) {
+				throw invalidNumber(key);
+			}
+			long value = 0;
+			for (int i = 0; i < length; i++) {
+				int digit = buffer[pos + i] - '0';
+				if (digit < 0 || digit > 9) {
+					throw invalidNumber(key);
+				}
+				value = value * 10 + digit;
+			}
+			return value;
+		}
+
+		private IllegalArgumentException invalidNumber(int key) {
+			return new NumberFormatException("Invalid number for parameter " + KEYS[key] + ": " + string(key));
+		}
+
+		String string(int key) {
+			var buffer = buffers[key];
+			return buffer == null ? null : new String(buffer, offsets[key], lengths[key], UTF_8);
+		}
+
+		void release() {
+			// Do not retain references to request bodies
+			Arrays.fill(buffers, null);
+		}
+
+	}
+
 }
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.IOException;
+
+/**
+ * Listener for monitoring gateway calls, callbacks and message encryption. A
+ * listener can be registered with {@link Gateway#setListener(GatewayListener)},
+ * {@link CallbackServer#setListener(GatewayListener)} and
+ * {@link InboundPipeline#setListener(GatewayListener)}. Without a registered
+ * listener no timestamps are taken at all.
+ * <p>
+ * Methods are called synchronously from the thread which performs the
+ * respective operation. Implementations must be thread safe, should return
+ * quickly and must not throw exceptions. All methods have empty default
+ * implementations. {@link GatewayMetrics} is a ready-to-use implementation.
+ */
+public interface GatewayListener {
+
+	/**
+	 * Gateway API endpoints.
+	 */
+	enum Endpoint {
+
+		/** {@link Gateway#getIdByPhoneNumber(String)} */
+		LOOKUP_PHONE,
+
+		/** {@link Gateway#getIdByPhoneNumber(Hash)} */
+		LOOKUP_PHONE_HASH,
+
+		/** {@link Gateway#getIdByEmailAddress(String)} */
+		LOOKUP_EMAIL,
+
+		/** {@link Gateway#getIdByEmailAddress(Hash)} */
+		LOOKUP_EMAIL_HASH,
+
+		/** {@link Gateway#bulkLookup(java.util.Set, java.util.Set)} */
+		LOOKUP_BULK,
+
+		/** {@link Gateway#getPublicKey(ThreemaId)} */
+		PUBLIC_KEY,
+
+		/** {@link Gateway#getCapabilities(ThreemaId)} */
+		CAPABILITIES,
+
+		/** {@link Gateway#getRemainingCredits()} */
+		CREDITS,
+
+		/** Messages in simple mode */
+		SEND_SIMPLE,
+
+		/** {@link Gateway#sendMessage(ThreemaId, EncryptedMessage)} */
+		SEND_E2E,
+
+		/** {@link Gateway#uploadBlob(byte[])} */
+		UPLOAD_BLOB,
+
+		/** {@link Gateway#downloadBlob(BlobId)} */
+		DOWNLOAD_BLOB
+
+	}
+
+	/**
+	 * Called when the gateway has answered a request, independently of the
+	 * status code.
+	 * 
+	 * @param endpoint     requested endpoint
+	 * @param status       HTTP status code
+	 * @param nanos        duration of the request in nanoseconds
+	 * @param requestSize  size of the request body in bytes
+	 * @param responseSize size of the response body in bytes
+	 */
+	default void requestCompleted(Endpoint endpoint, int status, long nanos, long requestSize, long responseSize) {
+	}
+
+	/**
+	 * Called when a request failed without a response from the gateway, e.g.
+	 * because of a connection problem.
+	 * 
+	 * @param endpoint    requested endpoint
+	 * @param nanos       duration until the failure in nanoseconds
+	 * @param requestSize size of the request body in bytes
+	 * @param exception   cause of the failure
+	 */
+	default void requestFailed(Endpoint endpoint, long nanos, long requestSize, IOException exception) {
+	}
+
+	/**
+	 * Called for every callback which has been parsed and verified successfully.
+	 * 
+	 * @param nanos duration of parsing and verification in nanoseconds
+	 * @param size  size of the callback body in bytes
+	 */
+	default void callbackVerified(long nanos, int size) {
+	}
+
+	/**
+	 * Called for every callback which is malformed or has an invalid MAC.
+	 * 
+	 * @param nanos     duration of parsing and verification in nanoseconds
+	 * @param size      size of the callback body in bytes
+	 * @param exception cause of the rejection
+	 */
+	default void callbackRejected(long nanos, int size, IllegalArgumentException exception) {
+	}
+
+	/**
+	 * Called for every message encrypted by a {@link Gateway}.
+	 * 
+	 * @param nanos duration of the encryption in nanoseconds
+	 * @param size  size of the encrypted box in bytes
+	 */
+	default void messageEncrypted(long nanos, int size) {
+	}
+
+	/**
+	 * Called for every message decrypted by an {@link InboundPipeline}.
+	 * 
+	 * @param nanos duration of the decryption in nanoseconds
+	 * @param size  size of the encrypted box in bytes
+	 */
+	default void messageDecrypted(long nanos, int size) {
+	}
+
+}
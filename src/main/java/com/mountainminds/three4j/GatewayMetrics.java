@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link GatewayListener} which aggregates latency histograms, status codes,
+ * transferred bytes and failures per endpoint as well as latencies of
+ * callbacks and message encryption. All counters are lock-free.
+ * 
+ * <pre>
+ * var metrics = new GatewayMetrics();
+ * gateway.setListener(metrics);
+ * ...
+ * System.out.println(metrics.getLatency(Endpoint.SEND_E2E).getPercentile(99));
+ * </pre>
+ */
+public final class GatewayMetrics implements GatewayListener {
+
+	private static final int MAX_STATUS = 600;
+
+	private final EndpointMetrics[] endpoints = new EndpointMetrics[Endpoint.values().length];
+
+	private final LatencyHistogram callbacks = new LatencyHistogram();
+	private final LongAdder rejectedCallbacks = new LongAdder();
+	private final LatencyHistogram encryption = new LatencyHistogram();
+	private final LatencyHistogram decryption = new LatencyHistogram();
+
+	/**
+	 * Creates a new instance without any recorded values.
+	 */
+	public GatewayMetrics() {
+		for (int i = 0; i < endpoints.length; i++) {
+			endpoints[i] = new EndpointMetrics();
+		}
+	}
+
+	private static final class EndpointMetrics {
+
+		final LatencyHistogram latency = new LatencyHistogram();
+		final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS);
+		final LongAdder failures = new LongAdder();
+		final LongAdder requestBytes = new LongAdder();
+		final LongAdder responseBytes = new LongAdder();
+
+	}
+
+	@Override
+	public void requestCompleted(Endpoint endpoint, int status, long nanos, long requestSize, long responseSize) {
+		var m = endpoints[endpoint.ordinal()];
+		m.latency.record(nanos);
+		if (status >= 0 && status < MAX_STATUS) {
+			m.statusCounts.incrementAndGet(status);
+		}
+		m.requestBytes.add(requestSize);
+		m.responseBytes.add(responseSize);
+	}
+
+	@Override
+	public void requestFailed(Endpoint endpoint, long nanos, long requestSize, IOException exception) {
+		var m = endpoints[endpoint.ordinal()];
+		m.latency.record(nanos);
+		m.failures.increment();
+		m.requestBytes.add(requestSize);
+	}
+
+	@Override
+	public void callbackVerified(long nanos, int size) {
+		callbacks.record(nanos);
+	}
+
+	@Override
+	public void callbackRejected(long nanos, int size, IllegalArgumentException exception) {
+		callbacks.record(nanos);
+		rejectedCallbacks.increment();
+	}
+
+	@Override
+	public void messageEncrypted(long nanos, int size) {
+		encryption.record(nanos);
+	}
+
+	@Override
+	public void messageDecrypted(long nanos, int size) {
+		decryption.record(nanos);
+	}
+
+	/**
+	 * @param endpoint gateway endpoint
+	 * @return latencies of all completed and failed requests to the endpoint
+	 */
+	public LatencyHistogram.Snapshot getLatency(Endpoint endpoint) {
+		return endpoints[endpoint.ordinal()].latency.snapshot();
+	}
+
+	/**
+	 * @param endpoint gateway endpoint
+	 * @param status   HTTP status code
+	 * @return number of responses from the endpoint with the given status
+	 */
+	public long getStatusCount(Endpoint endpoint, int status) {
+		return status >= 0 && status < MAX_STATUS ? endpoints[endpoint.ordinal()].statusCounts.get(status) : 0;
+	}
+
+	/**
+	 * @param endpoint gateway endpoint
+	 * @return number of requests to the endpoint without response
+	 */
+	public long getFailures(Endpoint endpoint) {
+		return endpoints[endpoint.ordinal()].failures.sum();
+	}
+
+	/**
+	 * @param endpoint gateway endpoint
+	 * @return total number of request body bytes sent to the endpoint
+	 */
+	public long getRequestBytes(Endpoint endpoint) {
+		return endpoints[endpoint.ordinal()].requestBytes.sum();
+	}
+
+	/**
+	 * @param endpoint gateway endpoint
+	 * @return total number of response body bytes received from the endpoint
+	 */
+	public long getResponseBytes(Endpoint endpoint) {
+		return endpoints[endpoint.ordinal()].responseBytes.sum();
+	}
+
+	/**
+	 * @return latencies of parsing and verifying callbacks
+	 */
+	public LatencyHistogram.Snapshot getCallbackLatency() {
+		return callbacks.snapshot();
+	}
+
+	/**
+	 * @return number of rejected callbacks
+	 */
+	public long getRejectedCallbacks() {
+		return rejectedCallbacks.sum();
+	}
+
+	/**
+	 * @return latencies of message encryption
+	 */
+	public LatencyHistogram.Snapshot getEncryptionLatency() {
+		return encryption.snapshot();
+	}
+
+	/**
+	 * @return latencies of message decryption
+	 */
+	public LatencyHistogram.Snapshot getDecryptionLatency() {
+		return decryption.snapshot();
+	}
+
+}
@@ -34,6 +34,10 @@ public final class Hash extends ByteArrayValue {
 	private static final byte[] EMAIL_HMAC_KEY = fromHex(
 			"30a5500fed9701fa6defdb610841900febb8e430881f7ad816826264ec09bad7");
 
+	private static final ThreadLocal<Mac> PHONE_MAC = threadLocalMAC(PHONE_HMAC_KEY);
+
+	private static final ThreadLocal<Mac> EMAIL_MAC = threadLocalMAC(EMAIL_HMAC_KEY);
+
 	/**
 	 * Number of bytes of a hash.
 	 */
@@ -47,9 +51,8 @@ public final class Hash extends ByteArrayValue {
 		return new Hash(fromHex(hex));
 	}
 
-	private static Hash of(String input, byte[] key) {
-		final Mac mac = newMAC(key);
-		return new Hash(mac.doFinal(input.getBytes(US_ASCII)));
+	static Hash of(byte[] value) {
+		return new Hash(value);
 	}
 
 	/**
@@ -60,7 +63,17 @@ public final class Hash extends ByteArrayValue {
 	 * @return hash as specified by Threema
 	 */
 	public static Hash ofPhone(String phonenumber) {
-		return of(phonenumber.replaceAll("[^0-9]", ""), PHONE_HMAC_KEY);
+		var digits = new byte[phonenumber.length()];
+		int len = 0;
+		for (int i = 0; i < digits.length; i++) {
+			var c = phonenumber.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits[len++] = (byte) c;
+			}
+		}
+		var mac = PHONE_MAC.get();
+		mac.update(digits, 0, len);
+		return new Hash(mac.doFinal());
 	}
 
 	/**
@@ -72,7 +85,29 @@ public final class Hash extends ByteArrayValue {
 	 * @return hash as specified by Threema
 	 */
 	public static Hash ofEmail(String emailaddress) {
-		return of(emailaddress.strip().toLowerCase(Locale.ENGLISH), EMAIL_HMAC_KEY);
+		var mac = EMAIL_MAC.get();
+		mac.update(normalizeEmail(emailaddress));
+		return new Hash(mac.doFinal());
+	}
+
+	private static byte[] normalizeEmail(String emailaddress) {
+		int start = 0, end = emailaddress.length();
+		while (start < end && Character.isWhitespace(emailaddress.charAt(start))) {
+			start++;
+		}
+		while (end > start && Character.isWhitespace(emailaddress.charAt(end - 1))) {
+			end--;
+		}
+		var bytes = new byte[end - start];
+		for (int i = start; i < end; i++) {
+			var c = emailaddress.charAt(i);
+			if (c >= 0x80) {
+				// Rare case, use the JDK for non-ASCII characters
+				return emailaddress.strip().toLowerCase(Locale.ENGLISH).getBytes(US_ASCII);
+			}
+			bytes[i - start] = (byte) (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+		}
+		return bytes;
 	}
 
 	static Mac newMAC(byte[] key) {
@@ -85,4 +120,23 @@ public final class Hash extends ByteArrayValue {
 		}
 	}
 
+	/**
+	 * Creates a thread local MAC instance for the given key. Where supported new
+	 * instances are cloned from a initialized prototype to avoid repeated key
+	 * setup.
+	 * 
+	 * @param key MAC key
+	 * @return thread local MAC instances
+	 */
+	static ThreadLocal<Mac> threadLocalMAC(byte[] key) {
+		var prototype = newMAC(key);
+		return ThreadLocal.withInitial(() -> {
+			try {
+				return (Mac) prototype.clone();
+			} catch (CloneNotSupportedException e) {
+				return newMAC(key);
+			}
+		});
+	}
+
 }
@@ -0,0 +1,368 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.mountainminds.three4j.Gateway.IDKey;
+
+/**
+ * Persistent index from contact hashes to Threema IDs and public keys, e.g. for
+ * caching results of {@link Gateway#bulkLookup(Set, Set)}. The index is an open
+ * addressing table in a memory mapped file with fixed size records of 72 bytes
+ * (packed ID, hash and raw public key). Therefore entries do not consume heap
+ * memory and an existing index is available immediately after opening.
+ * <p>
+ * Lookups are lock-free and can be called concurrently from any thread while
+ * updates are serialized. Entries can be added or replaced but not removed.
+ * The capacity is fixed when the index is created.
+ * 
+ * <pre>
+ * var index = HashIndex.create(path, 1_000_000);
+ * var lookup = index.cachedLookup(gw::bulkLookup);
+ * </pre>
+ */
+public final class HashIndex implements Closeable {
+
+	private static final int MAGIC = 0x33344a49;
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 64;
+	private static final int HEADER_MAGIC = 0;
+	private static final int HEADER_VERSION = 4;
+	private static final int HEADER_TABLESIZE = 8;
+	private static final int HEADER_SIZE_FIELD = 12;
+
+	static final int RECORD_SIZE = 72;
+	private static final int RECORD_ID = 0;
+	private static final int RECORD_HASH = 8;
+	private static final int RECORD_KEY = 40;
+
+	// Records never span multiple mappings, each mapping is limited to 2 GB
+	private static final int CHUNK_BITS = 24;
+	private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+	private static final int MAX_TABLESIZE = 1 << 30;
+
+	private static final VarHandle BUFFER_LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+			ByteOrder.BIG_ENDIAN);
+
+	private static final VarHandle ARRAY_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+			ByteOrder.BIG_ENDIAN);
+
+	private final FileChannel channel;
+	private final MappedByteBuffer header;
+	private final MappedByteBuffer[] chunks;
+	private final int mask;
+	private final int capacity;
+
+	// Sequence lock for in-place updates of existing records, odd while an
+	// update is in progress. New records are published with the ID only.
+	private volatile long updates;
+
+	private int size;
+
+	private HashIndex(FileChannel channel, int tableSize) throws IOException {
+		this.channel = channel;
+		this.header = channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE);
+		int chunkRecords = Math.min(tableSize, 1 << CHUNK_BITS);
+		this.chunks = new MappedByteBuffer[tableSize / chunkRecords];
+		for (int i = 0; i < chunks.length; i++) {
+			long chunkSize = (long) chunkRecords * RECORD_SIZE;
+			chunks[i] = channel.map(MapMode.READ_WRITE, HEADER_SIZE + i * chunkSize, chunkSize);
+		}
+		this.mask = tableSize - 1;
+		// Keep load factor at 0.75 to get reasonable short probe sequences
+		this.capacity = tableSize - tableSize / 4;
+	}
+
+	/**
+	 * Creates a new empty index file. An existing file is overwritten.
+	 * 
+	 * @param file         index file
+	 * @param expectedSize maximum number of entries
+	 * @return new index
+	 * @throws IOException if the file cannot be created
+	 */
+	public static HashIndex create(Path file, int expectedSize) throws IOException {
+		int tableSize = 16;
+		while (tableSize - tableSize / 4 < expectedSize) {
+			if (tableSize == MAX_TABLESIZE) {
+				throw new IllegalArgumentException("Unsupported index size: " + expectedSize);
+			}
+			tableSize <<= 1;
+		}
+		var channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+		var index = new HashIndex(channel, tableSize);
+		index.header.putInt(HEADER_MAGIC, MAGIC);
+		index.header.putInt(HEADER_VERSION, VERSION);
+		index.header.putInt(HEADER_TABLESIZE, tableSize);
+		index.header.putInt(HEADER_SIZE_FIELD, 0);
+		return index;
+	}
+
+	/**
+	 * Opens an existing index file.
+	 * 
+	 * @param file index file
+	 * @return index with the content of the file
+	 * @throws IOException if the file cannot be opened or has an invalid format
+	 */
+	public static HashIndex open(Path file) throws IOException {
+		var channel = FileChannel.open(file, READ, WRITE);
+		try {
+			var header = channel.map(MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_SIZE));
+			if (header.limit() < HEADER_SIZE || header.getInt(HEADER_MAGIC) != MAGIC
+					|| header.getInt(HEADER_VERSION) != VERSION) {
+				throw new IOException("Invalid index file: " + file);
+			}
+			int tableSize = header.getInt(HEADER_TABLESIZE);
+			if (tableSize < 16 || tableSize > MAX_TABLESIZE || Integer.bitCount(tableSize) != 1
+					|| channel.size() < HEADER_SIZE + (long) tableSize * RECORD_SIZE) {
+				throw new IOException("Invalid index file: " + file);
+			}
+			var index = new HashIndex(channel, tableSize);
+			index.size = header.getInt(HEADER_SIZE_FIELD);
+			return index;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return number of entries in this index
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @return maximum number of entries this index can hold
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the Threema ID and public key for the given hash.
+	 * 
+	 * @param hash phone or email hash
+	 * @return Threema ID and public key or <code>null</code> if there is no entry
+	 */
+	public IDKey get(Hash hash) {
+		var key = new byte[RawPublicKey.SIZE];
+		long id = read(hash.getValue(), key);
+		return id == 0 ? null : new IDKey(ThreemaId.fromLong(id), RawPublicKey.of(key));
+	}
+
+	/**
+	 * Returns the Threema ID for the given hash.
+	 * 
+	 * @param hash phone or email hash
+	 * @return Threema ID or <code>null</code> if there is no entry
+	 */
+	public ThreemaId getId(Hash hash) {
+		long id = read(hash.getValue(), null);
+		return id == 0 ? null : ThreemaId.fromLong(id);
+	}
+
+	/**
+	 * Adds or replaces the entry for the given hash.
+	 * 
+	 * @param hash  phone or email hash
+	 * @param idkey Threema ID and public key
+	 * @throws IllegalStateException if the capacity of this index is exceeded
+	 */
+	public synchronized void put(Hash hash, IDKey idkey) throws IllegalStateException {
+		write(hash.getValue(), idkey.getId().toLong(), idkey.getRawKey().getValue());
+	}
+
+	/**
+	 * Adds or replaces the entries for all given hashes.
+	 * 
+	 * @param entries Threema IDs and public keys by hash
+	 * @throws IllegalStateException if the capacity of this index is exceeded
+	 */
+	public synchronized void putAll(Map<Hash, IDKey> entries) throws IllegalStateException {
+		for (var e : entries.entrySet()) {
+			put(e.getKey(), e.getValue());
+		}
+	}
+
+	/**
+	 * Returns a lookup function which answers known hashes from this index and
+	 * only forwards unknown hashes to the given source. New results of the source
+	 * are added to this index.
+	 * 
+	 * @param source lookup source, typically {@link Gateway#bulkLookup(Set, Set)}
+	 * @return caching lookup function
+	 */
+	public ContactSync.Lookup cachedLookup(ContactSync.Lookup source) {
+		return (phoneHashes, emailHashes) -> {
+			var result = new HashMap<Hash, IDKey>();
+			var phones = unknown(phoneHashes, result);
+			var emails = unknown(emailHashes, result);
+			if (!phones.isEmpty() || !emails.isEmpty()) {
+				var found = source.lookup(phones, emails);
+				putAll(found);
+				result.putAll(found);
+			}
+			return result;
+		};
+	}
+
+	private Set<Hash> unknown(Set<Hash> hashes, Map<Hash, IDKey> result) {
+		var unknown = new HashSet<Hash>();
+		for (var hash : hashes) {
+			var idkey = get(hash);
+			if (idkey == null) {
+				unknown.add(hash);
+			} else {
+				result.put(hash, idkey);
+			}
+		}
+		return unknown;
+	}
+
+	/**
+	 * Writes all changes to the storage device.
+	 * 
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void force() throws IOException {
+		for (var chunk : chunks) {
+			chunk.force();
+		}
+		header.force();
+	}
+
+	/**
+	 * Writes all changes and closes the underlying file. The memory mappings are
+	 * released by the garbage collector.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		force();
+		channel.close();
+	}
+
+	private long read(byte[] hash, byte[] key) {
+		long h0 = (long) ARRAY_LONGS.get(hash, 0);
+		long h1 = (long) ARRAY_LONGS.get(hash, 8);
+		long h2 = (long) ARRAY_LONGS.get(hash, 16);
+		long h3 = (long) ARRAY_LONGS.get(hash, 24);
+		while (true) {
+			long stamp = updates;
+			if ((stamp & 1) == 0) {
+				long id = 0;
+				int idx = find(h0, h1, h2, h3);
+				if (idx >= 0) {
+					var chunk = chunks[idx >>> CHUNK_BITS];
+					int offset = (idx & CHUNK_MASK) * RECORD_SIZE;
+					id = chunk.getLong(offset + RECORD_ID);
+					if (key != null) {
+						for (int i = 0; i < RawPublicKey.SIZE; i += 8) {
+							ARRAY_LONGS.set(key, i, chunk.getLong(offset + RECORD_KEY + i));
+						}
+					}
+				}
+				VarHandle.loadLoadFence();
+				if (stamp == updates) {
+					return id;
+				}
+			}
+			Thread.onSpinWait();
+		}
+	}
+
+	private void write(byte[] hash, long id, byte[] key) {
+		long h0 = (long) ARRAY_LONGS.get(hash, 0);
+		long h1 = (long) ARRAY_LONGS.get(hash, 8);
+		long h2 = (long) ARRAY_LONGS.get(hash, 16);
+		long h3 = (long) ARRAY_LONGS.get(hash, 24);
+		int idx = find(h0, h1, h2, h3);
+		if (idx >= 0) {
+			var chunk = chunks[idx >>> CHUNK_BITS];
+			int offset = (idx & CHUNK_MASK) * RECORD_SIZE;
+			long stamp = updates;
+			updates = stamp + 1;
+			VarHandle.storeStoreFence();
+			chunk.putLong(offset + RECORD_ID, id);
+			writeKey(chunk, offset, key);
+			updates = stamp + 2;
+		} else {
+			if (size == capacity) {
+				throw new IllegalStateException("Index capacity exceeded: " + capacity);
+			}
+			idx = ~idx;
+			var chunk = chunks[idx >>> CHUNK_BITS];
+			int offset = (idx & CHUNK_MASK) * RECORD_SIZE;
+			chunk.putLong(offset + RECORD_HASH, h0);
+			chunk.putLong(offset + RECORD_HASH + 8, h1);
+			chunk.putLong(offset + RECORD_HASH + 16, h2);
+			chunk.putLong(offset + RECORD_HASH + 24, h3);
+			writeKey(chunk, offset, key);
+			// Readers see the record as soon as the ID is visible
+			BUFFER_LONGS.setRelease(chunk, offset + RECORD_ID, id);
+			header.putInt(HEADER_SIZE_FIELD, ++size);
+		}
+	}
+
+	private static void writeKey(MappedByteBuffer chunk, int offset, byte[] key) {
+		for (int i = 0; i < RawPublicKey.SIZE; i += 8) {
+			chunk.putLong(offset + RECORD_KEY + i, (long) ARRAY_LONGS.get(key, i));
+		}
+	}
+
+	/**
+	 * @return index of the record with the given hash or the complement of the
+	 *         index of the first free record
+	 */
+	private int find(long h0, long h1, long h2, long h3) {
+		// Hashes are HMAC values, so the first bytes are uniformly distributed
+		int idx = (int) h0 & mask;
+		while (true) {
+			var chunk = chunks[idx >>> CHUNK_BITS];
+			int offset = (idx & CHUNK_MASK) * RECORD_SIZE;
+			if ((long) BUFFER_LONGS.getAcquire(chunk, offset + RECORD_ID) == 0) {
+				return ~idx;
+			}
+			if (chunk.getLong(offset + RECORD_HASH) == h0 && chunk.getLong(offset + RECORD_HASH + 8) == h1
+					&& chunk.getLong(offset + RECORD_HASH + 16) == h2
+					&& chunk.getLong(offset + RECORD_HASH + 24) == h3) {
+				return idx;
+			}
+			idx = (idx + 1) & mask;
+		}
+	}
+
+}
@@ -23,7 +23,6 @@ import java.net.URLEncoder;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublisher;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Random;
@@ -74,8 +73,6 @@ final class HttpSupport {
 	 */
 	static class MultipartEncoder {
 
-		private static ThreadLocal<Random> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
-
 		private static final String CHARS = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
 
 		private static final int LEN = 28;
@@ -84,16 +81,24 @@ final class HttpSupport {
 		private final String boundary;
 
 		MultipartEncoder(byte[] content) {
-			this(content, RANDOM.get());
+			this(content, RandomSource.getDefault());
 		}
 
 		MultipartEncoder(byte[] content, Random rand) {
+			this(content, RandomSource.of(rand));
+		}
+
+		MultipartEncoder(byte[] content, RandomSource rand) {
 			this.content = content;
 			this.boundary = createBoundary(rand);
 		}
 
-		private static String createBoundary(Random rand) {
-			return new String(rand.ints(LEN, 0, CHARS.length()).map(CHARS::charAt).toArray(), 0, LEN);
+		private static String createBoundary(RandomSource rand) {
+			var chars = new char[LEN];
+			for (int i = 0; i < LEN; i++) {
+				chars[i] = CHARS.charAt(rand.nextInt(CHARS.length()));
+			}
+			return new String(chars);
 		}
 
 		String getContentType() {
@@ -127,12 +132,91 @@ final class HttpSupport {
 
 	}
 
+	/**
+	 * Presized URL encoded form body for parameter values which do not require
+	 * escaping (like IDs or hex strings). The content is written directly into the
+	 * final byte array.
+	 */
+	static class FormBody {
+
+		private final byte[] buffer;
+		private int pos;
+
+		/**
+		 * @param prefix   already encoded parameters
+		 * @param capacity total size of the body in bytes
+		 */
+		FormBody(byte[] prefix, int capacity) {
+			buffer = new byte[capacity];
+			System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+			pos = prefix.length;
+		}
+
+		/**
+		 * Calculates the encoded size of a parameter.
+		 * 
+		 * @param key         parameter key
+		 * @param valueLength length of the value in characters
+		 * @return size in bytes including the separator
+		 */
+		static int size(String key, int valueLength) {
+			return 1 + key.length() + 1 + valueLength;
+		}
+
+		FormBody add(String key, String value) {
+			key(key);
+			for (int i = 0; i < value.length(); i++) {
+				buffer[pos++] = (byte) value.charAt(i);
+			}
+			return this;
+		}
+
+		FormBody addHex(String key, byte[] value) {
+			key(key);
+			pos = ByteArrayValue.toHex(value, buffer, pos);
+			return this;
+		}
+
+		private void key(String key) {
+			if (pos > 0) {
+				buffer[pos++] = '&';
+			}
+			for (int i = 0; i < key.length(); i++) {
+				buffer[pos++] = (byte) key.charAt(i);
+			}
+			buffer[pos++] = '=';
+		}
+
+		byte[] toByteArray() {
+			if (pos != buffer.length) {
+				throw new IllegalStateException("Unexpected body size: " + pos);
+			}
+			return buffer;
+		}
+
+		BodyPublisher toBody() {
+			return HttpRequest.BodyPublishers.ofByteArray(toByteArray());
+		}
+
+	}
+
 	/**
 	 * Holder and encoder for URL parameters.
 	 */
 	static class UrlParams {
 
-		private final StringBuilder buffer = new StringBuilder();
+		private final StringBuilder buffer;
+
+		UrlParams() {
+			this("");
+		}
+
+		/**
+		 * @param encoded already encoded parameters
+		 */
+		UrlParams(String encoded) {
+			buffer = new StringBuilder(encoded);
+		}
 
 		UrlParams add(String key, String value) {
 			if (buffer.length() > 0) {
@@ -154,6 +238,21 @@ final class HttpSupport {
 		}
 	}
 
+	/**
+	 * Returns the length of the given response body without trailing white
+	 * spaces.
+	 * 
+	 * @param body response body
+	 * @return length without trailing white spaces
+	 */
+	static int trimmedLength(byte[] body) {
+		int len = body.length;
+		while (len > 0 && body[len - 1] <= ' ') {
+			len--;
+		}
+		return len;
+	}
+
 	/**
 	 * Decodes URL encoded parameters.
 	 * 
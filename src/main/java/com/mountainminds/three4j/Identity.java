@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.security.PrivateKey;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Gateway identity consisting of the Threema ID, the API secret and the
+ * private key for end-to-end encryption. The corresponding public key is
+ * calculated once and shared keys with other parties are cached, so repeated
+ * encryption and decryption with the same party avoids the expensive key
+ * agreement. Instances are thread safe.
+ * 
+ * <pre>
+ * var identity = new Identity(ThreemaId.of("*MYID123"), secret, privateKey);
+ * var gw = new Gateway(identity);
+ * </pre>
+ */
+public final class Identity {
+
+	private static final int SHARED_KEY_CACHE_LIMIT = 4096;
+
+	private final ThreemaId id;
+	private final String secret;
+	private final PrivateKey privateKey;
+	private final RawPublicKey publicKey;
+
+	private final ConcurrentHashMap<RawPublicKey, SecretKey> sharedKeys = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new identity.
+	 * 
+	 * @param id         Threema ID of the gateway identity (*XXXXXXX)
+	 * @param secret     API secret as obtained from the management console
+	 * @param privateKey private key of the gateway identity
+	 */
+	public Identity(ThreemaId id, String secret, PrivateKey privateKey) {
+		this.id = id;
+		this.secret = secret;
+		this.privateKey = privateKey;
+		this.publicKey = RawPublicKey.of(KeyEncoder.getPublicKey(privateKey));
+	}
+
+	/**
+	 * @return Threema ID of this identity
+	 */
+	public ThreemaId getId() {
+		return id;
+	}
+
+	String getSecret() {
+		return secret;
+	}
+
+	/**
+	 * @return private key of this identity
+	 */
+	public PrivateKey getPrivateKey() {
+		return privateKey;
+	}
+
+	/**
+	 * @return public key of this identity
+	 */
+	public RawPublicKey getPublicKey() {
+		return publicKey;
+	}
+
+	/**
+	 * Returns the shared key for encryption between this identity and the
+	 * party with the given public key.
+	 * 
+	 * @param other public key of the other party
+	 * @return shared secret key
+	 */
+	SecretKey getSharedKey(RawPublicKey other) {
+		var key = sharedKeys.get(other);
+		if (key == null) {
+			key = CryptoProvider.getDefault().agree(privateKey, other.toPublicKey());
+			// Simple bound which avoids any bookkeeping on cache hits
+			if (sharedKeys.size() >= SHARED_KEY_CACHE_LIMIT) {
+				sharedKeys.clear();
+			}
+			sharedKeys.put(other, key);
+		}
+		return key;
+	}
+
+	/**
+	 * Creates the QR code text to exchange the Threema ID and public key of
+	 * this identity.
+	 * 
+	 * @return QR code text
+	 * @see KeyEncoder#qrcode(ThreemaId, RawPublicKey)
+	 */
+	public String qrcode() {
+		return KeyEncoder.qrcode(id, publicKey);
+	}
+
+	@Override
+	public String toString() {
+		return "Identity[" + id.getValue() + "]";
+	}
+
+}
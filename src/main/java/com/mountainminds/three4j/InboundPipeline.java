@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel processing of incoming callbacks. Callbacks are partitioned by their
+ * sender into a fixed number of lanes. Every lane has its own bounded queue and
+ * a single thread which resolves the sender's public key, decrypts and decodes
+ * the message and finally passes it to the {@link Receiver}. Messages of
+ * different senders are processed in parallel while messages of the same
+ * sender are always delivered in the order they have been submitted.
+ * <p>
+ * The pipeline can be directly used as a handler for a {@link CallbackServer}.
+ * To preserve the order of callbacks the server must call the pipeline on its
+ * request threads, i.e. before the callback is acknowledged to the gateway.
+ * This is configured with the executor <code>Runnable::run</code>. If a lane
+ * queue is full {@link #handle(GatewayCallback)} rejects the callback, which
+ * makes the callback server answer with status 503.
+ * 
+ * <pre>
+ * var pipeline = new InboundPipeline(identity, id -&gt; RawPublicKey.of(gw.getPublicKey(id)), receiver);
+ * var server = new CallbackServer(address, secret, pipeline);
+ * server.setExecutor(Runnable::run);
+ * </pre>
+ */
+public final class InboundPipeline implements CallbackServer.Handler, AutoCloseable {
+
+	/**
+	 * Source for public keys of senders.
+	 */
+	@FunctionalInterface
+	public interface KeyResolver {
+
+		/**
+		 * @param id Threema ID of the sender
+		 * @return public key of the sender
+		 * @throws IOException if the key cannot be retrieved
+		 */
+		RawPublicKey getPublicKey(ThreemaId id) throws IOException;
+
+	}
+
+	/**
+	 * Receiver for decrypted messages. Methods are called from the lane threads.
+	 */
+	@FunctionalInterface
+	public interface Receiver {
+
+		/**
+		 * Called for every successfully decrypted message.
+		 * 
+		 * @param callback original callback
+		 * @param message  decrypted message
+		 */
+		void receive(GatewayCallback callback, PlainMessage message);
+
+		/**
+		 * Called if the message cannot be processed, e.g. because the key cannot be
+		 * resolved or decryption fails. The default implementation ignores the
+		 * failure, failures are always counted in the statistics.
+		 * 
+		 * @param callback  original callback
+		 * @param exception cause of the failure
+		 */
+		default void failed(GatewayCallback callback, Exception exception) {
+		}
+
+	}
+
+	/**
+	 * Processing stages with individual latency statistics.
+	 */
+	public enum Stage {
+
+		/** Time between submission and start of processing */
+		QUEUE,
+
+		/** Key resolution, decryption and decoding */
+		DECRYPT,
+
+		/** Call of the receiver */
+		DELIVER
+
+	}
+
+	private static final int DEFAULT_LANE_CAPACITY = 1024;
+
+	private static final Entry STOP = new Entry(null);
+
+	private final Identity identity;
+	private final KeyResolver keys;
+	private final Receiver receiver;
+
+	private final Lane[] lanes;
+
+	private final LatencyStatistics[] stages = new LatencyStatistics[Stage.values().length];
+	private final LongAdder failed = new LongAdder();
+
+	private volatile GatewayListener listener;
+
+	/**
+	 * Creates a pipeline with one lane per available processor.
+	 * 
+	 * @param identity receiver identity
+	 * @param keys     source for public keys of senders
+	 * @param receiver receiver of decrypted messages
+	 */
+	public InboundPipeline(Identity identity, KeyResolver keys, Receiver receiver) {
+		this(identity, keys, receiver, Runtime.getRuntime().availableProcessors(), DEFAULT_LANE_CAPACITY);
+	}
+
+	/**
+	 * Creates a pipeline with the given number of lanes.
+	 * 
+	 * @param identity     receiver identity
+	 * @param keys         source for public keys of senders
+	 * @param receiver     receiver of decrypted messages
+	 * @param lanes        number of lanes processed in parallel
+	 * @param laneCapacity maximum number of queued callbacks per lane
+	 */
+	public InboundPipeline(Identity identity, KeyResolver keys, Receiver receiver, int lanes, int laneCapacity) {
+		if (lanes < 1) {
+			throw new IllegalArgumentException("Invalid number of lanes: " + lanes);
+		}
+		this.identity = identity;
+		this.keys = keys;
+		this.receiver = receiver;
+		for (int i = 0; i < stages.length; i++) {
+			stages[i] = new LatencyStatistics();
+		}
+		this.lanes = new Lane[lanes];
+		for (int i = 0; i < lanes; i++) {
+			this.lanes[i] = new Lane(i, laneCapacity);
+		}
+	}
+
+	/**
+	 * Sets a listener which is notified about every decrypted message.
+	 * 
+	 * @param listener listener or <code>null</code> to disable
+	 */
+	public void setListener(GatewayListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Submits the given callback for processing. This method never blocks.
+	 * 
+	 * @param callback verified callback
+	 * @throws RejectedExecutionException if the pipeline has been closed or the
+	 *                                    queue of the respective lane is full
+	 */
+	@Override
+	public void handle(GatewayCallback callback) throws RejectedExecutionException {
+		var lane = lanes[laneIndex(callback.getFrom())];
+		var entry = new Entry(callback);
+		synchronized (lane) {
+			if (lane.closed) {
+				throw new RejectedExecutionException("Pipeline closed");
+			}
+			if (!lane.queue.offer(entry)) {
+				throw new RejectedExecutionException("Lane full");
+			}
+		}
+	}
+
+	int laneIndex(ThreemaId sender) {
+		long h = sender.toLong();
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return (int) Math.floorMod(h, lanes.length);
+	}
+
+	private void process(Entry entry) {
+		long dequeued = System.nanoTime();
+		stages[Stage.QUEUE.ordinal()].record(dequeued - entry.enqueued);
+		var callback = entry.callback;
+		PlainMessage message;
+		try {
+			var key = keys.getPublicKey(callback.getFrom());
+			var l = listener;
+			if (l == null) {
+				message = callback.getMessage().decrypt(key, identity);
+			} else {
+				long start = System.nanoTime();
+				message = callback.getMessage().decrypt(key, identity);
+				l.messageDecrypted(System.nanoTime() - start, callback.getMessage().getValue().length);
+			}
+		} catch (Exception e) {
+			fail(callback, e);
+			return;
+		}
+		long decrypted = System.nanoTime();
+		stages[Stage.DECRYPT.ordinal()].record(decrypted - dequeued);
+		try {
+			receiver.receive(callback, message);
+		} catch (Exception e) {
+			fail(callback, e);
+		}
+		stages[Stage.DELIVER.ordinal()].record(System.nanoTime() - decrypted);
+	}
+
+	private void fail(GatewayCallback callback, Exception exception) {
+		failed.increment();
+		try {
+			receiver.failed(callback, exception);
+		} catch (Throwable t) {
+			// Nothing left to report to, the lane must keep running
+		}
+	}
+
+	/**
+	 * @return number of lanes
+	 */
+	public int getLanes() {
+		return lanes.length;
+	}
+
+	/**
+	 * @return total number of callbacks waiting in all lane queues
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for (var lane : lanes) {
+			depth += lane.queue.size();
+		}
+		return depth;
+	}
+
+	/**
+	 * @param lane lane index
+	 * @return number of callbacks waiting in the given lane
+	 */
+	public int getQueueDepth(int lane) {
+		return lanes[lane].queue.size();
+	}
+
+	/**
+	 * @param stage processing stage
+	 * @return number of callbacks which completed the given stage
+	 */
+	public long getCount(Stage stage) {
+		return stages[stage.ordinal()].getCount();
+	}
+
+	/**
+	 * @param stage processing stage
+	 * @return average latency of the given stage
+	 */
+	public Duration getAverageLatency(Stage stage) {
+		return stages[stage.ordinal()].getAverage();
+	}
+
+	/**
+	 * @param stage processing stage
+	 * @return maximum latency of the given stage
+	 */
+	public Duration getMaxLatency(Stage stage) {
+		return stages[stage.ordinal()].getMax();
+	}
+
+	/**
+	 * @return number of callbacks which could not be processed
+	 */
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	/**
+	 * Stops accepting new callbacks and waits until all queued callbacks have
+	 * been processed.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		for (var lane : lanes) {
+			synchronized (lane) {
+				if (lane.closed) {
+					continue;
+				}
+				lane.closed = true;
+			}
+			lane.queue.put(STOP);
+		}
+		for (var lane : lanes) {
+			lane.thread.join();
+		}
+	}
+
+	private static final class Entry {
+
+		final GatewayCallback callback;
+		final long enqueued = System.nanoTime();
+
+		Entry(GatewayCallback callback) {
+			this.callback = callback;
+		}
+
+	}
+
+	private final class Lane implements Runnable {
+
+		final BlockingQueue<Entry> queue;
+		final Thread thread;
+
+		// Guarded by this lane, so no entry can be added after STOP
+		boolean closed;
+
+		Lane(int index, int capacity) {
+			queue = new ArrayBlockingQueue<>(capacity);
+			thread = new Thread(this, "three4j-inbound-" + index);
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Entry entry;
+				try {
+					entry = queue.take();
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (entry == STOP) {
+					return;
+				}
+				try {
+					process(entry);
+				} catch (Throwable t) {
+					// Errors from the receiver must not stop the lane
+					failed.increment();
+				}
+			}
+		}
+
+	}
+
+}
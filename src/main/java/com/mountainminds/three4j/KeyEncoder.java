@@ -42,7 +42,7 @@ public final class KeyEncoder {
 	 * @return 64 digits hex string
 	 */
 	public static String encode(PublicKey key) {
-		return ByteArrayValue.toHex(reverse(((XECPublicKey) key).getU().toByteArray()));
+		return ByteArrayValue.toHex(getBytes(key));
 	}
 
 	/**
@@ -76,6 +76,16 @@ public final class KeyEncoder {
 		return CryptoBox.publicKey(ByteArrayValue.fromHex(hex));
 	}
 
+	/**
+	 * Decodes a raw public Threema key.
+	 * 
+	 * @param bytes 32 bytes raw key, see {@link RawPublicKey}
+	 * @return public key
+	 */
+	static PublicKey decodePublicKey(byte[] bytes) {
+		return CryptoBox.publicKey(bytes);
+	}
+
 	/**
 	 * Decodes a private Threema key.
 	 * 
@@ -129,15 +139,36 @@ public final class KeyEncoder {
 	 * @return QR code text
 	 */
 	public static String qrcode(ThreemaId threemaid, PublicKey publicKey) {
-		return String.format("3mid:%s,%s", threemaid.getValue(), encode(publicKey));
+		return qrcode(threemaid, RawPublicKey.of(publicKey));
+	}
+
+	/**
+	 * Creates the QR code text to exchange Threema ids.
+	 * 
+	 * @param threemaid 8 character long Threema id
+	 * @param publicKey raw public key
+	 * @return QR code text
+	 * @see #qrcode(ThreemaId, PublicKey)
+	 */
+	public static String qrcode(ThreemaId threemaid, RawPublicKey publicKey) {
+		return "3mid:" + threemaid.getValue() + "," + publicKey.getHexValue();
 	}
 
-	private static byte[] reverse(byte[] array) {
-		var reversed = new byte[array.length];
-		for (int i = array.length, j = 0; --i >= 0; j++) {
-			reversed[i] = array[j];
+	/**
+	 * Returns the raw 32 byte little endian representation of the given public
+	 * key.
+	 * 
+	 * @param publicKey public key
+	 * @return 32 bytes raw key
+	 */
+	static byte[] getBytes(PublicKey publicKey) {
+		var u = ((XECPublicKey) publicKey).getU().toByteArray();
+		var raw = new byte[RawPublicKey.SIZE];
+		// BigInteger is big endian and may contain a leading sign byte
+		for (int i = 0, j = u.length - 1; i < RawPublicKey.SIZE && j >= 0; i++, j--) {
+			raw[i] = u[j];
 		}
-		return reversed;
+		return raw;
 	}
 
 	private static byte[] getBytes(PrivateKey privateKey) {
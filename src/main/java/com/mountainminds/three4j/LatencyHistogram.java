@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds. Values are counted in
+ * log-linear buckets: every power of two is split into 16 sub-buckets, so
+ * reported percentiles have a relative error of at most 6.25%. Recording a
+ * value does not allocate and only updates a few atomic counters, therefore
+ * histograms can be used on hot paths from many threads.
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+
+	/** Buckets for all non-negative long values */
+	static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records the given duration.
+	 * 
+	 * @param nanos duration in nanoseconds, negative values are recorded as 0
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		counts.incrementAndGet(bucket(nanos));
+		sum.add(nanos);
+		if (nanos > max.get()) {
+			max.accumulateAndGet(nanos, Math::max);
+		}
+	}
+
+	/**
+	 * Records the given duration.
+	 * 
+	 * @param duration duration to record
+	 */
+	public void record(Duration duration) {
+		record(duration.toNanos());
+	}
+
+	/**
+	 * Creates a copy of the current state. Values recorded concurrently may or may
+	 * not be included.
+	 * 
+	 * @return new snapshot
+	 */
+	public Snapshot snapshot() {
+		var copy = new long[BUCKETS];
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += copy[i] = counts.get(i);
+		}
+		return new Snapshot(copy, count, sum.sum(), max.get());
+	}
+
+	static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+	}
+
+	static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+		long lower = (long) (SUB_BUCKETS + (bucket & SUB_BUCKET_MASK)) << shift;
+		return lower + ((1L << shift) - 1);
+	}
+
+	/**
+	 * Immutable state of a {@link LatencyHistogram} at a certain point in time.
+	 */
+	public static final class Snapshot {
+
+		private final long[] counts;
+		private final long count;
+		private final long sum;
+		private final long max;
+
+		Snapshot(long[] counts, long count, long sum, long max) {
+			this.counts = counts;
+			this.count = count;
+			this.sum = sum;
+			this.max = max;
+		}
+
+		/**
+		 * @return number of recorded values
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return average of all recorded values
+		 */
+		public Duration getMean() {
+			return Duration.ofNanos(count == 0 ? 0 : sum / count);
+		}
+
+		/**
+		 * @return largest recorded value
+		 */
+		public Duration getMax() {
+			return Duration.ofNanos(max);
+		}
+
+		/**
+		 * Returns the value below or equal to which the given percentage of the
+		 * recorded values fall. The result is the upper bound of the respective
+		 * bucket but never more than the largest recorded value.
+		 * 
+		 * @param percentile percentile between 0 and 100, e.g. 99.9
+		 * @return approximated value or zero if no value was recorded
+		 */
+		public Duration getPercentile(double percentile) {
+			if (!(percentile >= 0 && percentile <= 100)) {
+				throw new IllegalArgumentException("Invalid percentile: " + percentile);
+			}
+			if (count == 0) {
+				return Duration.ZERO;
+			}
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= rank) {
+					return Duration.ofNanos(Math.min(upperBound(i), max));
+				}
+			}
+			return Duration.ofNanos(max);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("count=%s mean=%s p50=%s p99=%s max=%s", count, getMean(), getPercentile(50),
+					getPercentile(99), getMax());
+		}
+
+	}
+
+}
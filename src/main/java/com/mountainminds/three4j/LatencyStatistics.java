@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe count, average and maximum of recorded durations.
+ */
+final class LatencyStatistics {
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder nanos = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	void record(long duration) {
+		count.increment();
+		nanos.add(duration);
+		if (duration > max.get()) {
+			max.accumulateAndGet(duration, Math::max);
+		}
+	}
+
+	long getCount() {
+		return count.sum();
+	}
+
+	Duration getAverage() {
+		long c = count.sum();
+		return Duration.ofNanos(c == 0 ? 0 : nanos.sum() / c);
+	}
+
+	Duration getMax() {
+		return Duration.ofNanos(max.get());
+	}
+
+}
@@ -13,11 +13,9 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
-import java.io.IOException;
-import java.io.InputStream;
-
 /**
- * Unique 8 byte ID for every message.
+ * Unique 8 byte ID for every message. A message ID can also be represented as a
+ * single <code>long</code> value (see {@link #toLong()}).
  */
 public final class MessageId extends ByteArrayValue {
 
@@ -46,9 +44,36 @@ public final class MessageId extends ByteArrayValue {
 		return of(fromHex(hexvalue));
 	}
 
-	static MessageId read(InputStream in) throws IOException {
-		var id = in.readNBytes(SIZE);
-		return id.length == SIZE ? of(id) : null;
+	/**
+	 * Creates a message id from its <code>long</code> representation as returned
+	 * by {@link #toLong()}.
+	 * 
+	 * @param value message id as <code>long</code>
+	 * @return new message id
+	 */
+	public static MessageId fromLong(long value) {
+		var bytes = new byte[SIZE];
+		for (int i = SIZE; --i >= 0;) {
+			bytes[i] = (byte) value;
+			value >>>= 8;
+		}
+		return of(bytes);
+	}
+
+	/**
+	 * Returns the 8 bytes of this message id as a <code>long</code> value in big
+	 * endian order. The hex representation of the value is identical to
+	 * {@link #getHexValue()}.
+	 * 
+	 * @return message id as <code>long</code>
+	 * @see #fromLong(long)
+	 */
+	public long toLong() {
+		long value = 0;
+		for (var b : getValue()) {
+			value = (value << 8) | (b & 0xff);
+		}
+		return value;
 	}
 
 }
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Space efficient set of hashes known to have no Threema ID. Hashes are kept
+ * in bloom filters with two time based generations: new hashes are added to
+ * the current generation, the older generation is dropped after half of the
+ * re-check interval. Therefore every hash is checked again with the gateway
+ * after at most the re-check interval. Instances are thread safe.
+ * <p>
+ * Due to the nature of bloom filters a hash may be reported as absent although
+ * it has never been added. The probability for this is limited by the
+ * configured false positive rate as long as the number of hashes added within
+ * half of the re-check interval does not exceed the expected number.
+ * 
+ * @see Gateway#setNegativeCache(NegativeCache)
+ */
+public final class NegativeCache {
+
+	private static final int MAGIC = 0x33344a4e;
+
+	// Magic, hash functions, generation length, generation start and words
+	private static final int FILE_HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+
+	// Enough for false positive rates down to 2^-32
+	private static final int MAX_HASH_FUNCTIONS = 32;
+
+	private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private static final VarHandle HASH_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+			ByteOrder.LITTLE_ENDIAN);
+
+	private final int hashFunctions;
+	private final long bitCount;
+	private final long generationMillis;
+	private final Clock clock;
+
+	// [0] is the current generation
+	private volatile long[][] generations;
+	private volatile long generationStart;
+
+	/**
+	 * Creates a new empty cache.
+	 * 
+	 * @param expectedHashes    expected number of absent hashes added within half
+	 *                          of the re-check interval
+	 * @param falsePositiveRate probability that a hash is wrongly reported as
+	 *                          absent, e.g. 0.001
+	 * @param recheckInterval   maximum time after which absent hashes are checked
+	 *                          again
+	 */
+	public NegativeCache(int expectedHashes, double falsePositiveRate, Duration recheckInterval) {
+		this(expectedHashes, falsePositiveRate, recheckInterval, Clock.systemUTC());
+	}
+
+	NegativeCache(int expectedHashes, double falsePositiveRate, Duration recheckInterval, Clock clock) {
+		if (expectedHashes < 1) {
+			throw new IllegalArgumentException("Invalid number of expected hashes: " + expectedHashes);
+		}
+		if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+			throw new IllegalArgumentException("Invalid false positive rate: " + falsePositiveRate);
+		}
+		if (recheckInterval.toMillis() < 2) {
+			throw new IllegalArgumentException("Invalid re-check interval: " + recheckInterval);
+		}
+		// Optimal bloom filter parameters, see
+		// https://en.wikipedia.org/wiki/Bloom_filter#Optimal_number_of_hash_functions
+		double bits = -expectedHashes * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+		long words = Math.max(1, (long) Math.ceil(bits / 64));
+		if (words > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Bloom filter too large: " + (long) bits + " bits");
+		}
+		this.bitCount = words * 64;
+		this.hashFunctions = Math.min(MAX_HASH_FUNCTIONS,
+				Math.max(1, (int) Math.round(bitCount / (double) expectedHashes * Math.log(2))));
+		this.generationMillis = recheckInterval.toMillis() / 2;
+		this.clock = clock;
+		this.generations = new long[][] { new long[(int) words], new long[(int) words] };
+		this.generationStart = clock.millis();
+	}
+
+	private NegativeCache(int hashFunctions, long generationMillis, long generationStart, long[][] generations,
+			Clock clock) {
+		this.hashFunctions = hashFunctions;
+		this.bitCount = generations[0].length * 64L;
+		this.generationMillis = generationMillis;
+		this.clock = clock;
+		this.generations = generations;
+		this.generationStart = generationStart;
+	}
+
+	/**
+	 * Checks whether the given hash is known to have no Threema ID.
+	 * 
+	 * @param hash phone or email hash
+	 * @return <code>true</code> if the hash has been reported absent within the
+	 *         re-check interval (or in rare cases a false positive)
+	 */
+	public boolean contains(Hash hash) {
+		var h = hash.getValue();
+		long h1 = (long) HASH_LONGS.get(h, 0);
+		long h2 = (long) HASH_LONGS.get(h, 8) | 1;
+		for (var bits : currentGenerations()) {
+			if (contains(bits, h1, h2)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean contains(long[] bits, long h1, long h2) {
+		for (int i = 0; i < hashFunctions; i++) {
+			long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+			if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Records the given hash as absent.
+	 * 
+	 * @param hash phone or email hash without Threema ID
+	 */
+	public void add(Hash hash) {
+		var h = hash.getValue();
+		long h1 = (long) HASH_LONGS.get(h, 0);
+		long h2 = (long) HASH_LONGS.get(h, 8) | 1;
+		var bits = currentGenerations()[0];
+		for (int i = 0; i < hashFunctions; i++) {
+			long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+			BITS.getAndBitwiseOr(bits, (int) (bit >>> 6), 1L << bit);
+		}
+	}
+
+	private long[][] currentGenerations() {
+		if (clock.millis() - generationStart >= generationMillis) {
+			rotate();
+		}
+		return generations;
+	}
+
+	private synchronized void rotate() {
+		long now = clock.millis();
+		long elapsed = now - generationStart;
+		if (elapsed < generationMillis) {
+			return;
+		}
+		var previous = generations;
+		int words = previous[0].length;
+		if (elapsed < 2 * generationMillis) {
+			generations = new long[][] { new long[words], previous[0] };
+		} else {
+			generations = new long[][] { new long[words], new long[words] };
+		}
+		generationStart = now - elapsed % generationMillis;
+	}
+
+	/**
+	 * Writes the content of this cache to the given file. The file is replaced
+	 * atomically.
+	 * 
+	 * @param file target file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(Path file) throws IOException {
+		var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (var out = new DataOutputStream(Files.newOutputStream(tmp))) {
+			long[][] g;
+			long start;
+			synchronized (this) {
+				g = generations;
+				start = generationStart;
+			}
+			out.writeInt(MAGIC);
+			out.writeInt(hashFunctions);
+			out.writeLong(generationMillis);
+			out.writeLong(start);
+			out.writeInt(g[0].length);
+			for (var bits : g) {
+				for (var word : bits) {
+					out.writeLong(word);
+				}
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Restores a cache from the given file. Expired generations are dropped.
+	 * 
+	 * @param file file written with {@link #save(Path)}
+	 * @return restored cache
+	 * @throws IOException if the file cannot be read or has an invalid format
+	 */
+	public static NegativeCache load(Path file) throws IOException {
+		return load(file, Clock.systemUTC());
+	}
+
+	static NegativeCache load(Path file, Clock clock) throws IOException {
+		try (var in = new DataInputStream(Files.newInputStream(file))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Invalid file format: " + file);
+			}
+			int hashFunctions = in.readInt();
+			long generationMillis = in.readLong();
+			long generationStart = in.readLong();
+			int words = in.readInt();
+			if (hashFunctions < 1 || hashFunctions > MAX_HASH_FUNCTIONS || generationMillis < 1 || words < 1
+					|| words > (Files.size(file) - FILE_HEADER_SIZE) / 16) {
+				throw new IOException("Invalid file format: " + file);
+			}
+			var generations = new long[2][words];
+			for (var bits : generations) {
+				for (int i = 0; i < words; i++) {
+					bits[i] = in.readLong();
+				}
+			}
+			return new NegativeCache(hashFunctions, generationMillis, generationStart, generations, clock);
+		} catch (EOFException e) {
+			throw new IOException("Invalid file format: " + file, e);
+		}
+	}
+
+}
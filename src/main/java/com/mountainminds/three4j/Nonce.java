@@ -13,8 +13,6 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
-import software.pando.crypto.nacl.Bytes;
-
 /**
  * Nonce (24 bytes) used for every encrypted content.
  */
@@ -46,10 +44,20 @@ public final class Nonce extends ByteArrayValue {
 	}
 
 	/**
-	 * @return new random nonce
+	 * @return new random nonce from the default {@link RandomSource}
 	 */
 	public static Nonce random() {
-		return of(Bytes.secureRandom(SIZE));
+		return random(RandomSource.getDefault());
+	}
+
+	/**
+	 * @param source source for the random bytes
+	 * @return new random nonce
+	 */
+	public static Nonce random(RandomSource source) {
+		var value = new byte[SIZE];
+		source.nextBytes(value);
+		return of(value);
 	}
 
 }
@@ -0,0 +1,631 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static com.mountainminds.three4j.GatewayException.STATUS_BADREQUEST;
+import static com.mountainminds.three4j.GatewayException.STATUS_NOTFOUND;
+import static com.mountainminds.three4j.GatewayException.STATUS_PAYLOADTOOLARGE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Persistent queue for outgoing encrypted messages. Messages are appended to a
+ * log of memory mapped segment files in a directory. Every message is stored
+ * with its receiver and its state, which is updated with the message ID
+ * assigned by the gateway once the message has been sent. When the outbox is
+ * opened again, e.g. after a crash, all messages which have not been marked as
+ * sent are queued again in their original order. Segments where all messages
+ * have been sent are deleted.
+ * <p>
+ * By default appended messages survive a crash of the JVM as they are written
+ * to the page cache of the operating system directly. With
+ * {@link #setSync(boolean)} every {@link #enqueue(ThreemaId, EncryptedMessage)}
+ * also waits until the message has been written to the storage device.
+ * Concurrent callers share a single sync operation (group commit).
+ * <p>
+ * Delivery is at-least-once: if the process dies after a message has been sent
+ * but before it has been marked as sent, it is sent again after restart.
+ * Messages are consumed by a single sender, either with {@link #peek()} and
+ * {@link #markSent(Entry, MessageId)} or with {@link #drain(Gateway)}.
+ * Messages which are permanently rejected by the gateway, e.g. because of an
+ * invalid receiver, are removed with {@link #markFailed(Entry)} so they do not
+ * block the messages behind them.
+ * 
+ * <pre>
+ * try (var outbox = Outbox.open(directory)) {
+ * 	outbox.enqueue(receiver, message);
+ * 	outbox.drain(gw);
+ * }
+ * </pre>
+ */
+public final class Outbox implements Closeable {
+
+	private static final int MAGIC = 0x33344f42;
+	private static final int VERSION = 1;
+
+	private static final String SUFFIX = ".seg";
+
+	private static final int SEGMENT_MAGIC = 0;
+	private static final int SEGMENT_VERSION = 4;
+	private static final int SEGMENT_SEQUENCE = 8;
+	private static final int SEGMENT_HEADER = 16;
+
+	// Records are 8 byte aligned, the length is written last and marks a
+	// complete record. The CRC covers the immutable payload only.
+	private static final int RECORD_LENGTH = 0;
+	private static final int RECORD_CRC = 4;
+	private static final int RECORD_MESSAGEID = 8;
+	private static final int RECORD_STATE = 16;
+	private static final int RECORD_HEADER = 24;
+
+	private static final int PAYLOAD_TO = 0;
+	private static final int PAYLOAD_NONCE = 8;
+	private static final int PAYLOAD_BOX = PAYLOAD_NONCE + Nonce.SIZE;
+
+	private static final byte STATE_PENDING = 0;
+	private static final byte STATE_SENT = 1;
+	private static final byte STATE_FAILED = 2;
+
+	private static final int MAX_RECORD_SIZE = align(RECORD_HEADER + PAYLOAD_BOX + EncryptedMessage.MAX_CONTENT_LENGTH);
+
+	static final int DEFAULT_SEGMENT_SIZE = 4 << 20;
+
+	/**
+	 * Pending message in the outbox.
+	 */
+	public static final class Entry {
+
+		private final long position;
+		private final ThreemaId to;
+		private final EncryptedMessage message;
+
+		private Entry(long position, ThreemaId to, EncryptedMessage message) {
+			this.position = position;
+			this.to = to;
+			this.message = message;
+		}
+
+		/**
+		 * @return position of this entry in the outbox
+		 */
+		public long getPosition() {
+			return position;
+		}
+
+		/**
+		 * @return receiver of the message
+		 */
+		public ThreemaId getTo() {
+			return to;
+		}
+
+		/**
+		 * @return the encrypted message
+		 */
+		public EncryptedMessage getMessage() {
+			return message;
+		}
+
+	}
+
+	private final Path directory;
+	private final int segmentSize;
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+	private final LongQueue pending = new LongQueue();
+	private final CRC32C crc = new CRC32C();
+
+	private Segment active;
+	private int position;
+	private long appended;
+	private long sent;
+	private long failed;
+	private boolean closed;
+
+	private volatile boolean sync;
+	private volatile long synced;
+	private final Object syncLock = new Object();
+
+	private Outbox(Path directory, int segmentSize) {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * Opens the outbox in the given directory with the default segment size of 4
+	 * MB. The directory is created if it does not exist.
+	 * 
+	 * @param directory directory for the segment files
+	 * @return outbox with all pending messages of the directory
+	 * @throws IOException if the directory cannot be read or contains invalid
+	 *                     segment files
+	 */
+	public static Outbox open(Path directory) throws IOException {
+		return open(directory, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Opens the outbox in the given directory. The directory is created if it
+	 * does not exist.
+	 * 
+	 * @param directory   directory for the segment files
+	 * @param segmentSize size of new segment files in bytes
+	 * @return outbox with all pending messages of the directory
+	 * @throws IOException if the directory cannot be read or contains invalid
+	 *                     segment files
+	 */
+	public static Outbox open(Path directory, int segmentSize) throws IOException {
+		if (segmentSize < SEGMENT_HEADER + MAX_RECORD_SIZE) {
+			throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+		}
+		Files.createDirectories(directory);
+		var outbox = new Outbox(directory, segmentSize);
+		try {
+			outbox.recover();
+		} catch (IOException | RuntimeException e) {
+			outbox.close();
+			throw e;
+		}
+		return outbox;
+	}
+
+	private void recover() throws IOException {
+		var files = new ArrayList<Path>();
+		try (var list = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+			list.forEach(files::add);
+		}
+		files.sort(null);
+		for (var file : files) {
+			var segment = Segment.open(file);
+			segments.put(segment.sequence, segment);
+			position = scan(segment);
+			active = segment;
+		}
+		if (active == null) {
+			active = Segment.create(directory, 1, segmentSize);
+			segments.put(active.sequence, active);
+			position = SEGMENT_HEADER;
+		} else {
+			// Remove incomplete records to make sure subsequent appends are readable
+			for (int i = position; i < active.size; i++) {
+				active.buffer.put(i, (byte) 0);
+			}
+		}
+		for (var segment : new ArrayList<>(segments.values())) {
+			if (segment.pending == 0 && segment != active) {
+				delete(segment);
+			}
+		}
+	}
+
+	private int scan(Segment segment) {
+		var buffer = segment.buffer;
+		int pos = SEGMENT_HEADER;
+		while (pos + RECORD_HEADER <= segment.size) {
+			int length = buffer.getInt(pos + RECORD_LENGTH);
+			if (length <= PAYLOAD_BOX || pos + align(RECORD_HEADER + length) > segment.size
+					|| buffer.getInt(pos + RECORD_CRC) != checksum(segment, pos, length)) {
+				// End of segment or incomplete record
+				break;
+			}
+			if (buffer.get(pos + RECORD_STATE) == STATE_PENDING) {
+				pending.add(position(segment, pos));
+				segment.pending++;
+			}
+			pos += align(RECORD_HEADER + length);
+		}
+		return pos;
+	}
+
+	private int checksum(Segment segment, int pos, int length) {
+		var view = segment.view;
+		view.limit(pos + RECORD_HEADER + length).position(pos + RECORD_HEADER);
+		crc.reset();
+		crc.update(view);
+		view.clear();
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Enables or disables writing every enqueued message to the storage device
+	 * before {@link #enqueue(ThreemaId, EncryptedMessage)} returns. Default is
+	 * <code>false</code>.
+	 * 
+	 * @param sync <code>true</code> to sync every message
+	 */
+	public void setSync(boolean sync) {
+		this.sync = sync;
+	}
+
+	/**
+	 * Appends a message to the outbox.
+	 * 
+	 * @param to      receiver of the message
+	 * @param message encrypted message
+	 * @return position of the new entry
+	 * @throws IOException if a new segment cannot be created or written
+	 */
+	public long enqueue(ThreemaId to, EncryptedMessage message) throws IOException {
+		long entry;
+		long sequence;
+		synchronized (this) {
+			checkOpen();
+			entry = append(to, message);
+			pending.add(entry);
+			active.pending++;
+			sequence = ++appended;
+		}
+		if (sync) {
+			awaitSynced(sequence);
+		}
+		return entry;
+	}
+
+	private long append(ThreemaId to, EncryptedMessage message) throws IOException {
+		var box = message.getValue();
+		int length = PAYLOAD_BOX + box.length;
+		int size = align(RECORD_HEADER + length);
+		if (position + size > active.size) {
+			roll();
+		}
+		var buffer = active.buffer;
+		var view = active.view;
+		int payload = position + RECORD_HEADER;
+		buffer.putLong(payload + PAYLOAD_TO, to.toLong());
+		view.position(payload + PAYLOAD_NONCE);
+		view.put(message.getNonce().getValue());
+		view.put(box);
+		view.clear();
+		buffer.putInt(position + RECORD_CRC, checksum(active, position, length));
+		buffer.putInt(position + RECORD_LENGTH, length);
+		long entry = position(active, position);
+		position += size;
+		return entry;
+	}
+
+	private void roll() throws IOException {
+		var previous = active;
+		if (sync) {
+			previous.buffer.force();
+		}
+		active = Segment.create(directory, previous.sequence + 1, segmentSize);
+		segments.put(active.sequence, active);
+		position = SEGMENT_HEADER;
+		if (previous.pending == 0) {
+			delete(previous);
+		}
+	}
+
+	private void awaitSynced(long sequence) {
+		if (synced >= sequence) {
+			return;
+		}
+		synchronized (syncLock) {
+			// Another thread may have synced our record in the meantime
+			if (synced >= sequence) {
+				return;
+			}
+			long target;
+			MappedByteBuffer buffer;
+			synchronized (this) {
+				target = appended;
+				buffer = active.buffer;
+			}
+			// Earlier segments are forced when rolling over
+			buffer.force();
+			synced = target;
+		}
+	}
+
+	/**
+	 * Returns the oldest pending message without removing it.
+	 * 
+	 * @return oldest pending message or <code>null</code> if there is none
+	 */
+	public synchronized Entry peek() {
+		checkOpen();
+		if (pending.isEmpty()) {
+			return null;
+		}
+		long entry = pending.peek();
+		var segment = segments.get(entry >>> 32);
+		int payload = (int) entry + RECORD_HEADER;
+		int length = segment.buffer.getInt((int) entry + RECORD_LENGTH);
+		var nonce = new byte[Nonce.SIZE];
+		var box = new byte[length - PAYLOAD_BOX];
+		var view = segment.view;
+		view.position(payload + PAYLOAD_NONCE);
+		view.get(nonce);
+		view.get(box);
+		view.clear();
+		var to = ThreemaId.fromLong(segment.buffer.getLong(payload + PAYLOAD_TO));
+		return new Entry(entry, to, new EncryptedMessage(box, Nonce.of(nonce)));
+	}
+
+	/**
+	 * Marks the given entry as sent and removes it from the queue.
+	 * 
+	 * @param entry     entry as returned by {@link #peek()}
+	 * @param messageId ID assigned to the message by the gateway
+	 * @throws IllegalStateException if the given entry is not the oldest pending
+	 *                               entry
+	 */
+	public synchronized void markSent(Entry entry, MessageId messageId) throws IllegalStateException {
+		remove(entry, messageId.toLong(), STATE_SENT);
+		sent++;
+	}
+
+	/**
+	 * Marks the given entry as failed and removes it from the queue. This is
+	 * intended for messages which can never be sent, e.g. because the gateway
+	 * rejects the receiver.
+	 * 
+	 * @param entry entry as returned by {@link #peek()}
+	 * @throws IllegalStateException if the given entry is not the oldest pending
+	 *                               entry
+	 */
+	public synchronized void markFailed(Entry entry) throws IllegalStateException {
+		remove(entry, 0, STATE_FAILED);
+		failed++;
+	}
+
+	private void remove(Entry entry, long messageId, byte state) {
+		checkOpen();
+		if (pending.isEmpty() || pending.peek() != entry.position) {
+			throw new IllegalStateException("Not the oldest pending entry");
+		}
+		pending.poll();
+		var segment = segments.get(entry.position >>> 32);
+		int offset = (int) entry.position;
+		segment.buffer.putLong(offset + RECORD_MESSAGEID, messageId);
+		segment.buffer.put(offset + RECORD_STATE, state);
+		if (--segment.pending == 0 && segment != active) {
+			delete(segment);
+		}
+	}
+
+	/**
+	 * Sends all pending messages in their order with the given gateway. Messages
+	 * which are rejected by the gateway with status 400 (invalid receiver), 404
+	 * or 413 (message too long) are marked as failed. If sending fails for other
+	 * reasons the remaining messages stay in the outbox.
+	 * 
+	 * @param gateway gateway to send the messages
+	 * @return number of sent messages
+	 * @throws GatewayException when the Gateway reports an error status which
+	 *                          does not relate to a specific message
+	 * @throws IOException      when a technical communication problem occurs
+	 */
+	public int drain(Gateway gateway) throws GatewayException, IOException {
+		return drain(gateway::sendMessage);
+	}
+
+	int drain(SendScheduler.Sender sender) throws IOException {
+		int count = 0;
+		Entry entry;
+		while ((entry = peek()) != null) {
+			MessageId messageId;
+			try {
+				messageId = sender.send(entry.getTo(), entry.getMessage());
+			} catch (GatewayException e) {
+				if (!isPermanent(e.getStatus())) {
+					throw e;
+				}
+				markFailed(entry);
+				continue;
+			}
+			markSent(entry, messageId);
+			count++;
+		}
+		return count;
+	}
+
+	private static boolean isPermanent(int status) {
+		return status == STATUS_BADREQUEST || status == STATUS_NOTFOUND || status == STATUS_PAYLOADTOOLARGE;
+	}
+
+	/**
+	 * Returns the message ID of an entry which has been sent. IDs are only
+	 * available until the segment of the entry has been deleted.
+	 * 
+	 * @param entry position of the entry
+	 * @return message ID or <code>null</code> if the entry is pending, has failed
+	 *         or is not available any more
+	 */
+	public synchronized MessageId getMessageId(long entry) {
+		checkOpen();
+		var segment = segments.get(entry >>> 32);
+		if (segment == null || segment.buffer.get((int) entry + RECORD_STATE) != STATE_SENT) {
+			return null;
+		}
+		return MessageId.fromLong(segment.buffer.getLong((int) entry + RECORD_MESSAGEID));
+	}
+
+	/**
+	 * @return number of pending messages
+	 */
+	public synchronized int getPending() {
+		return pending.size();
+	}
+
+	/**
+	 * @return number of messages marked as sent since the outbox was opened
+	 */
+	public synchronized long getSent() {
+		return sent;
+	}
+
+	/**
+	 * @return number of messages marked as failed since the outbox was opened
+	 */
+	public synchronized long getFailed() {
+		return failed;
+	}
+
+	/**
+	 * @return number of segment files
+	 */
+	public synchronized int getSegments() {
+		return segments.size();
+	}
+
+	private void delete(Segment segment) {
+		segments.remove(segment.sequence);
+		try {
+			segment.channel.close();
+			Files.deleteIfExists(segment.file);
+		} catch (IOException e) {
+			// Some platforms do not allow deleting mapped files, the segment is
+			// deleted when the outbox is opened the next time
+		}
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Outbox closed");
+		}
+	}
+
+	/**
+	 * Writes all segments to the storage device and closes the files.
+	 * 
+	 * @throws IOException if the files cannot be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (var segment : segments.values()) {
+			segment.buffer.force();
+			segment.channel.close();
+		}
+	}
+
+	private static long position(Segment segment, int offset) {
+		return (segment.sequence << 32) | offset;
+	}
+
+	private static int align(int size) {
+		return (size + 7) & ~7;
+	}
+
+	private static final class Segment {
+
+		final Path file;
+		final long sequence;
+		final FileChannel channel;
+		final MappedByteBuffer buffer;
+		final ByteBuffer view;
+		final int size;
+		int pending;
+
+		private Segment(Path file, long sequence, FileChannel channel, int size) throws IOException {
+			this.file = file;
+			this.sequence = sequence;
+			this.channel = channel;
+			this.size = size;
+			this.buffer = channel.map(MapMode.READ_WRITE, 0, size);
+			this.view = buffer.duplicate();
+		}
+
+		static Segment create(Path directory, long sequence, int size) throws IOException {
+			var file = directory.resolve(String.format("%016x", sequence) + SUFFIX);
+			var channel = FileChannel.open(file, CREATE_NEW, READ, WRITE);
+			var segment = new Segment(file, sequence, channel, size);
+			segment.buffer.putInt(SEGMENT_MAGIC, MAGIC);
+			segment.buffer.putInt(SEGMENT_VERSION, VERSION);
+			segment.buffer.putLong(SEGMENT_SEQUENCE, sequence);
+			return segment;
+		}
+
+		static Segment open(Path file) throws IOException {
+			var channel = FileChannel.open(file, READ, WRITE);
+			try {
+				long size = channel.size();
+				if (size < SEGMENT_HEADER || size > Integer.MAX_VALUE) {
+					throw new IOException("Invalid outbox segment: " + file);
+				}
+				var header = channel.map(MapMode.READ_ONLY, 0, SEGMENT_HEADER);
+				long sequence = header.getLong(SEGMENT_SEQUENCE);
+				var name = String.format("%016x", sequence) + SUFFIX;
+				if (header.getInt(SEGMENT_MAGIC) != MAGIC || header.getInt(SEGMENT_VERSION) != VERSION
+						|| sequence <= 0 || !name.equals(file.getFileName().toString())) {
+					throw new IOException("Invalid outbox segment: " + file);
+				}
+				return new Segment(file, sequence, channel, (int) size);
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		}
+
+	}
+
+	/**
+	 * Minimal FIFO queue of primitive <code>long</code> values.
+	 */
+	private static final class LongQueue {
+
+		private long[] values = new long[64];
+		private int head;
+		private int size;
+
+		void add(long value) {
+			if (size == values.length) {
+				var grown = new long[size * 2];
+				for (int i = 0; i < size; i++) {
+					grown[i] = values[(head + i) % values.length];
+				}
+				values = grown;
+				head = 0;
+			}
+			values[(head + size++) % values.length] = value;
+		}
+
+		long peek() {
+			return values[head];
+		}
+
+		long poll() {
+			long value = values[head];
+			head = (head + 1) % values.length;
+			size--;
+			return value;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		int size() {
+			return size;
+		}
+
+	}
+
+}
@@ -18,7 +18,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.security.SecureRandom;
 import java.util.Random;
 
 /**
@@ -26,21 +25,23 @@ import java.util.Random;
  */
 class PaddedBuffer extends DataOutputStream {
 
-	private static ThreadLocal<Random> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
-
 	private static final int MSG_LEN_MIN = 32;
 	private static final int PAD_LEN_MIN = 1;
 	private static final int PAD_LEN_MAX = 255;
 
-	private final Random random;
+	private final RandomSource random;
 
-	PaddedBuffer(Random random) {
+	PaddedBuffer(RandomSource random) {
 		super(new ByteArrayOutputStream());
 		this.random = random;
 	}
 
+	PaddedBuffer(Random random) {
+		this(RandomSource.of(random));
+	}
+
 	PaddedBuffer() {
-		this(RANDOM.get());
+		this(RandomSource.getDefault());
 	}
 
 	byte[] withPadding() throws IOException {
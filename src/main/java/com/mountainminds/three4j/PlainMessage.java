@@ -21,15 +21,13 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.security.PrivateKey;
 import java.security.PublicKey;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
 import javax.crypto.SecretKey;
 
 import com.google.gson.Gson;
 
-import software.pando.crypto.nacl.CryptoBox;
-
 /**
  * A unencrypted Threema message. There is a subclasses for each message type.
  */
@@ -43,8 +41,42 @@ public abstract class PlainMessage {
 	public abstract int getType();
 
 	public EncryptedMessage encrypt(PrivateKey privateKey, PublicKey publicKey) {
-		var box = CryptoBox.encrypt(privateKey, publicKey, encode());
-		return new EncryptedMessage(box.getCiphertextWithTag(), Nonce.of(box.getNonce()));
+		var event = FlightRecorderEvents.startMessageCrypto();
+		var nonce = Nonce.random();
+		var box = CryptoProvider.getDefault().encrypt(privateKey, publicKey, nonce.getValue(), encode());
+		if (event != null) {
+			event.commit(FlightRecorderEvents.ENCRYPT, getType(), box.length);
+		}
+		return new EncryptedMessage(box, nonce);
+	}
+
+	/**
+	 * Encrypts this message for the receiver with the given raw public key.
+	 * 
+	 * @param privateKey private key of the sender
+	 * @param publicKey  raw public key of the receiver
+	 * @return encrypted message
+	 */
+	public EncryptedMessage encrypt(PrivateKey privateKey, RawPublicKey publicKey) {
+		return encrypt(privateKey, publicKey.toPublicKey());
+	}
+
+	/**
+	 * Encrypts this message for the receiver with the given raw public key using
+	 * the cached shared key of the sender identity.
+	 * 
+	 * @param sender    sender identity
+	 * @param publicKey raw public key of the receiver
+	 * @return encrypted message
+	 */
+	public EncryptedMessage encrypt(Identity sender, RawPublicKey publicKey) {
+		var event = FlightRecorderEvents.startMessageCrypto();
+		var nonce = Nonce.random();
+		var box = CryptoProvider.getDefault().encrypt(sender.getSharedKey(publicKey), nonce.getValue(), encode());
+		if (event != null) {
+			event.commit(FlightRecorderEvents.ENCRYPT, getType(), box.length);
+		}
+		return new EncryptedMessage(box, nonce);
 	}
 
 	private final byte[] encode() {
@@ -434,20 +466,31 @@ public abstract class PlainMessage {
 		public static final int TYPE = 0x80;
 
 		private final ReceiptType receiptType;
-		private final List<MessageId> messageIds;
+		private final long[] messageIds;
 
 		private DeliveryReceipt(DataInputStream in) throws IOException {
 			receiptType = ReceiptType.values()[in.read()];
-			messageIds = new ArrayList<>();
-			MessageId id;
-			while ((id = MessageId.read(in)) != null) {
-				messageIds.add(id);
+			messageIds = new long[in.available() / MessageId.SIZE];
+			for (int i = 0; i < messageIds.length; i++) {
+				messageIds[i] = in.readLong();
 			}
 		}
 
 		public DeliveryReceipt(ReceiptType receiptType, List<MessageId> messageIds) {
+			this(receiptType, messageIds.stream().mapToLong(MessageId::toLong).toArray());
+		}
+
+		/**
+		 * Creates a receipt for message IDs in their <code>long</code>
+		 * representation.
+		 * 
+		 * @param receiptType type of receipt
+		 * @param messageIds  message IDs as returned by {@link MessageId#toLong()}
+		 * @see MessageId#toLong()
+		 */
+		public DeliveryReceipt(ReceiptType receiptType, long... messageIds) {
 			this.receiptType = receiptType;
-			this.messageIds = messageIds;
+			this.messageIds = messageIds.clone();
 		}
 
 		@Override
@@ -459,15 +502,38 @@ public abstract class PlainMessage {
 			return receiptType;
 		}
 
+		/**
+		 * @return unmodifiable list of message IDs, the individual
+		 *         {@link MessageId} instances are created on access
+		 */
 		public List<MessageId> getMessageIds() {
-			return messageIds;
+			return new AbstractList<MessageId>() {
+				@Override
+				public MessageId get(int index) {
+					return MessageId.fromLong(messageIds[index]);
+				}
+
+				@Override
+				public int size() {
+					return messageIds.length;
+				}
+			};
+		}
+
+		/**
+		 * @return copy of the message IDs in their <code>long</code>
+		 *         representation
+		 * @see MessageId#fromLong(long)
+		 */
+		public long[] getMessageIdValues() {
+			return messageIds.clone();
 		}
 
 		@Override
 		void encode(DataOutputStream out) throws IOException {
 			out.write(receiptType.ordinal());
 			for (var id : messageIds) {
-				out.write(id.getValue());
+				out.writeLong(id);
 			}
 		}
 
@@ -476,7 +542,7 @@ public abstract class PlainMessage {
 			var sb = new StringBuilder("DeliveryReceipt[");
 			sb.append(receiptType);
 			for (var id : messageIds) {
-				sb.append(", ").append(id.getHexValue());
+				sb.append(", ").append(MessageId.fromLong(id).getHexValue());
 			}
 			sb.append("]");
 			return sb.toString();
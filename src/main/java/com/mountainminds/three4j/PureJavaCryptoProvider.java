@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+
+import javax.crypto.KeyAgreement;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * {@link CryptoProvider} with a pure Java implementation of XSalsa20 and
+ * Poly1305. Key agreement uses the X25519 implementation of the JDK. Every
+ * thread reuses its own engine, so only the result arrays are allocated. Byte
+ * buffers are processed without intermediate copies of the content.
+ */
+final class PureJavaCryptoProvider implements CryptoProvider {
+
+	static final PureJavaCryptoProvider INSTANCE = new PureJavaCryptoProvider();
+
+	// Same algorithm name as salty-coffee keys, so keys are interchangeable
+	private static final String KEY_ALGORITHM = "XSalsa20-Poly1305";
+
+	private static final int CHUNK_SIZE = 256;
+
+	private static final ThreadLocal<Engine> ENGINE = ThreadLocal.withInitial(Engine::new);
+
+	private static final class Engine {
+		final XSalsa20Poly1305 cipher = new XSalsa20Poly1305();
+		final byte[] tag = new byte[XSalsa20Poly1305.TAG_SIZE];
+		final byte[] chunk = new byte[CHUNK_SIZE];
+	}
+
+	private PureJavaCryptoProvider() {
+	}
+
+	@Override
+	public SecretKey agree(PrivateKey privateKey, PublicKey publicKey) {
+		byte[] shared;
+		try {
+			var agreement = KeyAgreement.getInstance("XDH");
+			agreement.init(privateKey);
+			agreement.doPhase(publicKey, true);
+			shared = agreement.generateSecret();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalArgumentException("Invalid key", e);
+		}
+		var words = new int[8];
+		XSalsa20Poly1305.hsalsa20(shared, new byte[16], 0, words);
+		Arrays.fill(shared, (byte) 0);
+		var key = new byte[XSalsa20Poly1305.KEY_SIZE];
+		for (int i = 0; i < words.length; i++) {
+			key[4 * i] = (byte) words[i];
+			key[4 * i + 1] = (byte) (words[i] >>> 8);
+			key[4 * i + 2] = (byte) (words[i] >>> 16);
+			key[4 * i + 3] = (byte) (words[i] >>> 24);
+		}
+		return new SecretKeySpec(key, KEY_ALGORITHM);
+	}
+
+	@Override
+	public byte[] encrypt(SecretKey key, byte[] nonce, byte[] plaintext) {
+		var engine = init(key, nonce);
+		int len = plaintext.length;
+		var box = new byte[OVERHEAD + len];
+		engine.cipher.crypt(plaintext, 0, box, OVERHEAD, len);
+		engine.cipher.mac(box, OVERHEAD, len);
+		engine.cipher.macFinal(box, 0);
+		return box;
+	}
+
+	@Override
+	public byte[] decrypt(SecretKey key, byte[] nonce, byte[] box) throws IllegalArgumentException {
+		int len = checkBoxLength(box.length);
+		var engine = init(key, nonce);
+		engine.cipher.mac(box, OVERHEAD, len);
+		verify(engine, box, 0);
+		var plaintext = new byte[len];
+		engine.cipher.crypt(box, OVERHEAD, plaintext, 0, len);
+		return plaintext;
+	}
+
+	@Override
+	public void encrypt(SecretKey key, byte[] nonce, ByteBuffer source, ByteBuffer target) {
+		int len = source.remaining();
+		if (target.remaining() < OVERHEAD + len) {
+			throw new IllegalArgumentException("Target buffer too small");
+		}
+		var engine = init(key, nonce);
+		var cipher = engine.cipher;
+		if (source.hasArray() && target.hasArray() && !target.isReadOnly()) {
+			var out = target.array();
+			int outOff = target.arrayOffset() + target.position();
+			cipher.crypt(source.array(), source.arrayOffset() + source.position(), out, outOff + OVERHEAD, len);
+			cipher.mac(out, outOff + OVERHEAD, len);
+			cipher.macFinal(out, outOff);
+			source.position(source.limit());
+			target.position(target.position() + OVERHEAD + len);
+		} else {
+			int start = target.position();
+			target.position(start + OVERHEAD);
+			var chunk = engine.chunk;
+			while (source.hasRemaining()) {
+				int n = Math.min(CHUNK_SIZE, source.remaining());
+				source.get(chunk, 0, n);
+				cipher.crypt(chunk, 0, chunk, 0, n);
+				cipher.mac(chunk, 0, n);
+				target.put(chunk, 0, n);
+			}
+			cipher.macFinal(engine.tag, 0);
+			for (int i = 0; i < OVERHEAD; i++) {
+				target.put(start + i, engine.tag[i]);
+			}
+		}
+	}
+
+	@Override
+	public void decrypt(SecretKey key, byte[] nonce, ByteBuffer source, ByteBuffer target)
+			throws IllegalArgumentException {
+		int len = checkBoxLength(source.remaining());
+		if (target.remaining() < len) {
+			throw new IllegalArgumentException("Target buffer too small");
+		}
+		// Calculated upfront as source and target may be the same instance
+		int targetEnd = target.position() + len;
+		var engine = init(key, nonce);
+		var cipher = engine.cipher;
+		if (source.hasArray() && target.hasArray() && !target.isReadOnly()) {
+			var in = source.array();
+			int inOff = source.arrayOffset() + source.position();
+			cipher.mac(in, inOff + OVERHEAD, len);
+			verify(engine, in, inOff);
+			cipher.crypt(in, inOff + OVERHEAD, target.array(), target.arrayOffset() + target.position(), len);
+		} else {
+			// First pass authenticates, second pass decrypts
+			var chunk = engine.chunk;
+			var box = source.duplicate();
+			box.get(chunk, 0, OVERHEAD);
+			var expected = Arrays.copyOf(chunk, OVERHEAD);
+			while (box.hasRemaining()) {
+				int n = Math.min(CHUNK_SIZE, box.remaining());
+				box.get(chunk, 0, n);
+				cipher.mac(chunk, 0, n);
+			}
+			verify(engine, expected, 0);
+			init(key, nonce);
+			box.position(source.position() + OVERHEAD);
+			var out = target.duplicate();
+			while (box.hasRemaining()) {
+				int n = Math.min(CHUNK_SIZE, box.remaining());
+				box.get(chunk, 0, n);
+				cipher.crypt(chunk, 0, chunk, 0, n);
+				out.put(chunk, 0, n);
+			}
+		}
+		source.position(source.limit());
+		target.position(targetEnd);
+	}
+
+	private static Engine init(SecretKey key, byte[] nonce) {
+		var keyBytes = key.getEncoded();
+		if (keyBytes == null || keyBytes.length != XSalsa20Poly1305.KEY_SIZE) {
+			throw new IllegalArgumentException("invalid key");
+		}
+		if (nonce.length != XSalsa20Poly1305.NONCE_SIZE) {
+			throw new IllegalArgumentException("invalid nonce");
+		}
+		var engine = ENGINE.get();
+		engine.cipher.init(keyBytes, nonce);
+		Arrays.fill(keyBytes, (byte) 0);
+		return engine;
+	}
+
+	private static int checkBoxLength(int length) {
+		if (length < OVERHEAD) {
+			throw new IllegalArgumentException("invalid box");
+		}
+		return length - OVERHEAD;
+	}
+
+	private static void verify(Engine engine, byte[] expected, int offset) {
+		engine.cipher.macFinal(engine.tag, 0);
+		// Constant time comparison
+		int diff = 0;
+		for (int i = 0; i < OVERHEAD; i++) {
+			diff |= engine.tag[i] ^ expected[offset + i];
+		}
+		if (diff != 0) {
+			throw new IllegalArgumentException("authentication failed");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "pure-java";
+	}
+
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.security.SecureRandom;
+import java.util.Random;
+
+/**
+ * Source of random bytes for nonces, message padding and multipart
+ * boundaries. The default implementation is a per-thread deterministic random
+ * bit generator based on ChaCha20 which is seeded from {@link SecureRandom}.
+ * Long-term keys are not created with this source.
+ * 
+ * @see #setDefault(RandomSource)
+ */
+public interface RandomSource {
+
+	/**
+	 * Fills the given array with random bytes.
+	 * 
+	 * @param bytes target array
+	 */
+	void nextBytes(byte[] bytes);
+
+	/**
+	 * Returns a uniformly distributed value between 0 (inclusive) and the given
+	 * bound (exclusive).
+	 * 
+	 * @param bound upper bound, must be positive
+	 * @return random value
+	 */
+	default int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Invalid bound: " + bound);
+		}
+		var bytes = new byte[4];
+		// Reject values from the incomplete last range to avoid bias
+		int limit = Integer.MAX_VALUE - (Integer.MAX_VALUE % bound);
+		while (true) {
+			nextBytes(bytes);
+			int value = ((bytes[0] & 0x7f) << 24) | ((bytes[1] & 0xff) << 16) | ((bytes[2] & 0xff) << 8)
+					| (bytes[3] & 0xff);
+			if (value < limit) {
+				return value % bound;
+			}
+		}
+	}
+
+	/**
+	 * Adapter for {@link Random} instances, e.g. {@link SecureRandom}.
+	 * 
+	 * @param random random instance to use
+	 * @return random source backed by the given instance
+	 */
+	static RandomSource of(Random random) {
+		return new RandomSource() {
+			@Override
+			public void nextBytes(byte[] bytes) {
+				random.nextBytes(bytes);
+			}
+
+			@Override
+			public int nextInt(int bound) {
+				return random.nextInt(bound);
+			}
+		};
+	}
+
+	/**
+	 * @return random source used by this library
+	 */
+	static RandomSource getDefault() {
+		return DrbgRandomSource.current;
+	}
+
+	/**
+	 * Replaces the random source used by this library for nonces, message
+	 * padding and multipart boundaries.
+	 * 
+	 * @param source new random source, <code>null</code> to restore the built-in
+	 *               default
+	 */
+	static void setDefault(RandomSource source) {
+		DrbgRandomSource.current = source == null ? DrbgRandomSource.INSTANCE : source;
+	}
+
+}
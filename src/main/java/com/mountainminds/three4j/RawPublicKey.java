@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.security.PublicKey;
+
+/**
+ * Public Threema key in its raw 32 byte representation. Compared to
+ * {@link PublicKey} instances this is a compact value which can be created
+ * from hex strings or bytes without any decoding. The corresponding
+ * {@link PublicKey} is only created when needed for cryptographic operations.
+ */
+public final class RawPublicKey extends ByteArrayValue {
+
+	/**
+	 * Number of bytes of a public key.
+	 */
+	public static final int SIZE = 32;
+
+	// Lazily created, races are benign as the keys are always identical
+	private PublicKey key;
+
+	private RawPublicKey(byte[] value) {
+		super(value, SIZE);
+	}
+
+	/**
+	 * @param value 32 bytes
+	 * @return new raw public key
+	 */
+	public static RawPublicKey of(byte[] value) {
+		return new RawPublicKey(value);
+	}
+
+	/**
+	 * @param hexvalue 64 character hex string
+	 * @return new raw public key
+	 */
+	public static RawPublicKey of(String hexvalue) {
+		return of(fromHex(hexvalue));
+	}
+
+	/**
+	 * @param key public key
+	 * @return raw representation of the given key
+	 */
+	public static RawPublicKey of(PublicKey key) {
+		var raw = of(KeyEncoder.getBytes(key));
+		raw.key = key;
+		return raw;
+	}
+
+	/**
+	 * @return corresponding public key instance
+	 */
+	public PublicKey toPublicKey() {
+		var k = key;
+		if (k == null) {
+			key = k = KeyEncoder.decodePublicKey(getValue());
+		}
+		return k;
+	}
+
+}
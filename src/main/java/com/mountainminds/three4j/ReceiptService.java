@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.mountainminds.three4j.PlainMessage.DeliveryReceipt;
+import com.mountainminds.three4j.PlainMessage.DeliveryReceipt.ReceiptType;
+
+/**
+ * Sends delivery receipts for received messages in batches. Message IDs are
+ * collected per sender and receipt type and sent as a single
+ * {@link DeliveryReceipt} when either the configured window has elapsed since
+ * the first ID of the batch or the maximum batch size is reached. This saves
+ * round trips and credits compared to a separate receipt for every message.
+ * <p>
+ * Receipts are sent from a background thread. Sending is best effort, failed
+ * receipts are counted but not retried. Instances are thread safe.
+ * 
+ * <pre>
+ * var receipts = new ReceiptService(ReceiptService.Sender.of(gw, keys), Duration.ofSeconds(5));
+ * receipts.received(callback.getFrom(), callback.getMessageId());
+ * </pre>
+ */
+public final class ReceiptService implements AutoCloseable {
+
+	/**
+	 * Maximum number of message IDs which fit into a single receipt including
+	 * maximum padding.
+	 */
+	public static final int MAX_MESSAGE_IDS = (EncryptedMessage.MAX_CONTENT_LENGTH - CryptoProvider.OVERHEAD - 2
+			- 255) / MessageId.SIZE;
+
+	/**
+	 * Sends a receipt to its receiver.
+	 */
+	@FunctionalInterface
+	public interface Sender {
+
+		/**
+		 * @param to      receiver of the receipt
+		 * @param receipt receipt to send
+		 * @throws IOException if the receipt cannot be sent
+		 */
+		void send(ThreemaId to, DeliveryReceipt receipt) throws IOException;
+
+		/**
+		 * Creates a sender which encrypts receipts with the identity of the given
+		 * gateway.
+		 * 
+		 * @param gateway gateway with identity
+		 * @param keys    source for public keys of the receivers
+		 * @return sender for the gateway
+		 */
+		static Sender of(Gateway gateway, InboundPipeline.KeyResolver keys) {
+			return (to, receipt) -> gateway.sendMessage(to, keys.getPublicKey(to), receipt);
+		}
+
+	}
+
+	private final Sender sender;
+	private final long windowNanos;
+	private final int maxIds;
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	// Pending batches per receipt type, guarded by this
+	private final List<ThreemaIdMap<Batch>> pending = new ArrayList<>();
+
+	// Guarded by this
+	private boolean closed;
+
+	private final LongAdder receipts = new LongAdder();
+	private final LongAdder messageIds = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+	/**
+	 * Creates a service which sends receipts with up to {@link #MAX_MESSAGE_IDS}
+	 * IDs.
+	 * 
+	 * @param sender sender for receipts
+	 * @param window maximum time a message ID is delayed
+	 */
+	public ReceiptService(Sender sender, Duration window) {
+		this(sender, window, MAX_MESSAGE_IDS);
+	}
+
+	/**
+	 * Creates a service with the given batch limits.
+	 * 
+	 * @param sender sender for receipts
+	 * @param window maximum time a message ID is delayed
+	 * @param maxIds maximum number of IDs per receipt
+	 */
+	public ReceiptService(Sender sender, Duration window, int maxIds) {
+		if (maxIds < 1 || maxIds > MAX_MESSAGE_IDS) {
+			throw new IllegalArgumentException("Invalid batch size: " + maxIds);
+		}
+		this.sender = sender;
+		this.windowNanos = window.toNanos();
+		this.maxIds = maxIds;
+		this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+			var t = new Thread(r, "three4j-receipts");
+			t.setDaemon(true);
+			return t;
+		});
+		// Pending batches are flushed directly on close
+		scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		for (int i = 0; i < ReceiptType.values().length; i++) {
+			pending.add(new ThreemaIdMap<>());
+		}
+	}
+
+	/**
+	 * Acknowledges the given message as received.
+	 * 
+	 * @param from      sender of the message
+	 * @param messageId ID of the message
+	 * @throws RejectedExecutionException if the service has been closed
+	 */
+	public void received(ThreemaId from, MessageId messageId) throws RejectedExecutionException {
+		add(from, ReceiptType.RECEIVED, messageId);
+	}
+
+	/**
+	 * Acknowledges the given message as read.
+	 * 
+	 * @param from      sender of the message
+	 * @param messageId ID of the message
+	 * @throws RejectedExecutionException if the service has been closed
+	 */
+	public void read(ThreemaId from, MessageId messageId) throws RejectedExecutionException {
+		add(from, ReceiptType.READ, messageId);
+	}
+
+	/**
+	 * Adds the given message to the next receipt of the given type.
+	 * 
+	 * @param from      sender of the message
+	 * @param type      receipt type
+	 * @param messageId ID of the message
+	 * @throws RejectedExecutionException if the service has been closed
+	 */
+	public synchronized void add(ThreemaId from, ReceiptType type, MessageId messageId)
+			throws RejectedExecutionException {
+		if (closed) {
+			throw new RejectedExecutionException("Receipt service closed");
+		}
+		var batches = pending.get(type.ordinal());
+		var batch = batches.get(from);
+		if (batch == null) {
+			batch = new Batch(from, type);
+			var b = batch;
+			scheduler.schedule(() -> expire(b), windowNanos, TimeUnit.NANOSECONDS);
+			batches.put(from, batch);
+		}
+		batch.add(messageId.toLong());
+		if (batch.size == maxIds) {
+			batches.remove(from);
+			var b = batch;
+			scheduler.execute(() -> send(b));
+		}
+	}
+
+	private void expire(Batch batch) {
+		synchronized (this) {
+			var batches = pending.get(batch.type.ordinal());
+			if (batches.get(batch.to) != batch) {
+				// Already sent because of its size
+				return;
+			}
+			batches.remove(batch.to);
+		}
+		send(batch);
+	}
+
+	private void send(Batch batch) {
+		var receipt = new DeliveryReceipt(batch.type, Arrays.copyOf(batch.ids, batch.size));
+		try {
+			sender.send(batch.to, receipt);
+			receipts.increment();
+			messageIds.add(batch.size);
+		} catch (IOException | RuntimeException e) {
+			failed.increment();
+		}
+	}
+
+	/**
+	 * Sends all pending receipts immediately from the calling thread.
+	 */
+	public void flush() {
+		var batches = new ArrayList<Batch>();
+		synchronized (this) {
+			for (var map : pending) {
+				map.forEach((long id, Batch batch) -> batches.add(batch));
+				map.clear();
+			}
+		}
+		batches.forEach(this::send);
+	}
+
+	/**
+	 * @return number of batches waiting to be sent
+	 */
+	public synchronized int getPending() {
+		int count = 0;
+		for (var map : pending) {
+			count += map.size();
+		}
+		return count;
+	}
+
+	/**
+	 * @return number of receipts sent successfully
+	 */
+	public long getReceipts() {
+		return receipts.sum();
+	}
+
+	/**
+	 * @return number of message IDs acknowledged with successfully sent receipts
+	 */
+	public long getMessageIds() {
+		return messageIds.sum();
+	}
+
+	/**
+	 * @return number of receipts which could not be sent
+	 */
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	/**
+	 * Sends all pending receipts and stops the background thread. Subsequent
+	 * calls to {@link #add(ThreemaId, ReceiptType, MessageId)} are rejected.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for receipts
+	 *                              being sent in background
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		synchronized (this) {
+			closed = true;
+			scheduler.shutdown();
+		}
+		scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		flush();
+	}
+
+	private final class Batch {
+
+		final ThreemaId to;
+		final ReceiptType type;
+		long[] ids = new long[Math.min(8, maxIds)];
+		int size;
+
+		Batch(ThreemaId to, ReceiptType type) {
+			this.to = to;
+			this.type = type;
+		}
+
+		void add(long id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, Math.min(2 * size, maxIds));
+			}
+			ids[size++] = id;
+		}
+
+	}
+
+}
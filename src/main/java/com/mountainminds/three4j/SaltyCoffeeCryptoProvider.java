@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+import javax.crypto.SecretKey;
+
+import software.pando.crypto.nacl.CryptoBox;
+import software.pando.crypto.nacl.SecretBox;
+
+/**
+ * {@link CryptoProvider} backed by the salty-coffee library.
+ */
+final class SaltyCoffeeCryptoProvider implements CryptoProvider {
+
+	static final SaltyCoffeeCryptoProvider INSTANCE = new SaltyCoffeeCryptoProvider();
+
+	static volatile CryptoProvider current = INSTANCE;
+
+	private SaltyCoffeeCryptoProvider() {
+	}
+
+	@Override
+	public SecretKey agree(PrivateKey privateKey, PublicKey publicKey) {
+		return (SecretKey) CryptoBox.agree(privateKey, publicKey);
+	}
+
+	@Override
+	public byte[] encrypt(SecretKey key, byte[] nonce, byte[] plaintext) {
+		return SecretBox.encrypt(key, nonce, plaintext).getCiphertextWithTag();
+	}
+
+	@Override
+	public byte[] decrypt(SecretKey key, byte[] nonce, byte[] box) throws IllegalArgumentException {
+		return SecretBox.fromCombined(nonce, box).decrypt(key);
+	}
+
+	@Override
+	public byte[] encrypt(PrivateKey privateKey, PublicKey publicKey, byte[] nonce, byte[] plaintext) {
+		return CryptoBox.encrypt(privateKey, publicKey, nonce, plaintext).getCiphertextWithTag();
+	}
+
+	@Override
+	public byte[] decrypt(PrivateKey privateKey, PublicKey publicKey, byte[] nonce, byte[] box)
+			throws IllegalArgumentException {
+		return CryptoBox.fromCombined(nonce, box).decrypt(privateKey, publicKey);
+	}
+
+	@Override
+	public String toString() {
+		return "salty-coffee";
+	}
+
+}
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scheduler for outgoing messages with priority lanes. A fixed number of
+ * threads sends messages concurrently. Whenever a thread becomes available the
+ * next message is selected from the non-empty lanes by weighted fair sharing
+ * (stride scheduling): with the default weights 8:4:1 a lane with
+ * {@link Priority#HIGH} gets eight times the share of a {@link Priority#LOW}
+ * lane while no lane starves. Within a lane messages are sent in submission
+ * order.
+ * <p>
+ * Messages can have an expiry. Messages which have not been sent before they
+ * expire are dropped and their future completes with a
+ * {@link TimeoutException}.
+ * 
+ * <pre>
+ * var scheduler = new SendScheduler(gw::sendMessage, 4);
+ * scheduler.submit(Priority.HIGH, receiver, alert, Duration.ofMinutes(1));
+ * </pre>
+ */
+public final class SendScheduler implements AutoCloseable {
+
+	/**
+	 * Sends an encrypted message.
+	 */
+	@FunctionalInterface
+	public interface Sender {
+
+		/**
+		 * @param to      receiver
+		 * @param message encrypted message
+		 * @return ID of the sent message
+		 * @throws IOException if the message cannot be sent
+		 */
+		MessageId send(ThreemaId to, EncryptedMessage message) throws IOException;
+
+	}
+
+	/**
+	 * Priority lanes.
+	 */
+	public enum Priority {
+
+		/** Urgent messages like alerts, default weight 8 */
+		HIGH(8),
+
+		/** Regular messages, default weight 4 */
+		NORMAL(4),
+
+		/** Bulk messages like newsletters, default weight 1 */
+		LOW(1);
+
+		final int defaultWeight;
+
+		Priority(int defaultWeight) {
+			this.defaultWeight = defaultWeight;
+		}
+
+	}
+
+	private static final long STRIDE_BASE = 1 << 20;
+
+	private static final int MAX_WEIGHT = 1024;
+
+	private final Sender sender;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition available = lock.newCondition();
+
+	private final Lane[] lanes;
+	private final Thread[] workers;
+
+	// Pass of the last selected lane, guarded by lock
+	private long virtualTime;
+	private boolean closed;
+
+	/**
+	 * Creates a scheduler with the given number of sender threads.
+	 * 
+	 * @param sender      sender for messages, e.g.
+	 *                    {@link Gateway#sendMessage(ThreemaId, EncryptedMessage)}
+	 * @param concurrency number of messages sent concurrently
+	 */
+	public SendScheduler(Sender sender, int concurrency) {
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("Invalid concurrency: " + concurrency);
+		}
+		this.sender = sender;
+		var priorities = Priority.values();
+		lanes = new Lane[priorities.length];
+		for (var p : priorities) {
+			lanes[p.ordinal()] = new Lane(p.defaultWeight);
+		}
+		workers = new Thread[concurrency];
+		for (int i = 0; i < concurrency; i++) {
+			workers[i] = new Thread(this::work, "three4j-sender-" + i);
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+	}
+
+	/**
+	 * Changes the weight of the given lane.
+	 * 
+	 * @param priority lane
+	 * @param weight   relative share between 1 and 1024
+	 */
+	public void setWeight(Priority priority, int weight) {
+		if (weight < 1 || weight > MAX_WEIGHT) {
+			throw new IllegalArgumentException("Invalid weight: " + weight);
+		}
+		lock.lock();
+		try {
+			lanes[priority.ordinal()].stride = STRIDE_BASE / weight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Submits a message without expiry.
+	 * 
+	 * @param priority lane for the message
+	 * @param to       receiver
+	 * @param message  encrypted message
+	 * @return future for the message ID
+	 * @throws RejectedExecutionException if the scheduler has been closed
+	 */
+	public CompletableFuture<MessageId> submit(Priority priority, ThreemaId to, EncryptedMessage message)
+			throws RejectedExecutionException {
+		return submit(priority, to, message, null);
+	}
+
+	/**
+	 * Submits a message which is dropped if it cannot be sent within the given
+	 * time.
+	 * 
+	 * @param priority lane for the message
+	 * @param to       receiver
+	 * @param message  encrypted message
+	 * @param expiry   maximum time before the message is sent or
+	 *                 <code>null</code> for no expiry
+	 * @return future for the message ID
+	 * @throws RejectedExecutionException if the scheduler has been closed
+	 */
+	public CompletableFuture<MessageId> submit(Priority priority, ThreemaId to, EncryptedMessage message,
+			Duration expiry) throws RejectedExecutionException {
+		var task = new Task(to, message, expiry);
+		lock.lock();
+		try {
+			if (closed) {
+				throw new RejectedExecutionException("Scheduler closed");
+			}
+			var lane = lanes[priority.ordinal()];
+			if (lane.queue.isEmpty()) {
+				// Idle lanes must not collect credit
+				lane.pass = Math.max(lane.pass, virtualTime);
+			}
+			lane.queue.add(task);
+			available.signal();
+		} finally {
+			lock.unlock();
+		}
+		return task.future;
+	}
+
+	private void work() {
+		while (true) {
+			Task task;
+			Lane lane;
+			lock.lock();
+			try {
+				while ((lane = next()) == null) {
+					if (closed) {
+						return;
+					}
+					available.awaitUninterruptibly();
+				}
+				task = lane.queue.poll();
+				virtualTime = lane.pass;
+				lane.pass += lane.stride;
+			} finally {
+				lock.unlock();
+			}
+			long now = System.nanoTime();
+			lane.wait.record(now - task.enqueued);
+			if (now - task.deadline > 0) {
+				lane.expired.increment();
+				task.future.completeExceptionally(new TimeoutException("Message expired"));
+				continue;
+			}
+			try {
+				task.future.complete(sender.send(task.to, task.message));
+			} catch (IOException | RuntimeException e) {
+				task.future.completeExceptionally(e);
+			}
+		}
+	}
+
+	private Lane next() {
+		Lane next = null;
+		for (var lane : lanes) {
+			if (!lane.queue.isEmpty() && (next == null || lane.pass < next.pass)) {
+				next = lane;
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * @param priority lane
+	 * @return number of messages waiting in the given lane
+	 */
+	public int getQueueDepth(Priority priority) {
+		lock.lock();
+		try {
+			return lanes[priority.ordinal()].queue.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @param priority lane
+	 * @return number of messages taken from the given lane, including expired
+	 *         ones
+	 */
+	public long getDispatched(Priority priority) {
+		return lanes[priority.ordinal()].wait.getCount();
+	}
+
+	/**
+	 * @param priority lane
+	 * @return number of dropped messages of the given lane
+	 */
+	public long getExpired(Priority priority) {
+		return lanes[priority.ordinal()].expired.sum();
+	}
+
+	/**
+	 * @param priority lane
+	 * @return average time messages waited in the given lane
+	 */
+	public Duration getAverageWait(Priority priority) {
+		return lanes[priority.ordinal()].wait.getAverage();
+	}
+
+	/**
+	 * @param priority lane
+	 * @return maximum time a message waited in the given lane
+	 */
+	public Duration getMaxWait(Priority priority) {
+		return lanes[priority.ordinal()].wait.getMax();
+	}
+
+	/**
+	 * Stops accepting new messages and waits until all queued messages have been
+	 * sent or expired.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		lock.lock();
+		try {
+			closed = true;
+			available.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		for (var worker : workers) {
+			worker.join();
+		}
+	}
+
+	private static final class Task {
+
+		final ThreemaId to;
+		final EncryptedMessage message;
+		final long enqueued = System.nanoTime();
+		final long deadline;
+		final CompletableFuture<MessageId> future = new CompletableFuture<>();
+
+		Task(ThreemaId to, EncryptedMessage message, Duration expiry) {
+			this.to = to;
+			this.message = message;
+			// Far in the future but without overflow in deadline comparisons
+			this.deadline = enqueued + (expiry == null ? Long.MAX_VALUE / 2 : expiry.toNanos());
+		}
+
+	}
+
+	private static final class Lane {
+
+		final ArrayDeque<Task> queue = new ArrayDeque<>();
+		final LatencyStatistics wait = new LatencyStatistics();
+		final LongAdder expired = new LongAdder();
+		long stride;
+		long pass;
+
+		Lane(int weight) {
+			stride = STRIDE_BASE / weight;
+		}
+
+	}
+
+}
@@ -13,34 +13,144 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
 /**
- * Eight character Threema ID.
+ * Eight character Threema ID. Valid IDs consist of upper case letters, decimal
+ * digits and the <code>*</code> character (used as prefix for gateway IDs).
+ * Each character fits into a single byte, therefore every ID can also be
+ * represented as a single <code>long</code> value (see {@link #toLong()}).
  */
 public final class ThreemaId {
 
-	private final String value;
+	/**
+	 * Number of characters of a Threema ID.
+	 */
+	public static final int LENGTH = 8;
+
+	private final long packed;
+
+	private String value;
 
 	private ThreemaId(String value) throws IllegalArgumentException {
-		if (value.length() != 8) {
+		if (value.length() != LENGTH) {
 			throw new IllegalArgumentException("Illegal Threema ID length: " + value);
 		}
+		long packed = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			var c = value.charAt(i);
+			if (!isValidChar(c)) {
+				throw new IllegalArgumentException("Illegal Threema ID: " + value);
+			}
+			packed = (packed << 8) | c;
+		}
+		this.packed = packed;
 		this.value = value;
 	}
 
-	public static ThreemaId of(String value) {
+	private ThreemaId(long packed) throws IllegalArgumentException {
+		if (!isValid(packed)) {
+			throw new IllegalArgumentException("Illegal Threema ID: " + Long.toHexString(packed));
+		}
+		this.packed = packed;
+	}
+
+	/**
+	 * @param value 8 character Threema ID
+	 * @return new Threema ID
+	 * @throws IllegalArgumentException if the value is not a valid Threema ID
+	 */
+	public static ThreemaId of(String value) throws IllegalArgumentException {
 		return new ThreemaId(value);
 	}
 
+	/**
+	 * Creates a Threema ID from its packed representation as returned by
+	 * {@link #toLong()}.
+	 * 
+	 * @param packed packed Threema ID
+	 * @return new Threema ID
+	 * @throws IllegalArgumentException if the value is not a valid Threema ID
+	 */
+	public static ThreemaId fromLong(long packed) throws IllegalArgumentException {
+		return new ThreemaId(packed);
+	}
+
+	/**
+	 * Creates a Threema ID from ASCII encoded characters without creating an
+	 * intermediate string.
+	 * 
+	 * @param bytes  buffer containing the ID
+	 * @param offset offset of the first character
+	 * @param length number of characters
+	 * @return new Threema ID
+	 * @throws IllegalArgumentException if the value is not a valid Threema ID
+	 */
+	static ThreemaId of(byte[] bytes, int offset, int length) throws IllegalArgumentException {
+		if (length == LENGTH) {
+			long packed = 0;
+			boolean valid = true;
+			for (int i = 0; i < LENGTH; i++) {
+				var c = (char) (bytes[offset + i] & 0xff);
+				valid &= isValidChar(c);
+				packed = (packed << 8) | c;
+			}
+			if (valid) {
+				return new ThreemaId(packed);
+			}
+		}
+		// Use the string based constructor for consistent error messages
+		return new ThreemaId(new String(bytes, offset, length, ISO_8859_1));
+	}
+
+	/**
+	 * @param packed packed Threema ID
+	 * @return <code>true</code> if the value is a valid packed Threema ID
+	 */
+	static boolean isValid(long packed) {
+		for (int shift = 0; shift < 64; shift += 8) {
+			if (!isValidChar((char) ((packed >>> shift) & 0xff))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isValidChar(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '*';
+	}
+
 	/**
 	 * @return String value of the ThreemaID
 	 */
 	public String getValue() {
-		return value;
+		var v = value;
+		if (v == null) {
+			var chars = new char[LENGTH];
+			for (int i = 0; i < LENGTH; i++) {
+				chars[i] = (char) ((packed >>> (8 * (LENGTH - 1 - i))) & 0xff);
+			}
+			value = v = new String(chars);
+		}
+		return v;
+	}
+
+	/**
+	 * Returns the packed representation of this ID where every character is
+	 * encoded as one byte in big endian order. The natural order of packed values
+	 * corresponds to the lexical order of the IDs. A packed ID is never
+	 * <code>0</code>.
+	 * 
+	 * @return packed Threema ID
+	 * @see #fromLong(long)
+	 */
+	public long toLong() {
+		return packed;
 	}
 
 	@Override
 	public int hashCode() {
-		return value.hashCode();
+		return Long.hashCode(packed);
 	}
 
 	@Override
@@ -48,12 +158,12 @@ public final class ThreemaId {
 		if (other == null || !this.getClass().equals(other.getClass())) {
 			return false;
 		}
-		return value.equals(((ThreemaId) other).value);
+		return packed == ((ThreemaId) other).packed;
 	}
 
 	@Override
 	public String toString() {
-		return getClass().getSimpleName() + "[" + value + "]";
+		return getClass().getSimpleName() + "[" + getValue() + "]";
 	}
 
 }
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Compact map with {@link ThreemaId} keys. Keys are stored in their packed
+ * representation (see {@link ThreemaId#toLong()}) in an open addressing table,
+ * therefore no key objects are retained. This is useful for large caches of
+ * e.g. public keys or capabilities. Instances are not thread safe.
+ * 
+ * @param <V> value type
+ */
+public final class ThreemaIdMap<V> {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private Object[] values;
+	private int size;
+
+	/**
+	 * Creates a new empty map.
+	 */
+	public ThreemaIdMap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * Creates a new empty map which can hold the given number of entries without
+	 * resizing.
+	 * 
+	 * @param expectedSize expected number of entries
+	 */
+	public ThreemaIdMap(int expectedSize) {
+		allocate(tableSize(expectedSize));
+	}
+
+	private static int tableSize(int entries) {
+		int capacity = MIN_CAPACITY;
+		// Keep load factor below 0.5 to get short probe sequences
+		while (capacity < 2L * entries) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+	}
+
+	/**
+	 * @return number of entries in this map
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return <code>true</code> if this map does not contain any entry
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param id Threema ID
+	 * @return value for the given ID or <code>null</code>
+	 */
+	public V get(ThreemaId id) {
+		return get(id.toLong());
+	}
+
+	/**
+	 * @param id packed Threema ID
+	 * @return value for the given ID or <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long id) {
+		int idx = indexOf(id);
+		return idx < 0 ? null : (V) values[idx];
+	}
+
+	/**
+	 * @param id Threema ID
+	 * @return <code>true</code> if this map contains an entry for the given ID
+	 */
+	public boolean containsKey(ThreemaId id) {
+		return indexOf(id.toLong()) >= 0;
+	}
+
+	/**
+	 * @param id packed Threema ID
+	 * @return <code>true</code> if this map contains an entry for the given ID
+	 */
+	public boolean containsKey(long id) {
+		return indexOf(id) >= 0;
+	}
+
+	/**
+	 * @param id    Threema ID
+	 * @param value new value, must not be <code>null</code>
+	 * @return previous value for the given ID or <code>null</code>
+	 */
+	public V put(ThreemaId id, V value) {
+		return insert(id.toLong(), value);
+	}
+
+	/**
+	 * @param id    packed Threema ID as returned by {@link ThreemaId#toLong()}
+	 * @param value new value, must not be <code>null</code>
+	 * @return previous value for the given ID or <code>null</code>
+	 * @throws IllegalArgumentException if the value is not a valid packed Threema
+	 *                                  ID
+	 */
+	public V put(long id, V value) throws IllegalArgumentException {
+		if (!ThreemaId.isValid(id)) {
+			throw new IllegalArgumentException("Invalid Threema ID: " + Long.toHexString(id));
+		}
+		return insert(id, value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private V insert(long id, V value) {
+		if (value == null) {
+			throw new NullPointerException();
+		}
+		int mask = keys.length - 1;
+		int idx = slot(id, mask);
+		while (keys[idx] != 0) {
+			if (keys[idx] == id) {
+				var previous = (V) values[idx];
+				values[idx] = value;
+				return previous;
+			}
+			idx = (idx + 1) & mask;
+		}
+		keys[idx] = id;
+		values[idx] = value;
+		if (++size * 2 > keys.length) {
+			rehash(keys.length << 1);
+		}
+		return null;
+	}
+
+	/**
+	 * @param id Threema ID
+	 * @return removed value for the given ID or <code>null</code>
+	 */
+	public V remove(ThreemaId id) {
+		return remove(id.toLong());
+	}
+
+	/**
+	 * @param id packed Threema ID
+	 * @return removed value for the given ID or <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long id) {
+		int idx = indexOf(id);
+		if (idx < 0) {
+			return null;
+		}
+		var previous = (V) values[idx];
+		shiftBack(idx);
+		size--;
+		return previous;
+	}
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		allocate(MIN_CAPACITY);
+		size = 0;
+	}
+
+	/**
+	 * Calls the given action for every entry of this map.
+	 * 
+	 * @param action action called with the packed ID and the value
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(LongObjConsumer<? super V> action) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) {
+				action.accept(keys[i], (V) values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Calls the given action for every entry of this map. The key objects are
+	 * created on the fly.
+	 * 
+	 * @param action action called with the ID and the value
+	 */
+	public void forEach(BiConsumer<ThreemaId, ? super V> action) {
+		forEach((long id, V value) -> action.accept(ThreemaId.fromLong(id), value));
+	}
+
+	/**
+	 * Callback for entries with packed Threema IDs.
+	 * 
+	 * @param <V> value type
+	 */
+	@FunctionalInterface
+	public interface LongObjConsumer<V> {
+
+		/**
+		 * @param id    packed Threema ID
+		 * @param value value
+		 */
+		void accept(long id, V value);
+
+	}
+
+	private int indexOf(long id) {
+		if (id == 0) {
+			return -1;
+		}
+		int mask = keys.length - 1;
+		int idx = slot(id, mask);
+		long k;
+		while ((k = keys[idx]) != 0) {
+			if (k == id) {
+				return idx;
+			}
+			idx = (idx + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Backward shift deletion to keep probe sequences intact without tombstones.
+	 */
+	private void shiftBack(int gap) {
+		int mask = keys.length - 1;
+		int idx = gap;
+		while (true) {
+			idx = (idx + 1) & mask;
+			long k = keys[idx];
+			if (k == 0) {
+				break;
+			}
+			int home = slot(k, mask);
+			// Move entry into the gap if its home slot is not between gap and idx
+			if (((idx - home) & mask) >= ((idx - gap) & mask)) {
+				keys[gap] = k;
+				values[gap] = values[idx];
+				gap = idx;
+			}
+		}
+		keys[gap] = 0;
+		values[gap] = null;
+	}
+
+	private void rehash(int capacity) {
+		var oldKeys = keys;
+		var oldValues = values;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			long k = oldKeys[i];
+			if (k != 0) {
+				int idx = slot(k, mask);
+				while (keys[idx] != 0) {
+					idx = (idx + 1) & mask;
+				}
+				keys[idx] = k;
+				values[idx] = oldValues[i];
+			}
+		}
+	}
+
+	private static int slot(long id, int mask) {
+		// Packed IDs have low entropy in the individual bytes, so mix all bits
+		id ^= id >>> 33;
+		id *= 0xff51afd7ed558ccdL;
+		id ^= id >>> 33;
+		return (int) id & mask;
+	}
+
+}
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical hashed timer wheel with four levels of 256 slots each. Entries
+ * are kept in parallel arrays and linked into their slots by index, so no
+ * node object is allocated per entry. Insert and cancel are O(1), advancing
+ * the wheel costs O(1) per tick plus the re-distribution of entries from higher
+ * levels every 256, 65536 and 16777216 ticks. Ranges of ticks without entries
+ * on the lower levels are skipped. Instances are not thread safe.
+ * 
+ * @param <T> value type
+ */
+final class TimerWheel<T> {
+
+	/**
+	 * Callback for entries.
+	 *
+	 * @param <T> value type
+	 */
+	interface EntryConsumer<T> {
+
+		void accept(long deadline, long tag, T value);
+
+	}
+
+	private static final int SLOT_BITS = 8;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+
+	/** Additional list for entries which are already due */
+	private static final int DUE = LEVELS * SLOTS;
+
+	private static final long MAX_DELTA = (1L << (LEVELS * SLOT_BITS)) - 1;
+
+	private static final int NONE = -1;
+
+	private final int[] heads = new int[DUE + 1];
+
+	/** Number of entries per level, the last element counts the due list */
+	private final int[] levelSizes = new int[LEVELS + 1];
+
+	private long[] deadlines;
+	private long[] tags;
+	private Object[] values;
+	private int[] next;
+	private int[] prev;
+	private int[] slots;
+	private int[] generations;
+
+	private int freeList = NONE;
+	private int used;
+	private int size;
+
+	private long tick;
+
+	TimerWheel(long tick) {
+		this.tick = tick;
+		Arrays.fill(heads, NONE);
+		allocate(64);
+	}
+
+	private void allocate(int capacity) {
+		deadlines = Arrays.copyOf(deadlines == null ? new long[0] : deadlines, capacity);
+		tags = Arrays.copyOf(tags == null ? new long[0] : tags, capacity);
+		values = Arrays.copyOf(values == null ? new Object[0] : values, capacity);
+		next = Arrays.copyOf(next == null ? new int[0] : next, capacity);
+		prev = Arrays.copyOf(prev == null ? new int[0] : prev, capacity);
+		slots = Arrays.copyOf(slots == null ? new int[0] : slots, capacity);
+		generations = Arrays.copyOf(generations == null ? new int[0] : generations, capacity);
+	}
+
+	/**
+	 * @return current tick of the wheel
+	 */
+	long getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return number of scheduled entries
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Schedules a new entry.
+	 * 
+	 * @param deadline tick when the entry is due
+	 * @param tag      arbitrary value stored with the entry
+	 * @param value    value of the entry
+	 * @return handle for {@link #cancel(long)}
+	 */
+	long schedule(long deadline, long tag, T value) {
+		int idx;
+		if (freeList != NONE) {
+			idx = freeList;
+			freeList = next[idx];
+		} else {
+			if (used == deadlines.length) {
+				allocate(used * 2);
+			}
+			idx = used++;
+		}
+		deadlines[idx] = deadline;
+		tags[idx] = tag;
+		values[idx] = value;
+		link(idx);
+		size++;
+		return ((long) generations[idx] << 32) | idx;
+	}
+
+	/**
+	 * Removes a scheduled entry.
+	 * 
+	 * @param handle handle returned by {@link #schedule(long, long, Object)}
+	 * @return <code>true</code> if the entry was still scheduled
+	 */
+	boolean cancel(long handle) {
+		int idx = (int) handle;
+		if (idx < 0 || idx >= used || generations[idx] != (int) (handle >>> 32) || slots[idx] == NONE) {
+			return false;
+		}
+		unlink(idx);
+		release(idx);
+		return true;
+	}
+
+	/**
+	 * Advances the wheel to the given tick and removes all entries which are due
+	 * up to this tick.
+	 * 
+	 * @param target   new tick of the wheel
+	 * @param consumer called for every due entry
+	 */
+	void advance(long target, EntryConsumer<T> consumer) {
+		expire(DUE, consumer);
+		while (tick < target) {
+			long skip = 0;
+			for (int level = 0; level < LEVELS && levelSizes[level] == 0; level++) {
+				skip = (skip << SLOT_BITS) | SLOT_MASK;
+			}
+			if (skip != 0) {
+				// Nothing expires or cascades before the next boundary
+				long boundary = tick | skip;
+				if (boundary >= target) {
+					tick = target;
+					break;
+				}
+				tick = boundary;
+			}
+			tick++;
+			int index = (int) (tick & SLOT_MASK);
+			// Move entries of higher levels down when a lower level wraps
+			for (int level = 1; index == 0 && level < LEVELS; level++) {
+				index = (int) ((tick >>> (level * SLOT_BITS)) & SLOT_MASK);
+				cascade(level * SLOTS + index);
+			}
+			expire((int) (tick & SLOT_MASK), consumer);
+			// Cascaded entries for exactly this tick
+			expire(DUE, consumer);
+		}
+	}
+
+	/**
+	 * Calls the given consumer for every scheduled entry.
+	 * 
+	 * @param consumer called for every entry
+	 */
+	@SuppressWarnings("unchecked")
+	void forEach(EntryConsumer<T> consumer) {
+		for (int idx = 0; idx < used; idx++) {
+			if (slots[idx] != NONE) {
+				consumer.accept(deadlines[idx], tags[idx], (T) values[idx]);
+			}
+		}
+	}
+
+	private void cascade(int slot) {
+		int idx = heads[slot];
+		heads[slot] = NONE;
+		while (idx != NONE) {
+			int n = next[idx];
+			levelSizes[slot >>> SLOT_BITS]--;
+			link(idx);
+			idx = n;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void expire(int slot, EntryConsumer<T> consumer) {
+		int idx = heads[slot];
+		heads[slot] = NONE;
+		while (idx != NONE) {
+			int n = next[idx];
+			levelSizes[slot >>> SLOT_BITS]--;
+			if (deadlines[idx] > tick) {
+				// Entries beyond the range of the wheel come around again
+				link(idx);
+			} else {
+				long deadline = deadlines[idx];
+				long tag = tags[idx];
+				var value = (T) values[idx];
+				release(idx);
+				consumer.accept(deadline, tag, value);
+			}
+			idx = n;
+		}
+	}
+
+	private void link(int idx) {
+		long deadline = deadlines[idx];
+		long delta = deadline - tick;
+		int slot;
+		if (delta <= 0) {
+			slot = DUE;
+		} else {
+			if (delta > MAX_DELTA) {
+				deadline = tick + MAX_DELTA;
+				delta = MAX_DELTA;
+			}
+			int level = (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+			slot = level * SLOTS + (int) ((deadline >>> (level * SLOT_BITS)) & SLOT_MASK);
+		}
+		slots[idx] = slot;
+		levelSizes[slot >>> SLOT_BITS]++;
+		prev[idx] = NONE;
+		next[idx] = heads[slot];
+		if (heads[slot] != NONE) {
+			prev[heads[slot]] = idx;
+		}
+		heads[slot] = idx;
+	}
+
+	private void unlink(int idx) {
+		levelSizes[slots[idx] >>> SLOT_BITS]--;
+		if (prev[idx] != NONE) {
+			next[prev[idx]] = next[idx];
+		} else {
+			heads[slots[idx]] = next[idx];
+		}
+		if (next[idx] != NONE) {
+			prev[next[idx]] = prev[idx];
+		}
+	}
+
+	private void release(int idx) {
+		slots[idx] = NONE;
+		values[idx] = null;
+		generations[idx]++;
+		next[idx] = freeList;
+		freeList = idx;
+		size--;
+	}
+
+}
@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Set of non-zero <code>long</code> keys which are remembered for a fixed time
+ * window. The window is split into time slots, every slot has its own open
+ * addressing table. The tables are used as a ring: when a new slot begins the
+ * table of the oldest slot is cleared and reused. Keys are therefore kept for at
+ * least the configured window and at most one additional slot.
+ * <p>
+ * All operations are lock-free. The tables are either allocated off-heap or
+ * mapped from a file. In the latter case several processes on the same host can
+ * share the same set. The set is a cache: if a table overflows or is cleared
+ * concurrently a key may not be stored, {@link #add(long, long)} reports such
+ * keys as new.
+ */
+public final class WindowedKeySet implements CallbackDeduplicator.Store, Closeable {
+
+	private static final int MAGIC = 0x33344b53;
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 64;
+	private static final int HEADER_MAGIC = 0;
+	private static final int HEADER_VERSION = 4;
+	private static final int HEADER_TABLESIZE = 8;
+	private static final int HEADER_SLOTMILLIS = 16;
+
+	/** Number of tables, one is the current slot, the others cover the window */
+	static final int GENERATIONS = 4;
+
+	// Each table starts with its slot number, negative while being cleared
+	private static final int GENERATION_HEADER = 64;
+
+	private static final int MAX_PROBES = 64;
+
+	// Keeps the buffer size and all int offsets below 2^31
+	private static final int MAX_TABLESIZE = 1 << 25;
+
+	private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+			ByteOrder.BIG_ENDIAN);
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final int tableSize;
+	private final long slotMillis;
+
+	private WindowedKeySet(FileChannel channel, ByteBuffer buffer, int tableSize, long slotMillis) {
+		this.channel = channel;
+		this.buffer = buffer;
+		this.tableSize = tableSize;
+		this.slotMillis = slotMillis;
+	}
+
+	private static int tableSize(int expectedKeys) {
+		// Keys of one window are spread over the slots, keep load factor at 0.5
+		long perSlot = ((long) expectedKeys + GENERATIONS - 2) / (GENERATIONS - 1);
+		int tableSize = 16;
+		while (tableSize < 2 * perSlot) {
+			if (tableSize == MAX_TABLESIZE) {
+				throw new IllegalArgumentException("Unsupported number of keys: " + expectedKeys);
+			}
+			tableSize <<= 1;
+		}
+		return tableSize;
+	}
+
+	private static long slotMillis(Duration window) {
+		long millis = window.toMillis();
+		if (millis < GENERATIONS - 1) {
+			throw new IllegalArgumentException("Invalid window: " + window);
+		}
+		return (millis + GENERATIONS - 2) / (GENERATIONS - 1);
+	}
+
+	private static long bufferSize(int tableSize) {
+		return HEADER_SIZE + GENERATIONS * (GENERATION_HEADER + (long) tableSize * 8);
+	}
+
+	/**
+	 * Creates a new set in off-heap memory.
+	 * 
+	 * @param window       minimum time keys are remembered
+	 * @param expectedKeys expected number of keys added within the window
+	 * @return new empty set
+	 * @throws IllegalArgumentException if more than 50 million keys are expected
+	 */
+	public static WindowedKeySet create(Duration window, int expectedKeys) {
+		int tableSize = tableSize(expectedKeys);
+		var buffer = ByteBuffer.allocateDirect((int) bufferSize(tableSize));
+		return new WindowedKeySet(null, buffer, tableSize, slotMillis(window));
+	}
+
+	/**
+	 * Opens a set backed by the given file. If the file does not exist or is
+	 * empty it is initialized with the given parameters, otherwise the existing
+	 * content is used. Several processes may open the same file concurrently.
+	 * 
+	 * @param file         file to store the set
+	 * @param window       minimum time keys are remembered
+	 * @param expectedKeys expected number of keys added within the window
+	 * @return set with the content of the file
+	 * @throws IOException              if the file cannot be opened or has been
+	 *                                  created with different parameters
+	 * @throws IllegalArgumentException if more than 50 million keys are expected
+	 */
+	public static WindowedKeySet open(Path file, Duration window, int expectedKeys) throws IOException {
+		int tableSize = tableSize(expectedKeys);
+		long slotMillis = slotMillis(window);
+		long size = bufferSize(tableSize);
+		var channel = FileChannel.open(file, CREATE, READ, WRITE);
+		try {
+			MappedByteBuffer buffer;
+			try (var lock = channel.lock()) {
+				boolean init = channel.size() == 0;
+				if (!init && channel.size() < HEADER_SIZE) {
+					throw new IOException("Invalid key set file: " + file);
+				}
+				if (!init) {
+					var header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+					if (header.getInt(HEADER_MAGIC) != MAGIC || header.getInt(HEADER_VERSION) != VERSION) {
+						throw new IOException("Invalid key set file: " + file);
+					}
+					if (header.getInt(HEADER_TABLESIZE) != tableSize || header.getLong(HEADER_SLOTMILLIS) != slotMillis
+							|| channel.size() != size) {
+						throw new IOException("Incompatible key set file: " + file);
+					}
+				}
+				buffer = channel.map(MapMode.READ_WRITE, 0, size);
+				if (init) {
+					buffer.putInt(HEADER_TABLESIZE, tableSize);
+					buffer.putLong(HEADER_SLOTMILLIS, slotMillis);
+					buffer.putInt(HEADER_VERSION, VERSION);
+					buffer.putInt(HEADER_MAGIC, MAGIC);
+					buffer.force();
+				}
+			}
+			return new WindowedKeySet(channel, buffer, tableSize, slotMillis);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Adds the given key if it has not been added within the window.
+	 * 
+	 * @param key  non-zero key
+	 * @param time current time in milliseconds
+	 * @return <code>true</code> if the key has not been added before
+	 */
+	@Override
+	public boolean add(long key, long time) {
+		if (key == 0) {
+			throw new IllegalArgumentException("Invalid key: 0");
+		}
+		long slot = time / slotMillis;
+		for (int age = 1; age < GENERATIONS; age++) {
+			if (contains(generation(slot - age), slot - age, key)) {
+				return false;
+			}
+		}
+		int generation = generation(slot);
+		return !rotate(generation, slot) || insert(generation, key);
+	}
+
+	private int generation(long slot) {
+		return HEADER_SIZE + (int) Math.floorMod(slot, GENERATIONS) * (GENERATION_HEADER + tableSize * 8);
+	}
+
+	private boolean contains(int generation, long slot, long key) {
+		if ((long) LONGS.getAcquire(buffer, generation) != slot) {
+			return false;
+		}
+		int mask = tableSize - 1;
+		int idx = index(key, mask);
+		for (int i = 0; i < MAX_PROBES; i++) {
+			long k = (long) LONGS.getAcquire(buffer, generation + GENERATION_HEADER + idx * 8);
+			if (k == key) {
+				return true;
+			}
+			if (k == 0) {
+				return false;
+			}
+			idx = (idx + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Makes sure the given table belongs to the given slot.
+	 * 
+	 * @return <code>false</code> if the table is currently not usable
+	 */
+	private boolean rotate(int generation, long slot) {
+		while (true) {
+			long current = (long) LONGS.getAcquire(buffer, generation);
+			if (current == slot) {
+				return true;
+			}
+			// Newer slot (clock skew) or clearing for this slot in progress.
+			// Clearing for older slots is taken over, e.g. after a crash.
+			if (current > slot || current == -slot) {
+				return false;
+			}
+			if (LONGS.compareAndSet(buffer, generation, current, -slot)) {
+				int start = generation + GENERATION_HEADER;
+				for (int i = 0; i < tableSize; i++) {
+					buffer.putLong(start + i * 8, 0);
+				}
+				LONGS.setRelease(buffer, generation, slot);
+				return true;
+			}
+		}
+	}
+
+	private boolean insert(int generation, long key) {
+		int mask = tableSize - 1;
+		int idx = index(key, mask);
+		for (int i = 0; i < MAX_PROBES; i++) {
+			int offset = generation + GENERATION_HEADER + idx * 8;
+			long k = (long) LONGS.compareAndExchange(buffer, offset, 0L, key);
+			if (k == 0) {
+				return true;
+			}
+			if (k == key) {
+				return false;
+			}
+			idx = (idx + 1) & mask;
+		}
+		// Table overflow, the key is not remembered
+		return true;
+	}
+
+	private static int index(long key, int mask) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key & mask;
+	}
+
+	/**
+	 * Writes all changes to the storage device if the set is backed by a file.
+	 * 
+	 * @throws IOException if the file cannot be written
+	 */
+	public void force() throws IOException {
+		if (buffer instanceof MappedByteBuffer) {
+			((MappedByteBuffer) buffer).force();
+		}
+	}
+
+	/**
+	 * Closes the underlying file, if any. The memory mapping is released by the
+	 * garbage collector.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+		}
+	}
+
+}
@@ -0,0 +1,394 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Internal implementation of the NaCl <code>crypto_secretbox</code>
+ * construction (XSalsa20 stream cipher and Poly1305 authenticator). An engine
+ * keeps all intermediate state in fields and preallocated arrays, so it can be
+ * reused for many messages without allocations. Instances are not thread
+ * safe.
+ * 
+ * @see <a href="https://cr.yp.to/highspeed/naclcrypto-20090310.pdf">Cryptography
+ *      in NaCl</a>
+ */
+final class XSalsa20Poly1305 {
+
+	static final int KEY_SIZE = 32;
+	static final int NONCE_SIZE = 24;
+	static final int TAG_SIZE = 16;
+
+	private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class,
+			ByteOrder.LITTLE_ENDIAN);
+
+	private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+			ByteOrder.LITTLE_ENDIAN);
+
+	// "expand 32-byte k"
+	private static final int SIGMA0 = 0x61707865;
+	private static final int SIGMA1 = 0x3320646e;
+	private static final int SIGMA2 = 0x79622d32;
+	private static final int SIGMA3 = 0x6b206574;
+
+	private static final long MASK26 = 0x3ffffff;
+
+	// Salsa20 state: subkey, nonce and block counter
+	private final int[] subkey = new int[8];
+	private int nonce0, nonce1;
+	private long counter;
+
+	private final byte[] keystream = new byte[64];
+	private int keystreamPos;
+
+	// Poly1305 state
+	private long r0, r1, r2, r3, r4;
+	private long s1, s2, s3, s4;
+	private long h0, h1, h2, h3, h4;
+	private int pad0, pad1, pad2, pad3;
+	private final byte[] macBuffer = new byte[16];
+	private int macBufferLen;
+
+	/**
+	 * Initializes the engine for a new message.
+	 * 
+	 * @param key   32 byte secret key
+	 * @param nonce 24 byte nonce
+	 */
+	void init(byte[] key, byte[] nonce) {
+		hsalsa20(key, nonce, 0, subkey);
+		nonce0 = (int) INTS.get(nonce, 16);
+		nonce1 = (int) INTS.get(nonce, 20);
+		counter = 0;
+		nextBlock();
+		// The first 32 bytes of the key stream are the one-time Poly1305 key
+		initMac(keystream);
+		keystreamPos = 32;
+	}
+
+	/**
+	 * Encrypts or decrypts the given bytes with the key stream. Input and output
+	 * may be the same array region.
+	 */
+	void crypt(byte[] in, int inOff, byte[] out, int outOff, int len) {
+		while (len > 0) {
+			if (keystreamPos == 64) {
+				nextBlock();
+				keystreamPos = 0;
+			}
+			int n = Math.min(len, 64 - keystreamPos);
+			int i = 0;
+			for (; i + 8 <= n; i += 8) {
+				long k = (long) LONGS.get(keystream, keystreamPos + i);
+				LONGS.set(out, outOff + i, (long) LONGS.get(in, inOff + i) ^ k);
+			}
+			for (; i < n; i++) {
+				out[outOff + i] = (byte) (in[inOff + i] ^ keystream[keystreamPos + i]);
+			}
+			keystreamPos += n;
+			inOff += n;
+			outOff += n;
+			len -= n;
+		}
+	}
+
+	/**
+	 * Adds the given bytes to the authenticator.
+	 */
+	void mac(byte[] in, int off, int len) {
+		if (macBufferLen > 0) {
+			int n = Math.min(len, 16 - macBufferLen);
+			System.arraycopy(in, off, macBuffer, macBufferLen, n);
+			macBufferLen += n;
+			off += n;
+			len -= n;
+			if (macBufferLen < 16) {
+				return;
+			}
+			macBlock(macBuffer, 0, 1 << 24);
+			macBufferLen = 0;
+		}
+		while (len >= 16) {
+			macBlock(in, off, 1 << 24);
+			off += 16;
+			len -= 16;
+		}
+		if (len > 0) {
+			System.arraycopy(in, off, macBuffer, 0, len);
+			macBufferLen = len;
+		}
+	}
+
+	/**
+	 * Calculates the authentication tag for all bytes added with
+	 * {@link #mac(byte[], int, int)}.
+	 */
+	void macFinal(byte[] tag, int off) {
+		if (macBufferLen > 0) {
+			macBuffer[macBufferLen] = 1;
+			for (int i = macBufferLen + 1; i < 16; i++) {
+				macBuffer[i] = 0;
+			}
+			macBlock(macBuffer, 0, 0);
+			macBufferLen = 0;
+		}
+
+		// Full carry
+		long c;
+		c = h1 >>> 26;
+		h1 &= MASK26;
+		h2 += c;
+		c = h2 >>> 26;
+		h2 &= MASK26;
+		h3 += c;
+		c = h3 >>> 26;
+		h3 &= MASK26;
+		h4 += c;
+		c = h4 >>> 26;
+		h4 &= MASK26;
+		h0 += c * 5;
+		c = h0 >>> 26;
+		h0 &= MASK26;
+		h1 += c;
+
+		// Compute h - p and select it if it is not negative
+		long g0 = h0 + 5;
+		c = g0 >>> 26;
+		g0 &= MASK26;
+		long g1 = h1 + c;
+		c = g1 >>> 26;
+		g1 &= MASK26;
+		long g2 = h2 + c;
+		c = g2 >>> 26;
+		g2 &= MASK26;
+		long g3 = h3 + c;
+		c = g3 >>> 26;
+		g3 &= MASK26;
+		long g4 = h4 + c - (1L << 26);
+		// All bits set if h < p
+		long select = g4 >> 63;
+		h0 = (h0 & select) | (g0 & ~select);
+		h1 = (h1 & select) | (g1 & ~select);
+		h2 = (h2 & select) | (g2 & ~select);
+		h3 = (h3 & select) | (g3 & ~select);
+		h4 = (h4 & select) | (g4 & ~select);
+
+		// h mod 2^128 + pad
+		long f0 = ((h0) | (h1 << 26)) & 0xffffffffL;
+		long f1 = ((h1 >>> 6) | (h2 << 20)) & 0xffffffffL;
+		long f2 = ((h2 >>> 12) | (h3 << 14)) & 0xffffffffL;
+		long f3 = ((h3 >>> 18) | (h4 << 8)) & 0xffffffffL;
+		f0 += pad0 & 0xffffffffL;
+		f1 += (pad1 & 0xffffffffL) + (f0 >>> 32);
+		f2 += (pad2 & 0xffffffffL) + (f1 >>> 32);
+		f3 += (pad3 & 0xffffffffL) + (f2 >>> 32);
+		INTS.set(tag, off, (int) f0);
+		INTS.set(tag, off + 4, (int) f1);
+		INTS.set(tag, off + 8, (int) f2);
+		INTS.set(tag, off + 12, (int) f3);
+	}
+
+	private void initMac(byte[] key) {
+		r0 = (int) INTS.get(key, 0) & 0x3ffffffL;
+		r1 = ((int) INTS.get(key, 3) >>> 2) & 0x3ffff03L;
+		r2 = ((int) INTS.get(key, 6) >>> 4) & 0x3ffc0ffL;
+		r3 = ((int) INTS.get(key, 9) >>> 6) & 0x3f03fffL;
+		r4 = ((int) INTS.get(key, 12) >>> 8) & 0x00fffffL;
+		s1 = r1 * 5;
+		s2 = r2 * 5;
+		s3 = r3 * 5;
+		s4 = r4 * 5;
+		h0 = h1 = h2 = h3 = h4 = 0;
+		pad0 = (int) INTS.get(key, 16);
+		pad1 = (int) INTS.get(key, 20);
+		pad2 = (int) INTS.get(key, 24);
+		pad3 = (int) INTS.get(key, 28);
+		macBufferLen = 0;
+	}
+
+	private void macBlock(byte[] m, int off, long hibit) {
+		long t0 = (int) INTS.get(m, off) & 0xffffffffL;
+		long t1 = (int) INTS.get(m, off + 4) & 0xffffffffL;
+		long t2 = (int) INTS.get(m, off + 8) & 0xffffffffL;
+		long t3 = (int) INTS.get(m, off + 12) & 0xffffffffL;
+		h0 += t0 & MASK26;
+		h1 += ((t0 >>> 26) | (t1 << 6)) & MASK26;
+		h2 += ((t1 >>> 20) | (t2 << 12)) & MASK26;
+		h3 += ((t2 >>> 14) | (t3 << 18)) & MASK26;
+		h4 += (t3 >>> 8) | hibit;
+
+		long d0 = h0 * r0 + h1 * s4 + h2 * s3 + h3 * s2 + h4 * s1;
+		long d1 = h0 * r1 + h1 * r0 + h2 * s4 + h3 * s3 + h4 * s2;
+		long d2 = h0 * r2 + h1 * r1 + h2 * r0 + h3 * s4 + h4 * s3;
+		long d3 = h0 * r3 + h1 * r2 + h2 * r1 + h3 * r0 + h4 * s4;
+		long d4 = h0 * r4 + h1 * r3 + h2 * r2 + h3 * r1 + h4 * r0;
+
+		long c;
+		c = d0 >>> 26;
+		h0 = d0 & MASK26;
+		d1 += c;
+		c = d1 >>> 26;
+		h1 = d1 & MASK26;
+		d2 += c;
+		c = d2 >>> 26;
+		h2 = d2 & MASK26;
+		d3 += c;
+		c = d3 >>> 26;
+		h3 = d3 & MASK26;
+		d4 += c;
+		c = d4 >>> 26;
+		h4 = d4 & MASK26;
+		h0 += c * 5;
+		c = h0 >>> 26;
+		h0 &= MASK26;
+		h1 += c;
+	}
+
+	private void nextBlock() {
+		int[] k = subkey;
+		int j0 = SIGMA0, j1 = k[0], j2 = k[1], j3 = k[2], j4 = k[3], j5 = SIGMA1, j6 = nonce0, j7 = nonce1;
+		int j8 = (int) counter, j9 = (int) (counter >>> 32), j10 = SIGMA2, j11 = k[4], j12 = k[5], j13 = k[6],
+				j14 = k[7], j15 = SIGMA3;
+		int x0 = j0, x1 = j1, x2 = j2, x3 = j3, x4 = j4, x5 = j5, x6 = j6, x7 = j7;
+		int x8 = j8, x9 = j9, x10 = j10, x11 = j11, x12 = j12, x13 = j13, x14 = j14, x15 = j15;
+		for (int i = 0; i < 10; i++) {
+			x4 ^= Integer.rotateLeft(x0 + x12, 7);
+			x8 ^= Integer.rotateLeft(x4 + x0, 9);
+			x12 ^= Integer.rotateLeft(x8 + x4, 13);
+			x0 ^= Integer.rotateLeft(x12 + x8, 18);
+			x9 ^= Integer.rotateLeft(x5 + x1, 7);
+			x13 ^= Integer.rotateLeft(x9 + x5, 9);
+			x1 ^= Integer.rotateLeft(x13 + x9, 13);
+			x5 ^= Integer.rotateLeft(x1 + x13, 18);
+			x14 ^= Integer.rotateLeft(x10 + x6, 7);
+			x2 ^= Integer.rotateLeft(x14 + x10, 9);
+			x6 ^= Integer.rotateLeft(x2 + x14, 13);
+			x10 ^= Integer.rotateLeft(x6 + x2, 18);
+			x3 ^= Integer.rotateLeft(x15 + x11, 7);
+			x7 ^= Integer.rotateLeft(x3 + x15, 9);
+			x11 ^= Integer.rotateLeft(x7 + x3, 13);
+			x15 ^= Integer.rotateLeft(x11 + x7, 18);
+
+			x1 ^= Integer.rotateLeft(x0 + x3, 7);
+			x2 ^= Integer.rotateLeft(x1 + x0, 9);
+			x3 ^= Integer.rotateLeft(x2 + x1, 13);
+			x0 ^= Integer.rotateLeft(x3 + x2, 18);
+			x6 ^= Integer.rotateLeft(x5 + x4, 7);
+			x7 ^= Integer.rotateLeft(x6 + x5, 9);
+			x4 ^= Integer.rotateLeft(x7 + x6, 13);
+			x5 ^= Integer.rotateLeft(x4 + x7, 18);
+			x11 ^= Integer.rotateLeft(x10 + x9, 7);
+			x8 ^= Integer.rotateLeft(x11 + x10, 9);
+			x9 ^= Integer.rotateLeft(x8 + x11, 13);
+			x10 ^= Integer.rotateLeft(x9 + x8, 18);
+			x12 ^= Integer.rotateLeft(x15 + x14, 7);
+			x13 ^= Integer.rotateLeft(x12 + x15, 9);
+			x14 ^= Integer.rotateLeft(x13 + x12, 13);
+			x15 ^= Integer.rotateLeft(x14 + x13, 18);
+		}
+		var ks = keystream;
+		INTS.set(ks, 0, x0 + j0);
+		INTS.set(ks, 4, x1 + j1);
+		INTS.set(ks, 8, x2 + j2);
+		INTS.set(ks, 12, x3 + j3);
+		INTS.set(ks, 16, x4 + j4);
+		INTS.set(ks, 20, x5 + j5);
+		INTS.set(ks, 24, x6 + j6);
+		INTS.set(ks, 28, x7 + j7);
+		INTS.set(ks, 32, x8 + j8);
+		INTS.set(ks, 36, x9 + j9);
+		INTS.set(ks, 40, x10 + j10);
+		INTS.set(ks, 44, x11 + j11);
+		INTS.set(ks, 48, x12 + j12);
+		INTS.set(ks, 52, x13 + j13);
+		INTS.set(ks, 56, x14 + j14);
+		INTS.set(ks, 60, x15 + j15);
+		counter++;
+	}
+
+	/**
+	 * HSalsa20 function, used to derive the XSalsa20 subkey and the shared key
+	 * from a X25519 secret.
+	 * 
+	 * @param key   32 byte key
+	 * @param in    input, 16 bytes are used
+	 * @param inOff offset of the input
+	 * @param out   8 result words
+	 */
+	static void hsalsa20(byte[] key, byte[] in, int inOff, int[] out) {
+		int x0 = SIGMA0;
+		int x1 = (int) INTS.get(key, 0);
+		int x2 = (int) INTS.get(key, 4);
+		int x3 = (int) INTS.get(key, 8);
+		int x4 = (int) INTS.get(key, 12);
+		int x5 = SIGMA1;
+		int x6 = (int) INTS.get(in, inOff);
+		int x7 = (int) INTS.get(in, inOff + 4);
+		int x8 = (int) INTS.get(in, inOff + 8);
+		int x9 = (int) INTS.get(in, inOff + 12);
+		int x10 = SIGMA2;
+		int x11 = (int) INTS.get(key, 16);
+		int x12 = (int) INTS.get(key, 20);
+		int x13 = (int) INTS.get(key, 24);
+		int x14 = (int) INTS.get(key, 28);
+		int x15 = SIGMA3;
+		for (int i = 0; i < 10; i++) {
+			x4 ^= Integer.rotateLeft(x0 + x12, 7);
+			x8 ^= Integer.rotateLeft(x4 + x0, 9);
+			x12 ^= Integer.rotateLeft(x8 + x4, 13);
+			x0 ^= Integer.rotateLeft(x12 + x8, 18);
+			x9 ^= Integer.rotateLeft(x5 + x1, 7);
+			x13 ^= Integer.rotateLeft(x9 + x5, 9);
+			x1 ^= Integer.rotateLeft(x13 + x9, 13);
+			x5 ^= Integer.rotateLeft(x1 + x13, 18);
+			x14 ^= Integer.rotateLeft(x10 + x6, 7);
+			x2 ^= Integer.rotateLeft(x14 + x10, 9);
+			x6 ^= Integer.rotateLeft(x2 + x14, 13);
+			x10 ^= Integer.rotateLeft(x6 + x2, 18);
+			x3 ^= Integer.rotateLeft(x15 + x11, 7);
+			x7 ^= Integer.rotateLeft(x3 + x15, 9);
+			x11 ^= Integer.rotateLeft(x7 + x3, 13);
+			x15 ^= Integer.rotateLeft(x11 + x7, 18);
+
+			x1 ^= Integer.rotateLeft(x0 + x3, 7);
+			x2 ^= Integer.rotateLeft(x1 + x0, 9);
+			x3 ^= Integer.rotateLeft(x2 + x1, 13);
+			x0 ^= Integer.rotateLeft(x3 + x2, 18);
+			x6 ^= Integer.rotateLeft(x5 + x4, 7);
+			x7 ^= Integer.rotateLeft(x6 + x5, 9);
+			x4 ^= Integer.rotateLeft(x7 + x6, 13);
+			x5 ^= Integer.rotateLeft(x4 + x7, 18);
+			x11 ^= Integer.rotateLeft(x10 + x9, 7);
+			x8 ^= Integer.rotateLeft(x11 + x10, 9);
+			x9 ^= Integer.rotateLeft(x8 + x11, 13);
+			x10 ^= Integer.rotateLeft(x9 + x8, 18);
+			x12 ^= Integer.rotateLeft(x15 + x14, 7);
+			x13 ^= Integer.rotateLeft(x12 + x15, 9);
+			x14 ^= Integer.rotateLeft(x13 + x12, 13);
+			x15 ^= Integer.rotateLeft(x14 + x13, 18);
+		}
+		out[0] = x0;
+		out[1] = x5;
+		out[2] = x10;
+		out[3] = x15;
+		out[4] = x6;
+		out[5] = x7;
+		out[6] = x8;
+		out[7] = x9;
+	}
+
+}
@@ -16,7 +16,9 @@
  * <p>
  * Java client for the <a href="https://gateway.threema.ch/">Threema
  * Gateway</a>. A {@link Gateway} instances can send requests to the Threema
- * gateway. A {@link GatewayCallback} is used to decode incoming requests.
+ * gateway. A {@link GatewayCallback} is used to decode incoming requests,
+ * which can be received with the embedded {@link CallbackServer} and filtered
+ * for duplicates with a {@link CallbackDeduplicator}.
  * </p>
  * 
  * <p>
@@ -54,7 +56,7 @@
  * <li>{@link Nonce}</li>
  * <li>{@link BlobId}</li>
  * <li>{@link Hash}</li>
- * <li>{@link java.security.PublicKey}</li>
+ * <li>{@link java.security.PublicKey} or {@link RawPublicKey}</li>
  * <li>{@link java.security.PrivateKey}</li>
  * <li>{@link javax.crypto.SecretKey}</li>
  * </ul>
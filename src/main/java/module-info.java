@@ -23,6 +23,8 @@ module com.mountainminds.three4j {
 	requires software.pando.crypto.nacl;
 	requires com.google.gson;
 	requires java.net.http;
+	requires static jdk.httpserver;
+	requires static jdk.jfr;
 	
 	opens com.mountainminds.three4j to com.google.gson;
 }
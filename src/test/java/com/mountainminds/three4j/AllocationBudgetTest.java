@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.GatewayTest.StubHttpClient;
+import com.mountainminds.three4j.PlainMessage.DeliveryReceipt;
+import com.mountainminds.three4j.PlainMessage.DeliveryReceipt.ReceiptType;
+import com.mountainminds.three4j.PlainMessage.File;
+import com.mountainminds.three4j.PlainMessage.File.RenderingType;
+import com.mountainminds.three4j.PlainMessage.Location;
+import com.mountainminds.three4j.PlainMessage.Text;
+
+/**
+ * Regression tests for the number of bytes allocated per operation on the send
+ * and receive paths. The budgets include some headroom for differences between
+ * JVMs and fail on substantial regressions only. Operations are warmed up
+ * before measurement so that the JIT compiler can remove short-lived objects.
+ */
+public class AllocationBudgetTest {
+
+	private static final int WARMUP = 5000;
+	private static final int ITERATIONS = 2000;
+
+	interface Operation {
+		Object run() throws Exception;
+	}
+
+	/** Keeps results reachable so that operations cannot be eliminated */
+	static volatile Object sink;
+
+	private Identity sender;
+	private Identity receiver;
+	private RawPublicKey senderKey;
+	private RawPublicKey receiverKey;
+
+	@BeforeAll
+	public static void checkSupported() {
+		assumeTrue(ThreadMetrics.getAllocatedBytes() >= 0, "Allocation measurement not supported");
+	}
+
+	@BeforeEach
+	public void setup() {
+		var senderKeys = KeyGenerator.generate();
+		var receiverKeys = KeyGenerator.generate();
+		sender = new Identity(ThreemaId.of("*SENDER1"), "secret", senderKeys.getPrivate());
+		receiver = new Identity(ThreemaId.of("*RECEIVE"), "secret", receiverKeys.getPrivate());
+		senderKey = RawPublicKey.of(senderKeys.getPublic());
+		receiverKey = RawPublicKey.of(receiverKeys.getPublic());
+	}
+
+	/**
+	 * Returns the average number of bytes allocated by the current thread for a
+	 * single execution of the given operation.
+	 */
+	static long allocatedBytes(Operation operation) throws Exception {
+		for (int i = 0; i < WARMUP; i++) {
+			sink = operation.run();
+		}
+		long before = ThreadMetrics.getAllocatedBytes();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink = operation.run();
+		}
+		return (ThreadMetrics.getAllocatedBytes() - before) / ITERATIONS;
+	}
+
+	private static void assertBudget(long budget, Operation operation) throws Exception {
+		long actual = allocatedBytes(operation);
+		assertTrue(actual <= budget, "Allocated " + actual + " bytes per operation, budget is " + budget);
+	}
+
+	@Test
+	public void encrypt_text() throws Exception {
+		var message = new Text("Hello from the allocation budget test!");
+		assertBudget(5000, () -> message.encrypt(sender, receiverKey));
+	}
+
+	@Test
+	public void encrypt_location() throws Exception {
+		var message = new Location(47.3769, 8.5417, 12.5);
+		assertBudget(5000, () -> message.encrypt(sender, receiverKey));
+	}
+
+	@Test
+	public void encrypt_file() throws Exception {
+		var blob = Blob.newFile().uploaded(BlobId.of(new byte[BlobId.SIZE]), 123456);
+		var message = new File(blob, "application/pdf", RenderingType.DEFAULT);
+		assertBudget(18000, () -> message.encrypt(sender, receiverKey));
+	}
+
+	@Test
+	public void encrypt_delivery_receipt() throws Exception {
+		var message = new DeliveryReceipt(ReceiptType.READ, 1, 2, 3, 4);
+		assertBudget(5000, () -> message.encrypt(sender, receiverKey));
+	}
+
+	@Test
+	public void decrypt_text() throws Exception {
+		var encrypted = new Text("Hello from the allocation budget test!").encrypt(sender, receiverKey);
+		assertBudget(18000, () -> encrypted.decrypt(senderKey, receiver));
+	}
+
+	@Test
+	public void gateway_callback() throws Exception {
+		var message = new Text("Hello from the allocation budget test!").encrypt(sender, receiverKey);
+		var body = GatewayCallbackTest.sign("secret", "from=SENDER01&to=%2ARECEIVE&messageId=0011223344556677"
+				+ "&date=1650000000&nonce=" + message.getNonce().getHexValue() + "&box=" + message.getHexValue())
+				.getBytes(US_ASCII);
+		assertBudget(2000, () -> new GatewayCallback(body, "secret"));
+	}
+
+	@Test
+	public void send_message() throws Exception {
+		var gateway = new Gateway(sender, new StubHttpClient(200, "0123456789abcdef"));
+		var to = ThreemaId.of("ECHOECHO");
+		var message = new Text("Hello from the allocation budget test!");
+		assertBudget(8000, () -> gateway.sendMessage(to, receiverKey, message));
+	}
+
+}
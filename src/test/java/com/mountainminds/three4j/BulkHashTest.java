@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.mountainminds.three4j.BulkHash.Type;
+
+public class BulkHashTest {
+
+	@TempDir
+	Path tmp;
+
+	@Test
+	public void of_should_hash_all_inputs() {
+		var inputs = IntStream.range(0, 1000).mapToObj(i -> "+41 79 " + i).collect(toList());
+		var hashes = BulkHash.of(Type.PHONE, inputs);
+		assertEquals(1000, hashes.size());
+		for (var i : inputs) {
+			assertEquals(Hash.ofPhone(i), hashes.get(i));
+		}
+	}
+
+	@Test
+	public void of_should_hash_duplicates_once() {
+		var hashes = BulkHash.of(Type.EMAIL, List.of("a@example.com", "b@example.com", "a@example.com"));
+		assertEquals(Map.of("a@example.com", Hash.ofEmail("a@example.com"), //
+				"b@example.com", Hash.ofEmail("b@example.com")), hashes);
+	}
+
+	@Test
+	public void ofFile_should_hash_all_lines() throws IOException {
+		var file = tmp.resolve("emails.txt");
+		Files.write(file, List.of("a@example.com", "", "b@example.com"), UTF_8);
+		var hashes = BulkHash.ofFile(Type.EMAIL, file);
+		assertEquals(Map.of("a@example.com", Hash.ofEmail("a@example.com"), //
+				"b@example.com", Hash.ofEmail("b@example.com")), hashes);
+	}
+
+	@Test
+	public void ofCsv_should_hash_column_values() throws IOException {
+		var file = tmp.resolve("contacts.csv");
+		Files.write(file, List.of("name;phone", "\"Doe; John\";+41 79 111", "Jane;\"+41 79 222\"", "Nobody;", "x"), UTF_8);
+		var hashes = BulkHash.ofCsv(Type.PHONE, file, 1, ';');
+		assertEquals(Map.of("phone", Hash.ofPhone("phone"), //
+				"+41 79 111", Hash.ofPhone("+41 79 111"), //
+				"+41 79 222", Hash.ofPhone("+41 79 222")), hashes);
+	}
+
+	@Test
+	public void csvValue_should_extract_columns() {
+		assertEquals("a", BulkHash.csvValue("a,b,c", 0, ','));
+		assertEquals("b", BulkHash.csvValue("a,b,c", 1, ','));
+		assertEquals("c", BulkHash.csvValue("a,b,c", 2, ','));
+		assertNull(BulkHash.csvValue("a,b,c", 3, ','));
+		assertEquals("", BulkHash.csvValue("a,,c", 1, ','));
+	}
+
+	@Test
+	public void csvValue_should_unquote_values() {
+		assertEquals("b,\"x\"", BulkHash.csvValue("\"a,1\",\"b,\"\"x\"\"\",c", 1, ','));
+		assertEquals("c", BulkHash.csvValue("\"a,1\",\"b,\"\"x\"\"\",c", 2, ','));
+	}
+
+	@Test
+	public void Type_hash_should_use_respective_hash_function() {
+		assertEquals(Hash.ofPhone("41791234567"), Type.PHONE.hash("41791234567"));
+		assertEquals(Hash.ofEmail("test@example.com"), Type.EMAIL.hash("test@example.com"));
+	}
+
+}
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -102,4 +103,52 @@ public class ByteArrayValueTest {
 		assertArrayEquals(expected, ByteArrayValue.fromHex("00b5ff"));
 	}
 
+	@Test
+	public void fromHex_should_decode_upper_case_hex_string() {
+		var expected = new byte[] { (byte) 0x1a, (byte) 0xb5, (byte) 0xff };
+		assertArrayEquals(expected, ByteArrayValue.fromHex("1AB5fF"));
+	}
+
+	@Test
+	public void fromHex_should_throw_IllegalArgumentException_for_odd_length() {
+		var e = assertThrows(IllegalArgumentException.class, () -> ByteArrayValue.fromHex("00b"));
+		assertEquals("Invalid hex string length: 3", e.getMessage());
+	}
+
+	@Test
+	public void fromHex_should_throw_IllegalArgumentException_for_invalid_characters() {
+		var e = assertThrows(IllegalArgumentException.class, () -> ByteArrayValue.fromHex("00bg"));
+		assertEquals("Invalid hex character: g", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class, () -> ByteArrayValue.fromHex("0\u00e4"));
+		assertEquals("Invalid hex character: \u00e4", e.getMessage());
+	}
+
+	@Test
+	public void fromHex_should_decode_ascii_bytes() {
+		var expected = new byte[] { (byte) 0x00, (byte) 0xb5, (byte) 0xff };
+		assertArrayEquals(expected, ByteArrayValue.fromHex("xx00b5ffxx".getBytes(US_ASCII), 2, 6));
+	}
+
+	@Test
+	public void fromHex_should_throw_IllegalArgumentException_for_invalid_ascii_bytes() {
+		var e = assertThrows(IllegalArgumentException.class,
+				() -> ByteArrayValue.fromHex("x0xx".getBytes(US_ASCII), 1, 2));
+		assertEquals("Invalid hex character: x", e.getMessage());
+	}
+
+	@Test
+	public void toHex_should_write_ascii_bytes() {
+		var target = new byte[8];
+		var end = ByteArrayValue.toHex(new byte[] { (byte) 0x00, (byte) 0xff, (byte) 0x83 }, target, 1);
+		assertEquals(7, end);
+		assertEquals("\u000000ff83\u0000", new String(target, US_ASCII));
+	}
+
+	@Test
+	public void getHexValue_should_return_same_value_for_subsequent_calls() {
+		var s = new Subject(new byte[] { 0x0a, 0x12, 0x34, 0x56 });
+		assertEquals("0a123456", s.getHexValue());
+		assertEquals("0a123456", s.getHexValue());
+	}
+
 }
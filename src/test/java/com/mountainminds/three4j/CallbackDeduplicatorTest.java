@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.NegativeCacheTest.MutableClock;
+
+public class CallbackDeduplicatorTest {
+
+	private final MutableClock clock = new MutableClock();
+
+	private final CallbackDeduplicator dedup = new CallbackDeduplicator(
+			WindowedKeySet.create(Duration.ofHours(1), 1000), Duration.ofHours(1), clock);
+
+	@Test
+	public void accept_should_accept_new_callbacks() {
+		assertTrue(dedup.accept(callback("SENDERXY", "0011223344556677", clock.instant())));
+		assertTrue(dedup.accept(callback("SENDERXY", "0011223344556678", clock.instant())));
+		assertTrue(dedup.accept(callback("SENDERXZ", "0011223344556677", clock.instant())));
+	}
+
+	@Test
+	public void accept_should_reject_duplicates() {
+		var callback = callback("SENDERXY", "0011223344556677", clock.instant());
+		dedup.accept(callback);
+		clock.advance(Duration.ofMinutes(59));
+
+		assertFalse(dedup.accept(callback("SENDERXY", "0011223344556677", callback.getDate())));
+		assertEquals(1, dedup.getDuplicates());
+	}
+
+	@Test
+	public void accept_should_reject_replays_older_than_window() {
+		var callback = callback("SENDERXY", "0011223344556677", clock.instant());
+		clock.advance(Duration.ofMinutes(61));
+
+		assertFalse(dedup.accept(callback));
+		assertEquals(1, dedup.getReplays());
+		assertEquals(0, dedup.getDuplicates());
+	}
+
+	@Test
+	public void filter_should_only_pass_unique_callbacks() {
+		var received = new ArrayList<GatewayCallback>();
+		var handler = dedup.filter(received::add);
+		var callback = callback("SENDERXY", "0011223344556677", clock.instant());
+
+		handler.handle(callback);
+		handler.handle(callback);
+
+		assertEquals(1, received.size());
+	}
+
+	@Test
+	public void key_should_combine_message_id_and_sender() {
+		var id = MessageId.of("0011223344556677");
+		assertNotEquals(CallbackDeduplicator.key(id, ThreemaId.of("SENDERXY")),
+				CallbackDeduplicator.key(id, ThreemaId.of("SENDERXZ")));
+		assertNotEquals(CallbackDeduplicator.key(id, ThreemaId.of("SENDERXY")),
+				CallbackDeduplicator.key(MessageId.of("0011223344556678"), ThreemaId.of("SENDERXY")));
+	}
+
+	private static GatewayCallback callback(String from, String messageId, Instant date) {
+		var message = new EncryptedMessage("0123456789abcdef", Nonce.of("001122334455667700112233445566770011223344556677"));
+		return GatewayCallbackTest.callback(from, messageId, date.getEpochSecond(), message);
+	}
+
+}
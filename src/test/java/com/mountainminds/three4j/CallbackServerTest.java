@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class CallbackServerTest {
+
+	private static final String BODY = "from=SENDERXY" //
+			+ "&to=RECEIVER" //
+			+ "&messageId=0011223344556677" //
+			+ "&date=1650000000" //
+			+ "&nonce=001122334455667700112233445566770011223344556677" //
+			+ "&box=0123456789abcdef" //
+			+ "&nickname=three4j" //
+			+ "&mac=c1d77e5a605511635c9150fb7c1f6ad9eaedf02352e981b6a1d687c742e84c15";
+
+	private final BlockingQueue<GatewayCallback> received = new LinkedBlockingQueue<>();
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	private CallbackServer server;
+
+	@AfterEach
+	public void teardown() {
+		if (server != null) {
+			server.close();
+		}
+	}
+
+	private void start(CallbackServer.Handler handler) throws Exception {
+		server = new CallbackServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "secret", handler);
+		server.setPath("/callback");
+	}
+
+	private int post(String body) throws Exception {
+		var request = HttpRequest.newBuilder(uri()).POST(BodyPublishers.ofString(body)).build();
+		return client.send(request, BodyHandlers.discarding()).statusCode();
+	}
+
+	private URI uri() {
+		var address = server.getAddress();
+		return URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/callback");
+	}
+
+	@Test
+	public void should_pass_verified_callback_to_handler() throws Exception {
+		start(received::add);
+		server.start();
+
+		assertEquals(200, post(BODY));
+
+		var callback = received.poll(5, TimeUnit.SECONDS);
+		assertEquals(ThreemaId.of("SENDERXY"), callback.getFrom());
+		assertEquals(1, server.getAccepted());
+	}
+
+	@Test
+	public void should_reject_invalid_callback() throws Exception {
+		start(received::add);
+		server.start();
+
+		assertEquals(400, post(BODY.replace("SENDERXY", "SENDERXZ")));
+
+		assertEquals(1, server.getInvalid());
+		assertEquals(0, server.getAccepted());
+		assertTrue(received.isEmpty());
+	}
+
+	@Test
+	public void should_notify_listener() throws Exception {
+		start(received::add);
+		var metrics = new GatewayMetrics();
+		server.setListener(metrics);
+		server.start();
+
+		post(BODY);
+		post(BODY.replace("SENDERXY", "SENDERXZ"));
+
+		assertEquals(2, metrics.getCallbackLatency().getCount());
+		assertEquals(1, metrics.getRejectedCallbacks());
+	}
+
+	@Test
+	public void should_reject_oversized_body() throws Exception {
+		start(received::add);
+		server.start();
+
+		assertEquals(413, post(BODY + "&x=" + "0".repeat(70000)));
+	}
+
+	@Test
+	public void should_reject_other_methods_than_POST() throws Exception {
+		start(received::add);
+		server.start();
+
+		var request = HttpRequest.newBuilder(uri()).GET().build();
+		assertEquals(405, client.send(request, BodyHandlers.discarding()).statusCode());
+	}
+
+	@Test
+	public void should_return_503_when_queue_is_full() throws Exception {
+		var blocker = new CountDownLatch(1);
+		start(callback -> {
+			try {
+				blocker.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			received.add(callback);
+		});
+		server.setQueueCapacity(1);
+		server.start();
+
+		assertEquals(200, post(BODY));
+		assertEquals(503, post(BODY));
+		assertEquals(1, server.getPending());
+		assertEquals(1, server.getRejected());
+
+		blocker.countDown();
+		received.poll(5, TimeUnit.SECONDS);
+		while (server.getPending() > 0) {
+			Thread.sleep(1);
+		}
+		assertEquals(200, post(BODY));
+	}
+
+	@Test
+	public void should_call_handler_on_configured_executor() throws Exception {
+		start(callback -> received.add(callback));
+		var threads = new LinkedBlockingQueue<String>();
+		server.setExecutor(task -> new Thread(() -> {
+			threads.add(Thread.currentThread().getName());
+			task.run();
+		}, "custom").start());
+		server.start();
+
+		assertEquals(200, post(BODY));
+
+		assertEquals("custom", threads.poll(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void should_return_503_when_handler_rejects_on_request_thread() throws Exception {
+		start(callback -> {
+			throw new RejectedExecutionException("Lane full");
+		});
+		server.setExecutor(Runnable::run);
+		server.start();
+
+		assertEquals(503, post(BODY));
+		assertEquals(1, server.getRejected());
+		assertEquals(0, server.getPending());
+	}
+
+	@Test
+	public void should_not_block_on_stalled_client() throws Exception {
+		start(received::add);
+		server.start();
+
+		var address = server.getAddress();
+		try (var stalled = new Socket(address.getAddress(), address.getPort())) {
+			var out = stalled.getOutputStream();
+			out.write(("POST /callback HTTP/1.1\r\nHost: localhost\r\nContent-Length: 1000\r\n\r\nfrom=")
+					.getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			Thread.sleep(100);
+
+			var request = HttpRequest.newBuilder(uri()).POST(BodyPublishers.ofString(BODY))
+					.timeout(Duration.ofSeconds(5)).build();
+			assertEquals(200, client.send(request, BodyHandlers.discarding()).statusCode());
+		}
+	}
+
+	@Test
+	public void setters_should_throw_IllegalStateException_after_start() throws Exception {
+		start(received::add);
+		server.start();
+
+		assertThrows(IllegalStateException.class, () -> server.setQueueCapacity(5));
+	}
+
+	@Test
+	public void setQueueCapacity_should_throw_IllegalArgumentException_for_invalid_values() throws Exception {
+		start(received::add);
+
+		var ex = assertThrows(IllegalArgumentException.class, () -> server.setQueueCapacity(0));
+		assertEquals("Invalid queue capacity: 0", ex.getMessage());
+	}
+
+}
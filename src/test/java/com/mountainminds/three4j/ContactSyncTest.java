@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.mountainminds.three4j.BulkHash.Type;
+import com.mountainminds.three4j.Gateway.IDKey;
+
+public class ContactSyncTest implements ContactSync.Listener {
+
+	@TempDir
+	Path tmp;
+
+	private Map<Hash, IDKey> directory;
+	private List<Set<Hash>> requests;
+	private List<String> events;
+	private ContactSync sync;
+
+	private Hash phone1, phone2, email1;
+	private IDKey idkey1, idkey2;
+
+	@BeforeEach
+	public void setup() {
+		directory = new HashMap<>();
+		requests = new ArrayList<>();
+		events = new ArrayList<>();
+		sync = new ContactSync(this::lookup, new ContactSync.FileStore(tmp.resolve("state")), new Random(0));
+		sync.setReverificationRate(0.0);
+		phone1 = Hash.ofPhone("41791111111");
+		phone2 = Hash.ofPhone("41792222222");
+		email1 = Hash.ofEmail("test@example.com");
+		idkey1 = new IDKey(ThreemaId.of("AAAAAAAA"), KeyGenerator.generate().getPublic());
+		idkey2 = new IDKey(ThreemaId.of("BBBBBBBB"), KeyGenerator.generate().getPublic());
+	}
+
+	private Map<Hash, IDKey> lookup(Set<Hash> phoneHashes, Set<Hash> emailHashes) {
+		var request = new HashSet<Hash>(phoneHashes);
+		request.addAll(emailHashes);
+		requests.add(request);
+		var result = new HashMap<Hash, IDKey>();
+		request.stream().filter(directory::containsKey).forEach(h -> result.put(h, directory.get(h)));
+		return result;
+	}
+
+	@Override
+	public void added(Hash hash, IDKey idkey, Type type) {
+		events.add("added " + type + " " + idkey.getId().getValue());
+	}
+
+	@Override
+	public void removed(Hash hash, IDKey previous, Type type) {
+		events.add("removed " + type + " " + previous.getId().getValue());
+	}
+
+	@Override
+	public void changed(Hash hash, IDKey previous, IDKey current, Type type) {
+		events.add("changed " + type + " " + previous.getId().getValue() + " " + current.getId().getValue());
+	}
+
+	@Test
+	public void first_sync_should_lookup_all_hashes() throws IOException {
+		directory.put(phone1, idkey1);
+		directory.put(email1, idkey2);
+
+		var stats = sync.sync(Set.of(phone1, phone2), Set.of(email1), this);
+
+		assertEquals(List.of(Set.of(phone1, phone2, email1)), requests);
+		assertEquals(Set.of("added PHONE AAAAAAAA", "added EMAIL BBBBBBBB"), Set.copyOf(events));
+		assertEquals(3, stats.getContacts());
+		assertEquals(3, stats.getLookups());
+		assertEquals(2, stats.getAdded());
+	}
+
+	@Test
+	public void second_sync_should_lookup_new_hashes_only() throws IOException {
+		directory.put(phone1, idkey1);
+		sync.sync(Set.of(phone1), Set.of(), this);
+		requests.clear();
+		events.clear();
+		directory.put(email1, idkey2);
+
+		var stats = sync.sync(Set.of(phone1), Set.of(email1), this);
+
+		assertEquals(List.of(Set.of(email1)), requests);
+		assertEquals(List.of("added EMAIL BBBBBBBB"), events);
+		assertEquals(2, stats.getContacts());
+		assertEquals(1, stats.getLookups());
+	}
+
+	@Test
+	public void sync_should_report_removed_hashes_without_lookup() throws IOException {
+		directory.put(phone1, idkey1);
+		directory.put(phone2, idkey2);
+		sync.sync(Set.of(phone1, phone2), Set.of(), this);
+		requests.clear();
+		events.clear();
+
+		var stats = sync.sync(Set.of(phone1), Set.of(), this);
+
+		assertEquals(List.of(), requests);
+		assertEquals(List.of("removed PHONE BBBBBBBB"), events);
+		assertEquals(1, stats.getRemoved());
+	}
+
+	@Test
+	public void sync_should_report_changes_of_reverified_hashes() throws IOException {
+		directory.put(phone1, idkey1);
+		directory.put(phone2, idkey1);
+		sync.sync(Set.of(phone1, phone2), Set.of(email1), this);
+		requests.clear();
+		events.clear();
+		sync.setReverificationRate(1.0);
+		directory.put(phone1, idkey2);
+		directory.remove(phone2);
+		directory.put(email1, idkey1);
+
+		var stats = sync.sync(Set.of(phone1, phone2), Set.of(email1), this);
+
+		assertEquals(List.of(Set.of(phone1, phone2, email1)), requests);
+		assertEquals(Set.of("changed PHONE AAAAAAAA BBBBBBBB", "removed PHONE AAAAAAAA", "added EMAIL AAAAAAAA"),
+				Set.copyOf(events));
+		assertEquals(1, stats.getAdded());
+		assertEquals(1, stats.getRemoved());
+		assertEquals(1, stats.getChanged());
+	}
+
+	@Test
+	public void sync_should_split_lookups_in_batches() throws IOException {
+		sync.setBatchSize(2);
+
+		sync.sync(Set.of(phone1, phone2), Set.of(email1), this);
+
+		assertEquals(2, requests.size());
+		assertEquals(2, requests.get(0).size());
+		assertEquals(1, requests.get(1).size());
+	}
+
+	@Test
+	public void FileStore_should_restore_saved_state() throws IOException {
+		var store = new ContactSync.FileStore(tmp.resolve("test"));
+		var state = new HashMap<Hash, ContactSync.Entry>();
+		state.put(phone1, new ContactSync.Entry(Type.PHONE, idkey1));
+		state.put(email1, new ContactSync.Entry(Type.EMAIL, null));
+		store.save(state);
+
+		var restored = store.load();
+
+		assertEquals(2, restored.size());
+		assertEquals(Type.PHONE, restored.get(phone1).getType());
+		assertEquals(idkey1, restored.get(phone1).getIdKey());
+		assertEquals(Type.EMAIL, restored.get(email1).getType());
+		assertNull(restored.get(email1).getIdKey());
+	}
+
+	@Test
+	public void FileStore_should_return_empty_state_when_file_does_not_exist() throws IOException {
+		assertEquals(Map.of(), new ContactSync.FileStore(tmp.resolve("none")).load());
+	}
+
+	@Test
+	public void FileStore_should_reject_invalid_files() throws IOException {
+		var file = tmp.resolve("invalid");
+		Files.write(file, new byte[] { 1, 2, 3, 4 });
+		assertThrows(IOException.class, () -> new ContactSync.FileStore(file).load());
+	}
+
+	@Test
+	public void FileStore_should_reject_invalid_entry_counts() throws IOException {
+		var file = tmp.resolve("invalid");
+		for (int count : new int[] { -1, Integer.MAX_VALUE, 1 }) {
+			Files.write(file, ByteBuffer.allocate(8).putInt(0x33344a53).putInt(count).array());
+			var e = assertThrows(IOException.class, () -> new ContactSync.FileStore(file).load());
+			assertEquals("Invalid file format: " + file, e.getMessage());
+		}
+	}
+
+	@Test
+	public void FileStore_should_reject_invalid_entry_types() throws IOException {
+		var file = tmp.resolve("invalid");
+		var content = ByteBuffer.allocate(8 + Hash.SIZE + 1 + 8).putInt(0x33344a53).putInt(1);
+		content.position(8 + Hash.SIZE);
+		content.put((byte) -1);
+		Files.write(file, content.array());
+		var e = assertThrows(IOException.class, () -> new ContactSync.FileStore(file).load());
+		assertEquals("Invalid file format: " + file, e.getMessage());
+	}
+
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.PlainMessage.Text;
+
+public class CryptoProviderTest {
+
+	@AfterEach
+	public void restore() {
+		CryptoProvider.setDefault(null);
+	}
+
+	@Test
+	public void getDefault_should_return_salty_coffee_provider() {
+		assertSame(CryptoProvider.saltyCoffee(), CryptoProvider.getDefault());
+	}
+
+	@Test
+	public void setDefault_should_replace_provider() {
+		CryptoProvider.setDefault(CryptoProvider.pureJava());
+		assertSame(CryptoProvider.pureJava(), CryptoProvider.getDefault());
+	}
+
+	@Test
+	public void messages_should_be_exchangeable_between_providers() {
+		var alice = KeyGenerator.generate();
+		var bob = KeyGenerator.generate();
+		CryptoProvider.setDefault(CryptoProvider.pureJava());
+		var encrypted = new Text("hello").encrypt(alice.getPrivate(), bob.getPublic());
+		CryptoProvider.setDefault(CryptoProvider.saltyCoffee());
+		var decrypted = (Text) encrypted.decrypt(alice.getPublic(), bob.getPrivate());
+		assertEquals("hello", decrypted.getText());
+	}
+
+	@Test
+	public void default_byte_buffer_methods_should_encrypt_and_decrypt() {
+		var provider = CryptoProvider.saltyCoffee();
+		var key = provider.agree(KeyGenerator.generate().getPrivate(), KeyGenerator.generate().getPublic());
+		var nonce = new byte[Nonce.SIZE];
+		var plaintext = new byte[] { 1, 2, 3 };
+		var box = ByteBuffer.allocate(3 + CryptoProvider.OVERHEAD);
+
+		provider.encrypt(key, nonce, ByteBuffer.wrap(plaintext), box);
+		box.flip();
+		var result = ByteBuffer.allocate(3);
+		provider.decrypt(key, nonce, box, result);
+
+		assertEquals(0, box.remaining());
+		assertArrayEquals(plaintext, result.array());
+	}
+
+	@Test
+	public void default_decrypt_should_support_identical_byte_buffer_instance() {
+		var provider = CryptoProvider.saltyCoffee();
+		var key = provider.agree(KeyGenerator.generate().getPrivate(), KeyGenerator.generate().getPublic());
+		var nonce = new byte[Nonce.SIZE];
+		var buffer = ByteBuffer.wrap(provider.encrypt(key, nonce, new byte[] { 1, 2, 3 }));
+
+		provider.decrypt(key, nonce, buffer, buffer);
+
+		assertEquals(3, buffer.position());
+		assertArrayEquals(new byte[] { 1, 2, 3 }, Arrays.copyOf(buffer.array(), 3));
+	}
+
+}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.mountainminds.three4j.NegativeCacheTest.MutableClock;
+import com.mountainminds.three4j.SendScheduler.Priority;
+
+public class DelayedDeliveryTest {
+
+	private static final ThreemaId ALICE = ThreemaId.of("ALICE001");
+	private static final ThreemaId BOB = ThreemaId.of("BOB00001");
+	private static final ThreemaId CAROL = ThreemaId.of("CAROL001");
+
+	private static final EncryptedMessage MESSAGE = new EncryptedMessage(new byte[] { 1, 2, 3 },
+			Nonce.of(new byte[Nonce.SIZE]));
+
+	@TempDir
+	Path dir;
+
+	private final MutableClock clock = new MutableClock();
+	private final List<ThreemaId> sent = Collections.synchronizedList(new ArrayList<>());
+	private final SendScheduler scheduler = new SendScheduler(this::send, 1);
+
+	private DelayedDelivery delivery = new DelayedDelivery(scheduler, Priority.LOW, Duration.ofSeconds(1), clock,
+			false);
+
+	@AfterEach
+	public void teardown() throws InterruptedException {
+		delivery.close();
+		scheduler.close();
+	}
+
+	private MessageId send(ThreemaId to, EncryptedMessage message) throws IOException {
+		if (to.equals(CAROL)) {
+			throw new IOException("unreachable");
+		}
+		sent.add(to);
+		return MessageId.fromLong(sent.size());
+	}
+
+	private void advance(Duration duration) {
+		clock.advance(duration);
+		delivery.advance();
+	}
+
+	private void awaitSent(int count) throws InterruptedException {
+		for (int i = 0; i < 500 && sent.size() < count; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, sent.size());
+	}
+
+	@Test
+	public void messages_should_be_released_when_due() throws Exception {
+		delivery.schedule(clock.instant().plusSeconds(10), ALICE, MESSAGE);
+		delivery.schedule(clock.instant().plusSeconds(5), BOB, MESSAGE);
+		assertEquals(2, delivery.getScheduled());
+
+		advance(Duration.ofSeconds(4));
+		assertEquals(0, delivery.getReleased());
+
+		advance(Duration.ofSeconds(1));
+		assertEquals(1, delivery.getReleased());
+		awaitSent(1);
+		assertEquals(List.of(BOB), sent);
+
+		advance(Duration.ofHours(1));
+		assertEquals(2, delivery.getReleased());
+		assertEquals(0, delivery.getScheduled());
+		awaitSent(2);
+	}
+
+	@Test
+	public void schedule_should_round_up_to_next_tick() throws Exception {
+		delivery.schedule(clock.instant().plusMillis(1500), ALICE, MESSAGE);
+
+		advance(Duration.ofMillis(1500));
+		assertEquals(0, delivery.getReleased());
+
+		advance(Duration.ofMillis(500));
+		assertEquals(1, delivery.getReleased());
+	}
+
+	@Test
+	public void past_messages_should_be_released_with_next_tick() throws Exception {
+		delivery.schedule(clock.instant().minusSeconds(60), ALICE, MESSAGE);
+
+		delivery.advance();
+
+		assertEquals(1, delivery.getReleased());
+		awaitSent(1);
+	}
+
+	@Test
+	public void listener_should_be_notified_about_send_outcomes() throws Exception {
+		var outcomes = new LinkedBlockingQueue<String>();
+		delivery.setListener(new DelayedDelivery.Listener() {
+			@Override
+			public void sent(ThreemaId to, EncryptedMessage message, MessageId id) {
+				outcomes.add("sent:" + to.getValue());
+			}
+
+			@Override
+			public void failed(ThreemaId to, EncryptedMessage message, Throwable failure) {
+				outcomes.add("failed:" + to.getValue() + ":" + failure.getMessage());
+			}
+		});
+		delivery.schedule(clock.instant().plusSeconds(1), ALICE, MESSAGE);
+		advance(Duration.ofSeconds(1));
+		assertEquals("sent:ALICE001", outcomes.poll(5, TimeUnit.SECONDS));
+
+		delivery.schedule(clock.instant().plusSeconds(1), CAROL, MESSAGE);
+		advance(Duration.ofSeconds(1));
+		assertEquals("failed:CAROL001:unreachable", outcomes.poll(5, TimeUnit.SECONDS));
+
+		assertEquals(2, delivery.getReleased());
+		assertEquals(1, delivery.getFailed());
+	}
+
+	@Test
+	public void advance_should_count_rejected_messages() throws Exception {
+		var failures = new ArrayList<Throwable>();
+		delivery.setListener(new DelayedDelivery.Listener() {
+			@Override
+			public void sent(ThreemaId to, EncryptedMessage message, MessageId id) {
+			}
+
+			@Override
+			public void failed(ThreemaId to, EncryptedMessage message, Throwable failure) {
+				failures.add(failure);
+				throw new IllegalStateException("listener");
+			}
+		});
+		scheduler.close();
+		delivery.schedule(clock.instant().plusSeconds(1), ALICE, MESSAGE);
+		delivery.schedule(clock.instant().plusSeconds(1), BOB, MESSAGE);
+
+		advance(Duration.ofSeconds(1));
+
+		assertEquals(0, delivery.getReleased());
+		assertEquals(2, delivery.getFailed());
+		assertEquals(2, failures.size());
+		assertTrue(failures.get(0) instanceof RejectedExecutionException);
+	}
+
+	@Test
+	public void cancel_should_remove_message() throws Exception {
+		long handle = delivery.schedule(clock.instant().plusSeconds(10), ALICE, MESSAGE);
+
+		assertTrue(delivery.cancel(handle));
+		assertFalse(delivery.cancel(handle));
+		advance(Duration.ofSeconds(10));
+
+		assertEquals(0, delivery.getScheduled());
+		assertEquals(0, delivery.getReleased());
+	}
+
+	@Test
+	public void load_should_restore_saved_messages() throws Exception {
+		var file = dir.resolve("delayed.bin");
+		delivery.schedule(clock.instant().plusSeconds(10), ALICE, MESSAGE);
+		delivery.schedule(clock.instant().plus(Duration.ofDays(400)), BOB, MESSAGE);
+		delivery.save(file);
+		delivery.close();
+
+		delivery = new DelayedDelivery(scheduler, Priority.LOW, Duration.ofSeconds(1), clock, false);
+		assertEquals(2, delivery.load(file));
+		assertEquals(2, delivery.getScheduled());
+
+		advance(Duration.ofSeconds(10));
+		awaitSent(1);
+		assertEquals(List.of(ALICE), sent);
+		advance(Duration.ofDays(400));
+		awaitSent(2);
+	}
+
+	@Test
+	public void load_should_preserve_message_content() throws Exception {
+		var file = dir.resolve("delayed.bin");
+		delivery.schedule(clock.instant(), ALICE, MESSAGE);
+		delivery.save(file);
+
+		var messages = new ArrayList<EncryptedMessage>();
+		try (var scheduler = new SendScheduler((to, message) -> {
+			messages.add(message);
+			return MessageId.fromLong(1);
+		}, 1); var other = new DelayedDelivery(scheduler, Priority.LOW, Duration.ofSeconds(1), clock, false)) {
+			other.load(file);
+			other.advance();
+		}
+
+		assertEquals(1, messages.size());
+		assertArrayEquals(MESSAGE.getValue(), messages.get(0).getValue());
+		assertEquals(MESSAGE.getNonce(), messages.get(0).getNonce());
+	}
+
+	@Test
+	public void load_should_throw_IOException_for_invalid_file() throws IOException {
+		var file = dir.resolve("delayed.bin");
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6 });
+
+		var e = assertThrows(IOException.class, () -> delivery.load(file));
+		assertEquals("Invalid file format: " + file, e.getMessage());
+	}
+
+	@Test
+	public void constructor_should_throw_IllegalArgumentException_for_invalid_tick() {
+		var e = assertThrows(IllegalArgumentException.class,
+				() -> new DelayedDelivery(scheduler, Priority.LOW, Duration.ZERO, clock, false));
+		assertEquals("Invalid tick: PT0S", e.getMessage());
+	}
+
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+
+public class DrbgRandomSourceTest {
+
+	@Test
+	public void generator_should_be_deterministic_for_same_seed() {
+		var a = new DrbgRandomSource.Generator(new byte[32]);
+		var b = new DrbgRandomSource.Generator(new byte[32]);
+		var bytesA = new byte[10000];
+		var bytesB = new byte[10000];
+		a.nextBytes(bytesA);
+		b.nextBytes(bytesB);
+		assertArrayEquals(bytesA, bytesB);
+	}
+
+	@Test
+	public void generator_should_create_different_output_for_different_seeds() {
+		var seed = new byte[32];
+		var a = new DrbgRandomSource.Generator(seed);
+		seed[0] = 1;
+		var b = new DrbgRandomSource.Generator(seed);
+		var bytesA = new byte[64];
+		var bytesB = new byte[64];
+		a.nextBytes(bytesA);
+		b.nextBytes(bytesB);
+		assertFalse(Arrays.equals(bytesA, bytesB));
+	}
+
+	@Test
+	public void generator_should_not_repeat_output_across_blocks() {
+		var generator = new DrbgRandomSource.Generator(new byte[32]);
+		var nonces = new HashSet<String>();
+		for (int i = 0; i < 10000; i++) {
+			var nonce = new byte[Nonce.SIZE];
+			generator.nextBytes(nonce);
+			nonces.add(ByteArrayValue.toHex(nonce));
+		}
+		assertEquals(10000, nonces.size());
+	}
+
+	@Test
+	public void nextBytes_should_create_different_values_on_different_threads() throws Exception {
+		var bytes = new byte[32];
+		var other = new byte[32];
+		DrbgRandomSource.INSTANCE.nextBytes(bytes);
+		var thread = new Thread(() -> DrbgRandomSource.INSTANCE.nextBytes(other));
+		thread.start();
+		thread.join();
+		assertNotEquals(ByteArrayValue.toHex(bytes), ByteArrayValue.toHex(other));
+	}
+
+}
@@ -53,6 +53,18 @@ public class EncryptionDecryptionTest {
 		assertEquals("secret123", decrypted.getText());
 	}
 
+	@Test
+	public void should_encrypt_and_decrypt_with_raw_public_keys() {
+		var msg = new Text("secret123");
+		var alicePublic = RawPublicKey.of(KeyEncoder.encode(alice.getPublic()));
+		var bobPublic = RawPublicKey.of(KeyEncoder.encode(bob.getPublic()));
+
+		var encrypted = msg.encrypt(alice.getPrivate(), bobPublic);
+		var decrypted = (Text) encrypted.decrypt(alicePublic, bob.getPrivate());
+
+		assertEquals("secret123", decrypted.getText());
+	}
+
 	@Test
 	public void should_encrypt_and_decrypt_location_messages() {
 		var msg = new Location(46.947, 7.444, 40.0);
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.mountainminds.three4j.GatewayTest.StubHttpClient;
+import com.mountainminds.three4j.PlainMessage.Text;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderEventsTest {
+
+	@TempDir
+	Path dir;
+
+	private List<RecordedEvent> record(String event, Runnable action) throws IOException {
+		try (var recording = new Recording()) {
+			recording.enable(event).withoutThreshold();
+			recording.start();
+			action.run();
+			recording.stop();
+			var file = dir.resolve("recording.jfr");
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream() //
+					.filter(e -> e.getEventType().getName().equals(event)) //
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Test
+	public void start_should_return_null_when_disabled() {
+		assertNull(FlightRecorderEvents.startGatewayRequest());
+		assertNull(FlightRecorderEvents.startMessageCrypto());
+		assertNull(FlightRecorderEvents.startBlobCrypto());
+		assertNull(FlightRecorderEvents.startCallback());
+	}
+
+	@Test
+	public void start_should_return_null_in_default_recordings() throws Exception {
+		for (var name : List.of("default", "profile")) {
+			try (var recording = new Recording(Configuration.getConfiguration(name))) {
+				recording.start();
+
+				assertNull(FlightRecorderEvents.startGatewayRequest(), name);
+				assertNull(FlightRecorderEvents.startMessageCrypto(), name);
+				assertNull(FlightRecorderEvents.startBlobCrypto(), name);
+				assertNull(FlightRecorderEvents.startCallback(), name);
+			}
+		}
+	}
+
+	@Test
+	public void should_record_gateway_requests() throws IOException {
+		var gw = new Gateway(ThreemaId.of("*GWYTEST"), "secret", new StubHttpClient(200, "42"));
+
+		var events = record("com.mountainminds.three4j.GatewayRequest", () -> {
+			try {
+				gw.getRemainingCredits();
+			} catch (IOException e) {
+				throw new AssertionError(e);
+			}
+		});
+
+		assertEquals(1, events.size());
+		assertEquals("CREDITS", events.get(0).getString("endpoint"));
+		assertEquals(200, events.get(0).getInt("status"));
+		assertEquals(2, events.get(0).getLong("responseSize"));
+		assertNull(events.get(0).getString("failure"));
+	}
+
+	@Test
+	public void should_record_failed_gateway_requests() throws IOException {
+		var gw = new Gateway(ThreemaId.of("*GWYTEST"), "secret", new StubHttpClient(new IOException("offline")));
+
+		var events = record("com.mountainminds.three4j.GatewayRequest", () -> {
+			assertThrows(IOException.class, () -> gw.getRemainingCredits());
+		});
+
+		assertEquals(1, events.size());
+		assertEquals(0, events.get(0).getInt("status"));
+		assertEquals("java.io.IOException: offline", events.get(0).getString("failure"));
+	}
+
+	@Test
+	public void should_record_message_encryption() throws IOException {
+		var sender = KeyGenerator.generate();
+		var receiver = KeyGenerator.generate();
+
+		var events = record("com.mountainminds.three4j.MessageCrypto", () -> {
+			var encrypted = new Text("hello").encrypt(sender.getPrivate(), receiver.getPublic());
+			encrypted.decrypt(sender.getPublic(), receiver.getPrivate());
+		});
+
+		assertEquals(2, events.size());
+		assertEquals("encrypt", events.get(0).getString("operation"));
+		assertEquals("decrypt", events.get(1).getString("operation"));
+		assertEquals(Text.TYPE, events.get(1).getInt("messageType"));
+		assertEquals(events.get(0).getInt("size"), events.get(1).getInt("size"));
+	}
+
+	@Test
+	public void should_record_blob_encryption() throws IOException {
+		var blob = Blob.newFile();
+
+		var events = record("com.mountainminds.three4j.BlobCrypto", () -> {
+			blob.decrypt(blob.encrypt(new byte[100]));
+		});
+
+		assertEquals(2, events.size());
+		assertEquals("encrypt", events.get(0).getString("operation"));
+		assertEquals(116, events.get(0).getInt("size"));
+		assertEquals("decrypt", events.get(1).getString("operation"));
+	}
+
+	@Test
+	public void should_record_callbacks() throws IOException {
+		var body = GatewayCallbackTest.sign("secret", "from=SENDER01&to=RECEIVER&messageId=0011223344556677"
+				+ "&date=1650000000&nonce=" + "00".repeat(Nonce.SIZE) + "&box=010203");
+
+		var events = record("com.mountainminds.three4j.Callback", () -> {
+			new GatewayCallback(body, "secret");
+			assertThrows(IllegalArgumentException.class, () -> new GatewayCallback(body, "wrong"));
+		});
+
+		assertEquals(2, events.size());
+		assertTrue(events.get(0).getBoolean("valid"));
+		assertFalse(events.get(1).getBoolean("valid"));
+		assertEquals(body.length(), events.get(1).getInt("size"));
+	}
+
+}
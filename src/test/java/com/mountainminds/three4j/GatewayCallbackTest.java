@@ -13,9 +13,14 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 
 import org.junit.jupiter.api.Test;
@@ -43,6 +48,98 @@ public class GatewayCallbackTest {
 		assertEquals(Nonce.of("001122334455667700112233445566770011223344556677"), callback.getMessage().getNonce());
 	}
 
+	private static final String BODY = "from=SENDERXY" //
+			+ "&to=RECEIVER" //
+			+ "&messageId=0011223344556677" //
+			+ "&date=1650000000" //
+			+ "&nonce=001122334455667700112233445566770011223344556677" //
+			+ "&box=0123456789abcdef" //
+			+ "&nickname=three4j" //
+			+ "&mac=c1d77e5a605511635c9150fb7c1f6ad9eaedf02352e981b6a1d687c742e84c15";
+
+	@Test
+	public void init_should_decode_heap_ByteBuffer() {
+		var buffer = ByteBuffer.allocate(BODY.length() + 10);
+		buffer.position(5);
+		buffer.put(BODY.getBytes(US_ASCII));
+		buffer.flip().position(5);
+
+		var callback = new GatewayCallback(buffer.slice(), "secret");
+
+		assertEquals(ThreemaId.of("SENDERXY"), callback.getFrom());
+		assertEquals("0123456789abcdef", callback.getMessage().getHexValue());
+	}
+
+	@Test
+	public void init_should_decode_direct_ByteBuffer_without_changing_position() {
+		var buffer = ByteBuffer.allocateDirect(BODY.length());
+		buffer.put(BODY.getBytes(US_ASCII)).flip();
+
+		var callback = new GatewayCallback(buffer, "secret");
+
+		assertEquals(ThreemaId.of("RECEIVER"), callback.getTo());
+		assertEquals("three4j", callback.getNickname());
+		assertEquals(0, buffer.position());
+	}
+
+	@Test
+	public void init_should_decode_url_encoded_values() {
+		var body = sign("secret", "from=%2AGATEWAY&to=RECEIVER&messageId=0011223344556677&date=1650000000"
+				+ "&nonce=001122334455667700112233445566770011223344556677&box=0123456789abcdef");
+		body += "&nickname=" + URLEncoder.encode("Grüezi mitenand", UTF_8);
+
+		var callback = new GatewayCallback(body, "secret");
+
+		assertEquals(ThreemaId.of("*GATEWAY"), callback.getFrom());
+		assertEquals("Grüezi mitenand", callback.getNickname());
+	}
+
+	@Test
+	public void init_should_decode_body_without_nickname() {
+		var body = sign("other", "from=SENDERXY&to=RECEIVER&messageId=0011223344556677&date=1650000000"
+				+ "&nonce=001122334455667700112233445566770011223344556677&box=0123456789abcdef");
+
+		var callback = new GatewayCallback(body, "other");
+
+		assertNull(callback.getNickname());
+	}
+
+	@Test
+	public void init_should_use_given_secret_on_subsequent_calls() {
+		new GatewayCallback(BODY, "secret");
+		var ex = assertThrows(IllegalArgumentException.class, () -> new GatewayCallback(BODY, "other"));
+		assertEquals("Invalid signature", ex.getMessage());
+		new GatewayCallback(BODY, "secret");
+	}
+
+	@Test
+	public void init_should_throw_IllegalArgumentException_when_mac_is_truncated() {
+		var body = BODY.substring(0, BODY.length() - 2);
+		var ex = assertThrows(IllegalArgumentException.class, () -> new GatewayCallback(body, "secret"));
+		assertEquals("Invalid signature", ex.getMessage());
+	}
+
+	@Test
+	public void init_should_throw_IllegalArgumentException_when_parameter_is_duplicated() {
+		var ex = assertThrows(IllegalArgumentException.class,
+				() -> new GatewayCallback("from=x&to=x&from=y", "x"));
+		assertEquals("Duplicate parameter from", ex.getMessage());
+	}
+
+	@Test
+	public void init_should_throw_IllegalArgumentException_when_url_encoding_is_invalid() {
+		var ex = assertThrows(IllegalArgumentException.class, () -> new GatewayCallback("from=%2", "x"));
+		assertEquals("Invalid url encoding for parameter from", ex.getMessage());
+	}
+
+	@Test
+	public void init_should_throw_IllegalArgumentException_when_date_is_invalid() {
+		var body = sign("secret", "from=SENDERXY&to=RECEIVER&messageId=0011223344556677&date=16500x0000"
+				+ "&nonce=001122334455667700112233445566770011223344556677&box=0123456789abcdef");
+		var ex = assertThrows(IllegalArgumentException.class, () -> new GatewayCallback(body, "secret"));
+		assertEquals("Invalid number for parameter date: 16500x0000", ex.getMessage());
+	}
+
 	@Test
 	public void init_should_throw_IllegalArgumentException_when_parameter_is_missing() {
 		var ex = assertThrows(IllegalArgumentException.class,
@@ -63,4 +160,20 @@ public class GatewayCallbackTest {
 				() -> new GatewayCallback("from=x&to=x&messageId=x&date=x&nonce=x&box=x&mac=x", "x"));
 		assertEquals("Invalid signature", ex.getMessage());
 	}
+
+	static GatewayCallback callback(String from, String messageId, long date, EncryptedMessage message) {
+		var body = sign("secret", "from=" + from + "&to=RECEIVER&messageId=" + messageId + "&date=" + date
+				+ "&nonce=" + message.getNonce().getHexValue() + "&box=" + message.getHexValue());
+		return new GatewayCallback(body, "secret");
+	}
+
+	static String sign(String secret, String body) {
+		var mac = Hash.newMAC(secret.getBytes(US_ASCII));
+		for (var param : body.split("&")) {
+			var value = param.substring(param.indexOf('=') + 1);
+			mac.update(value.replace("%2A", "*").getBytes(US_ASCII));
+		}
+		return body + "&mac=" + ByteArrayValue.toHex(mac.doFinal());
+	}
+
 }
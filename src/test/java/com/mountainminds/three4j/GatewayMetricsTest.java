@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.GatewayListener.Endpoint;
+
+public class GatewayMetricsTest {
+
+	private final GatewayMetrics metrics = new GatewayMetrics();
+
+	@Test
+	public void requestCompleted_should_record_per_endpoint() {
+		metrics.requestCompleted(Endpoint.SEND_E2E, 200, 1000, 300, 16);
+		metrics.requestCompleted(Endpoint.SEND_E2E, 200, 3000, 300, 16);
+		metrics.requestCompleted(Endpoint.SEND_E2E, 402, 2000, 300, 0);
+
+		var latency = metrics.getLatency(Endpoint.SEND_E2E);
+		assertEquals(3, latency.getCount());
+		assertEquals(Duration.ofNanos(2000), latency.getMean());
+		assertEquals(2, metrics.getStatusCount(Endpoint.SEND_E2E, 200));
+		assertEquals(1, metrics.getStatusCount(Endpoint.SEND_E2E, 402));
+		assertEquals(900, metrics.getRequestBytes(Endpoint.SEND_E2E));
+		assertEquals(32, metrics.getResponseBytes(Endpoint.SEND_E2E));
+		assertEquals(0, metrics.getLatency(Endpoint.CREDITS).getCount());
+	}
+
+	@Test
+	public void requestFailed_should_count_failures() {
+		metrics.requestFailed(Endpoint.CREDITS, 5000, 0, new IOException());
+
+		assertEquals(1, metrics.getFailures(Endpoint.CREDITS));
+		assertEquals(1, metrics.getLatency(Endpoint.CREDITS).getCount());
+		assertEquals(0, metrics.getFailures(Endpoint.SEND_E2E));
+	}
+
+	@Test
+	public void getStatusCount_should_ignore_unknown_status() {
+		metrics.requestCompleted(Endpoint.CREDITS, 999, 1, 0, 0);
+
+		assertEquals(0, metrics.getStatusCount(Endpoint.CREDITS, 999));
+		assertEquals(0, metrics.getStatusCount(Endpoint.CREDITS, -1));
+	}
+
+	@Test
+	public void callbacks_and_crypto_should_be_recorded() {
+		metrics.callbackVerified(100, 400);
+		metrics.callbackRejected(50, 400, new IllegalArgumentException());
+		metrics.messageEncrypted(70, 64);
+		metrics.messageDecrypted(80, 64);
+
+		assertEquals(2, metrics.getCallbackLatency().getCount());
+		assertEquals(1, metrics.getRejectedCallbacks());
+		assertEquals(Duration.ofNanos(70), metrics.getEncryptionLatency().getMax());
+		assertEquals(Duration.ofNanos(80), metrics.getDecryptionLatency().getMax());
+	}
+
+}
@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.PushPromiseHandler;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.GatewayListener.Endpoint;
+import com.sun.net.httpserver.HttpServer;
+
+public class GatewayTest {
+
+	@Test
+	public void e2eBody_should_contain_encoded_parameters() {
+		var gw = new Gateway(ThreemaId.of("*GWYTEST"), "se&cret", null);
+		var msg = new EncryptedMessage(new byte[] { 0x01, (byte) 0xfe }, Nonce.of(new byte[Nonce.SIZE]));
+		var body = gw.e2eBody(ThreemaId.of("ABCDEFGH"), msg).toByteArray();
+		assertEquals("from=*GWYTEST&secret=se%26cret&to=ABCDEFGH&box=01fe"
+				+ "&nonce=000000000000000000000000000000000000000000000000", new String(body, US_ASCII));
+	}
+
+	@Test
+	public void getIdByPhoneNumber_should_not_request_cached_absent_hashes() {
+		var gw = new Gateway(ThreemaId.of("*GWYTEST"), "secret", null);
+		var cache = new NegativeCache(100, 0.01, Duration.ofDays(1));
+		var hash = Hash.ofPhone("41791234567");
+		cache.add(hash);
+		gw.setNegativeCache(cache);
+
+		var e = assertThrows(GatewayException.class, () -> gw.getIdByPhoneNumber(hash));
+		assertEquals(GatewayException.STATUS_NOTFOUND, e.getStatus());
+		assertEquals("No matching ID for " + hash + " (404)", e.getMessage());
+	}
+
+	@Test
+	public void bulkLookup_should_not_request_cached_absent_hashes() throws Exception {
+		var gw = new Gateway(ThreemaId.of("*GWYTEST"), "secret", null);
+		var cache = new NegativeCache(100, 0.01, Duration.ofDays(1));
+		var phone = Hash.ofPhone("41791234567");
+		var email = Hash.ofEmail("test@example.com");
+		cache.add(phone);
+		cache.add(email);
+		gw.setNegativeCache(cache);
+
+		assertEquals(Map.of(), gw.bulkLookup(Set.of(phone), Set.of(email)));
+	}
+
+	@Test
+	public void listener_should_be_notified_about_requests() throws Exception {
+		var client = new StubHttpClient(200, "0123456789abcdef");
+		var gw = new Gateway(ThreemaId.of("*GWYTEST"), "secret", client);
+		var events = new ArrayList<String>();
+		gw.setListener(new GatewayListener() {
+			@Override
+			public void requestCompleted(Endpoint endpoint, int status, long nanos, long requestSize,
+					long responseSize) {
+				events.add(endpoint + " " + status + " " + requestSize + " " + responseSize);
+			}
+		});
+		var msg = new EncryptedMessage(new byte[] { 0x01, (byte) 0xfe }, Nonce.of(new byte[Nonce.SIZE]));
+
+		gw.sendMessage(ThreemaId.of("ABCDEFGH"), msg);
+
+		long requestSize = gw.e2eBody(ThreemaId.of("ABCDEFGH"), msg).toByteArray().length;
+		assertEquals(List.of("SEND_E2E 200 " + requestSize + " 16"), events);
+	}
+
+	@Test
+	public void listener_should_be_notified_about_error_status() throws Exception {
+		var client = new StubHttpClient(401, "");
+		var gw = new Gateway(ThreemaId.of("*GWYTEST"), "secret", client);
+		var metrics = new GatewayMetrics();
+		gw.setListener(metrics);
+
+		assertThrows(GatewayException.class, () -> gw.getRemainingCredits());
+
+		assertEquals(1, metrics.getStatusCount(Endpoint.CREDITS, 401));
+		assertEquals(0, metrics.getRequestBytes(Endpoint.CREDITS));
+	}
+
+	@Test
+	public void listener_should_be_notified_about_failures() throws Exception {
+		var client = new StubHttpClient(new IOException("offline"));
+		var gw = new Gateway(ThreemaId.of("*GWYTEST"), "secret", client);
+		var failures = new ArrayList<IOException>();
+		gw.setListener(new GatewayListener() {
+			@Override
+			public void requestFailed(Endpoint endpoint, long nanos, long requestSize, IOException exception) {
+				assertEquals(Endpoint.CAPABILITIES, endpoint);
+				failures.add(exception);
+			}
+		});
+
+		var e = assertThrows(IOException.class, () -> gw.getCapabilities(ThreemaId.of("ABCDEFGH")));
+
+		assertEquals(List.of(e), failures);
+	}
+
+	@Test
+	public void listener_should_be_notified_about_encryption() throws Exception {
+		var keys = KeyGenerator.generate();
+		var identity = new Identity(ThreemaId.of("*GWYTEST"), "secret", keys.getPrivate());
+		var gw = new Gateway(identity, new StubHttpClient(200, "0123456789abcdef"));
+		var metrics = new GatewayMetrics();
+		gw.setListener(metrics);
+
+		gw.sendMessage(ThreemaId.of("ABCDEFGH"), RawPublicKey.of(keys.getPublic()), new PlainMessage.Text("hi"));
+
+		assertEquals(1, metrics.getEncryptionLatency().getCount());
+		assertEquals(1, metrics.getStatusCount(Endpoint.SEND_E2E, 200));
+	}
+
+	@Test
+	public void requests_should_be_sent_to_configured_base_url() throws Exception {
+		var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		var paths = new ArrayList<String>();
+		server.createContext("/stub/", exchange -> {
+			paths.add(exchange.getRequestURI().getPath());
+			var body = "42".getBytes(US_ASCII);
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		server.start();
+		try {
+			var identity = new Identity(ThreemaId.of("*GWYTEST"), "secret", KeyGenerator.generate().getPrivate());
+			var baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/stub/";
+			var gw = new Gateway(identity, HttpClient.newHttpClient(), baseUrl);
+
+			assertEquals(42, gw.getRemainingCredits());
+			assertEquals(List.of("/stub/credits"), paths);
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	/**
+	 * HTTP client which answers every request with a fixed response.
+	 */
+	static class StubHttpClient extends HttpClient {
+
+		private final int status;
+		private final String body;
+		private final IOException failure;
+
+		StubHttpClient(int status, String body) {
+			this.status = status;
+			this.body = body;
+			this.failure = null;
+		}
+
+		StubHttpClient(IOException failure) {
+			this.status = 0;
+			this.body = null;
+			this.failure = failure;
+		}
+
+		@Override
+		public <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> handler) throws IOException {
+			if (failure != null) {
+				throw failure;
+			}
+			var subscriber = handler.apply(new HttpResponse.ResponseInfo() {
+				@Override
+				public int statusCode() {
+					return status;
+				}
+
+				@Override
+				public HttpHeaders headers() {
+					return HttpHeaders.of(Map.of(), (k, v) -> true);
+				}
+
+				@Override
+				public Version version() {
+					return Version.HTTP_1_1;
+				}
+			});
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscriber.onNext(List.of(ByteBuffer.wrap(body.getBytes(US_ASCII))));
+			subscriber.onComplete();
+			var result = subscriber.getBody().toCompletableFuture().join();
+			return new HttpResponse<T>() {
+				@Override
+				public int statusCode() {
+					return status;
+				}
+
+				@Override
+				public HttpRequest request() {
+					return request;
+				}
+
+				@Override
+				public Optional<HttpResponse<T>> previousResponse() {
+					return Optional.empty();
+				}
+
+				@Override
+				public HttpHeaders headers() {
+					return HttpHeaders.of(Map.of(), (k, v) -> true);
+				}
+
+				@Override
+				public T body() {
+					return result;
+				}
+
+				@Override
+				public Optional<SSLSession> sslSession() {
+					return Optional.empty();
+				}
+
+				@Override
+				public URI uri() {
+					return request.uri();
+				}
+
+				@Override
+				public Version version() {
+					return Version.HTTP_1_1;
+				}
+			};
+		}
+
+		@Override
+		public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, BodyHandler<T> handler) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, BodyHandler<T> handler,
+				PushPromiseHandler<T> pushPromiseHandler) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<CookieHandler> cookieHandler() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Optional<Duration> connectTimeout() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Redirect followRedirects() {
+			return Redirect.NEVER;
+		}
+
+		@Override
+		public Optional<ProxySelector> proxy() {
+			return Optional.empty();
+		}
+
+		@Override
+		public SSLContext sslContext() {
+			return null;
+		}
+
+		@Override
+		public SSLParameters sslParameters() {
+			return null;
+		}
+
+		@Override
+		public Optional<Authenticator> authenticator() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Version version() {
+			return Version.HTTP_1_1;
+		}
+
+		@Override
+		public Optional<Executor> executor() {
+			return Optional.empty();
+		}
+
+	}
+
+}
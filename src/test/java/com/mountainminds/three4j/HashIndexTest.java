@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.mountainminds.three4j.Gateway.IDKey;
+
+public class HashIndexTest {
+
+	@TempDir
+	Path tmp;
+
+	private HashIndex index;
+
+	private IDKey idkey1, idkey2;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		index = HashIndex.create(tmp.resolve("index"), 100);
+		idkey1 = new IDKey(ThreemaId.of("AAAAAAAA"), KeyGenerator.generate().getPublic());
+		idkey2 = new IDKey(ThreemaId.of("BBBBBBBB"), KeyGenerator.generate().getPublic());
+	}
+
+	@AfterEach
+	public void teardown() throws IOException {
+		index.close();
+	}
+
+	@Test
+	public void create_should_allocate_requested_capacity() {
+		assertEquals(0, index.size());
+		assertEquals(192, index.capacity());
+	}
+
+	@Test
+	public void get_should_return_null_for_unknown_hash() {
+		assertNull(index.get(Hash.ofPhone("41791234567")));
+		assertNull(index.getId(Hash.ofPhone("41791234567")));
+	}
+
+	@Test
+	public void put_should_add_entry() {
+		var hash = Hash.ofPhone("41791234567");
+		index.put(hash, idkey1);
+		assertEquals(idkey1, index.get(hash));
+		assertEquals(idkey1.getId(), index.getId(hash));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void put_should_replace_existing_entry() {
+		var hash = Hash.ofPhone("41791234567");
+		index.put(hash, idkey1);
+		index.put(hash, idkey2);
+		assertEquals(idkey2, index.get(hash));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void put_should_throw_IllegalStateException_when_capacity_is_exceeded() {
+		for (int i = 0; i < index.capacity(); i++) {
+			index.put(Hash.ofPhone(String.valueOf(i)), idkey1);
+		}
+		var e = assertThrows(IllegalStateException.class, () -> index.put(Hash.ofPhone("999999"), idkey1));
+		assertEquals("Index capacity exceeded: 192", e.getMessage());
+		for (int i = 0; i < index.capacity(); i++) {
+			assertEquals(idkey1, index.get(Hash.ofPhone(String.valueOf(i))));
+		}
+	}
+
+	@Test
+	public void open_should_restore_entries() throws IOException {
+		var hash1 = Hash.ofPhone("41791234567");
+		var hash2 = Hash.ofEmail("test@example.com");
+		index.putAll(Map.of(hash1, idkey1, hash2, idkey2));
+		index.close();
+
+		index = HashIndex.open(tmp.resolve("index"));
+
+		assertEquals(2, index.size());
+		assertEquals(idkey1, index.get(hash1));
+		assertEquals(idkey2, index.get(hash2));
+	}
+
+	@Test
+	public void open_should_reject_invalid_files() throws IOException {
+		var file = tmp.resolve("invalid");
+		Files.write(file, new byte[100]);
+		var e = assertThrows(IOException.class, () -> HashIndex.open(file));
+		assertEquals("Invalid index file: " + file, e.getMessage());
+	}
+
+	@Test
+	public void cachedLookup_should_only_forward_unknown_hashes() throws IOException {
+		var hash1 = Hash.ofPhone("41791234567");
+		var hash2 = Hash.ofEmail("test@example.com");
+		var hash3 = Hash.ofEmail("unknown@example.com");
+		index.put(hash1, idkey1);
+		var requests = new ArrayList<List<Set<Hash>>>();
+		var lookup = index.cachedLookup((phones, emails) -> {
+			requests.add(List.of(phones, emails));
+			return Map.of(hash2, idkey2);
+		});
+
+		var result = lookup.lookup(Set.of(hash1), Set.of(hash2, hash3));
+
+		assertEquals(Map.of(hash1, idkey1, hash2, idkey2), result);
+		assertEquals(List.of(List.of(Set.of(), Set.of(hash2, hash3))), requests);
+		assertEquals(idkey2, index.get(hash2));
+	}
+
+	@Test
+	public void get_should_never_return_partial_updates() throws Exception {
+		var hash = Hash.ofPhone("41791234567");
+		index.put(hash, idkey1);
+		var stop = new AtomicBoolean();
+		var failure = new AtomicReference<IDKey>();
+		var reader = new Thread(() -> {
+			while (!stop.get()) {
+				var idkey = index.get(hash);
+				if (!idkey1.equals(idkey) && !idkey2.equals(idkey)) {
+					failure.set(idkey);
+				}
+			}
+		});
+		reader.start();
+		for (int i = 0; i < 10000; i++) {
+			index.put(hash, i % 2 == 0 ? idkey2 : idkey1);
+		}
+		stop.set(true);
+		reader.join();
+		assertNull(failure.get());
+		assertEquals(1, index.size());
+	}
+
+}
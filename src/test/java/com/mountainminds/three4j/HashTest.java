@@ -13,12 +13,22 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
+import static com.mountainminds.three4j.Hash.newMAC;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
 import org.junit.jupiter.api.Test;
 
 public class HashTest {
 
+	private static final byte[] EMAIL_KEY = ByteArrayValue
+			.fromHex("30a5500fed9701fa6defdb610841900febb8e430881f7ad816826264ec09bad7");
+
 	@Test
 	public void ofPhone_should_create_hashes_as_specified() {
 		assertEquals("ad398f4d7ebe63c6550a486cc6e07f9baa09bd9d8b3d8cb9d9be106d35a7fdbc",
@@ -31,4 +41,32 @@ public class HashTest {
 				Hash.ofEmail("  Test@Threema.ch ").getHexValue());
 	}
 
+	@Test
+	public void ofPhone_should_ignore_all_non_digits() {
+		assertEquals(Hash.ofPhone("41791234567"), Hash.ofPhone("+41 (79) 123\u00a045-67 \u0661"));
+	}
+
+	@Test
+	public void ofEmail_should_handle_non_ascii_characters() {
+		var expected = newMAC(EMAIL_KEY).doFinal("m?ller@example.com".getBytes(US_ASCII));
+		assertArrayEquals(expected, Hash.ofEmail(" M\u00dcller@Example.com\t").getValue());
+	}
+
+	@Test
+	public void hashes_should_be_calculated_concurrently() throws Exception {
+		var pool = Executors.newFixedThreadPool(4);
+		try {
+			var tasks = new ArrayList<Callable<Hash>>();
+			for (int i = 0; i < 100; i++) {
+				tasks.add(() -> Hash.ofPhone("+41 79 123 45-67"));
+			}
+			for (var f : pool.invokeAll(tasks)) {
+				assertEquals("ad398f4d7ebe63c6550a486cc6e07f9baa09bd9d8b3d8cb9d9be106d35a7fdbc",
+						f.get().getHexValue());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 }
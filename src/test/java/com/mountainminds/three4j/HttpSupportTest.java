@@ -15,6 +15,7 @@ package com.mountainminds.three4j;
 
 import static com.mountainminds.three4j.HttpSupport.UNKNOWN_RESPONSE;
 import static com.mountainminds.three4j.HttpSupport.decodeUrlParams;
+import static com.mountainminds.three4j.HttpSupport.trimmedLength;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -25,6 +26,7 @@ import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
+import com.mountainminds.three4j.HttpSupport.FormBody;
 import com.mountainminds.three4j.HttpSupport.MultipartEncoder;
 import com.mountainminds.three4j.HttpSupport.UrlParams;
 
@@ -79,6 +81,40 @@ public class HttpSupportTest {
 		assertEquals("a=123&b=Hello%2BWorld%21", params.toString());
 	}
 
+	@Test
+	public void urlparams_should_append_to_encoded_parameters() {
+		var params = new UrlParams("a=1");
+		params.add("b", "2");
+		assertEquals("a=1&b=2", params.toString());
+	}
+
+	@Test
+	public void formbody_should_write_parameters() {
+		var prefix = "a=1".getBytes(US_ASCII);
+		var size = prefix.length + FormBody.size("b", 3) + FormBody.size("c", 4);
+		var body = new FormBody(prefix, size).add("b", "XYZ").addHex("c", new byte[] { 0x0f, (byte) 0xa0 });
+		assertEquals("a=1&b=XYZ&c=0fa0", new String(body.toByteArray(), US_ASCII));
+	}
+
+	@Test
+	public void formbody_should_write_parameters_without_prefix() {
+		var body = new FormBody(new byte[0], FormBody.size("b", 3) - 1).add("b", "XYZ");
+		assertEquals("b=XYZ", new String(body.toByteArray(), US_ASCII));
+	}
+
+	@Test
+	public void formbody_should_fail_when_size_does_not_match() {
+		var body = new FormBody(new byte[0], 10).add("b", "XYZ");
+		assertThrows(IllegalStateException.class, body::toByteArray);
+	}
+
+	@Test
+	public void trimmedLength_should_ignore_trailing_white_spaces() {
+		assertEquals(3, trimmedLength("abc\r\n ".getBytes(US_ASCII)));
+		assertEquals(3, trimmedLength("abc".getBytes(US_ASCII)));
+		assertEquals(0, trimmedLength(new byte[0]));
+	}
+
 	@Test
 	public void decodeUrlParams_should_decode_params() {
 		assertEquals(Map.of("a", "123", "b", "Hello World!"), decodeUrlParams("a=123&b=Hello+World%21"));
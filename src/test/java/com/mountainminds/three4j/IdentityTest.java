@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.security.KeyPair;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.PlainMessage.Text;
+
+public class IdentityTest {
+
+	private KeyPair alice;
+	private KeyPair bob;
+	private Identity identity;
+
+	@BeforeEach
+	public void setup() {
+		alice = KeyGenerator.generate();
+		bob = KeyGenerator.generate();
+		identity = new Identity(ThreemaId.of("*GWYTEST"), "secret", alice.getPrivate());
+	}
+
+	@Test
+	public void getPublicKey_should_return_corresponding_public_key() {
+		assertEquals(RawPublicKey.of(alice.getPublic()), identity.getPublicKey());
+	}
+
+	@Test
+	public void getSharedKey_should_return_cached_key() {
+		var other = RawPublicKey.of(bob.getPublic());
+		assertSame(identity.getSharedKey(other), identity.getSharedKey(other));
+	}
+
+	@Test
+	public void encrypt_with_identity_should_be_compatible_with_key_based_decryption() {
+		var encrypted = new Text("hello").encrypt(identity, RawPublicKey.of(bob.getPublic()));
+		var decrypted = (Text) encrypted.decrypt(alice.getPublic(), bob.getPrivate());
+		assertEquals("hello", decrypted.getText());
+	}
+
+	@Test
+	public void decrypt_with_identity_should_be_compatible_with_key_based_encryption() {
+		var encrypted = new Text("hello").encrypt(bob.getPrivate(), alice.getPublic());
+		var decrypted = (Text) encrypted.decrypt(RawPublicKey.of(bob.getPublic()), identity);
+		assertEquals("hello", decrypted.getText());
+	}
+
+	@Test
+	public void qrcode_should_contain_id_and_public_key() {
+		assertEquals("3mid:*GWYTEST," + KeyEncoder.encode(alice.getPublic()), identity.qrcode());
+	}
+
+	@Test
+	public void gateway_should_use_identity_credentials() {
+		var gw = new Gateway(identity, null);
+		assertSame(identity, gw.getIdentity());
+		var msg = new EncryptedMessage(new byte[] { 0x01 }, Nonce.of(new byte[Nonce.SIZE]));
+		var body = new String(gw.e2eBody(ThreemaId.of("ABCDEFGH"), msg).toByteArray());
+		assertEquals("from=*GWYTEST&secret=secret&to=ABCDEFGH&box=01"
+				+ "&nonce=000000000000000000000000000000000000000000000000", body);
+	}
+
+}
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.InboundPipeline.Stage;
+import com.mountainminds.three4j.PlainMessage.Text;
+
+public class InboundPipelineTest {
+
+	private KeyPair receiverKeys;
+	private Identity receiver;
+
+	private final Map<ThreemaId, KeyPair> senders = new HashMap<>();
+
+	private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+	private final List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+
+	private InboundPipeline pipeline;
+
+	@BeforeEach
+	public void setup() {
+		receiverKeys = KeyGenerator.generate();
+		receiver = new Identity(ThreemaId.of("*RECEIVE"), "secret", receiverKeys.getPrivate());
+		for (var id : List.of("SENDER01", "SENDER02", "SENDER03", "SENDER04", "SENDER05")) {
+			senders.put(ThreemaId.of(id), KeyGenerator.generate());
+		}
+		pipeline = new InboundPipeline(receiver, this::resolve, new InboundPipeline.Receiver() {
+			@Override
+			public void receive(GatewayCallback callback, PlainMessage message) {
+				received.add(callback.getFrom().getValue() + ":" + ((Text) message).getText());
+			}
+
+			@Override
+			public void failed(GatewayCallback callback, Exception exception) {
+				failures.add(exception);
+			}
+		}, 3, 256);
+	}
+
+	@AfterEach
+	public void teardown() throws InterruptedException {
+		pipeline.close();
+	}
+
+	private RawPublicKey resolve(ThreemaId id) throws IOException {
+		var keys = senders.get(id);
+		if (keys == null) {
+			throw new IOException("Unknown " + id.getValue());
+		}
+		return RawPublicKey.of(keys.getPublic());
+	}
+
+	private GatewayCallback callback(String from, String text) {
+		var keys = senders.get(ThreemaId.of(from));
+		var message = new Text(text).encrypt(keys.getPrivate(), receiverKeys.getPublic());
+		return GatewayCallbackTest.callback(from, "0011223344556677", 1650000000, message);
+	}
+
+	@Test
+	public void should_deliver_messages_in_order_per_sender() throws InterruptedException {
+		var expected = new HashMap<String, List<String>>();
+		for (int i = 0; i < 50; i++) {
+			for (var sender : senders.keySet()) {
+				pipeline.handle(callback(sender.getValue(), "msg" + i));
+				expected.computeIfAbsent(sender.getValue(), s -> new ArrayList<>()).add(sender.getValue() + ":msg" + i);
+			}
+		}
+		pipeline.close();
+
+		assertEquals(250, received.size());
+		for (var entry : expected.entrySet()) {
+			var actual = new ArrayList<String>();
+			for (var r : received) {
+				if (r.startsWith(entry.getKey())) {
+					actual.add(r);
+				}
+			}
+			assertEquals(entry.getValue(), actual);
+		}
+		assertEquals(250, pipeline.getCount(Stage.QUEUE));
+		assertEquals(250, pipeline.getCount(Stage.DECRYPT));
+		assertEquals(250, pipeline.getCount(Stage.DELIVER));
+		assertEquals(0, pipeline.getQueueDepth());
+		assertTrue(pipeline.getMaxLatency(Stage.DECRYPT).compareTo(pipeline.getAverageLatency(Stage.DECRYPT)) >= 0);
+	}
+
+	@Test
+	public void should_report_failures() throws InterruptedException {
+		var message = new Text("hello").encrypt(senders.get(ThreemaId.of("SENDER01")).getPrivate(),
+				receiverKeys.getPublic());
+		pipeline.handle(GatewayCallbackTest.callback("UNKNOWN1", "0011223344556677", 1650000000, message));
+		pipeline.handle(GatewayCallbackTest.callback("SENDER02", "0011223344556677", 1650000000, message));
+		pipeline.close();
+
+		assertEquals(2, pipeline.getFailed());
+		assertEquals(2, failures.size());
+		assertTrue(received.isEmpty());
+	}
+
+	@Test
+	public void should_notify_listener_about_decryption() throws InterruptedException {
+		var metrics = new GatewayMetrics();
+		pipeline.setListener(metrics);
+		pipeline.handle(callback("SENDER01", "hello"));
+		pipeline.handle(callback("SENDER02", "hello"));
+		pipeline.close();
+
+		assertEquals(2, metrics.getDecryptionLatency().getCount());
+	}
+
+	@Test
+	public void should_keep_running_when_receiver_throws_errors() throws InterruptedException {
+		pipeline.close();
+		pipeline = new InboundPipeline(receiver, this::resolve, new InboundPipeline.Receiver() {
+			@Override
+			public void receive(GatewayCallback callback, PlainMessage message) {
+				var text = ((Text) message).getText();
+				if (text.equals("error")) {
+					throw new AssertionError(text);
+				}
+				if (text.equals("exception")) {
+					throw new IllegalStateException(text);
+				}
+				received.add(text);
+			}
+
+			@Override
+			public void failed(GatewayCallback callback, Exception exception) {
+				throw new IllegalStateException("failed");
+			}
+		}, 1, 16);
+		pipeline.handle(callback("SENDER01", "error"));
+		pipeline.handle(callback("SENDER01", "exception"));
+		pipeline.handle(callback("SENDER01", "ok"));
+		pipeline.close();
+
+		assertEquals(List.of("ok"), received);
+		assertEquals(2, pipeline.getFailed());
+	}
+
+	@Test
+	public void handle_should_throw_RejectedExecutionException_when_lane_is_full() throws InterruptedException {
+		var blocker = new CountDownLatch(1);
+		pipeline.close();
+		pipeline = new InboundPipeline(receiver, this::resolve, (c, m) -> {
+			try {
+				blocker.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			received.add(((Text) m).getText());
+		}, 1, 1);
+		pipeline.handle(callback("SENDER01", "msg1"));
+		while (pipeline.getQueueDepth() > 0) {
+			Thread.sleep(1);
+		}
+		pipeline.handle(callback("SENDER01", "msg2"));
+
+		var callback = callback("SENDER01", "msg3");
+		var e = assertThrows(RejectedExecutionException.class, () -> pipeline.handle(callback));
+		assertEquals("Lane full", e.getMessage());
+
+		blocker.countDown();
+		pipeline.close();
+		assertEquals(List.of("msg1", "msg2"), received);
+	}
+
+	@Test
+	public void should_deliver_callbacks_in_order_when_called_on_callback_server_request_thread()
+			throws Exception {
+		var server = new CallbackServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "secret",
+				pipeline);
+		server.setExecutor(Runnable::run);
+		server.start();
+		try {
+			var address = server.getAddress();
+			var uri = URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/");
+			var client = HttpClient.newHttpClient();
+			for (int i = 0; i < 20; i++) {
+				var keys = senders.get(ThreemaId.of("SENDER01"));
+				var message = new Text("msg" + i).encrypt(keys.getPrivate(), receiverKeys.getPublic());
+				var body = GatewayCallbackTest.sign("secret",
+						"from=SENDER01&to=RECEIVER&messageId=0011223344556677&date=1650000000&nonce="
+								+ message.getNonce().getHexValue() + "&box=" + message.getHexValue());
+				var request = HttpRequest.newBuilder(uri).POST(BodyPublishers.ofString(body)).build();
+				assertEquals(200, client.send(request, BodyHandlers.discarding()).statusCode());
+			}
+		} finally {
+			server.close();
+		}
+		pipeline.close();
+
+		var expected = new ArrayList<String>();
+		for (int i = 0; i < 20; i++) {
+			expected.add("SENDER01:msg" + i);
+		}
+		assertEquals(expected, received);
+	}
+
+	@Test
+	public void should_use_same_lane_for_same_sender() {
+		var id = ThreemaId.of("SENDER01");
+		assertEquals(pipeline.laneIndex(id), pipeline.laneIndex(ThreemaId.of("SENDER01")));
+		assertTrue(pipeline.laneIndex(id) < pipeline.getLanes());
+	}
+
+	@Test
+	public void handle_should_throw_RejectedExecutionException_after_close() throws InterruptedException {
+		pipeline.close();
+		var callback = callback("SENDER01", "hello");
+		assertThrows(RejectedExecutionException.class, () -> pipeline.handle(callback));
+	}
+
+	@Test
+	public void constructor_should_throw_IllegalArgumentException_for_invalid_lanes() {
+		var e = assertThrows(IllegalArgumentException.class,
+				() -> new InboundPipeline(receiver, this::resolve, (c, m) -> {
+				}, 0, 16));
+		assertEquals("Invalid number of lanes: 0", e.getMessage());
+	}
+
+}
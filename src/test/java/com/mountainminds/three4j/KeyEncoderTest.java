@@ -26,6 +26,25 @@ public class KeyEncoderTest {
 		assertEquals(pair.getPublic(), publicKey);
 	}
 
+	@Test
+	public void getBytes_should_return_raw_key() {
+		var hex = "0100000000000000000000000000000000000000000000000000000000000000";
+		var publicKey = KeyEncoder.decodePublicKey(hex);
+		assertEquals(hex, ByteArrayValue.toHex(KeyEncoder.getBytes(publicKey)));
+	}
+
+	@Test
+	public void encode_should_always_create_64_digits() {
+		var hex = "0100000000000000000000000000000000000000000000000000000000000000";
+		assertEquals(hex, KeyEncoder.encode(KeyEncoder.decodePublicKey(hex)));
+	}
+
+	@Test
+	public void decodePublicKey_should_restore_key_from_raw_bytes() {
+		var publicKey = KeyGenerator.generate().getPublic();
+		assertEquals(publicKey, KeyEncoder.decodePublicKey(KeyEncoder.getBytes(publicKey)));
+	}
+
 	@Test
 	public void qrcode_should_create_threema_qr_code() {
 		var threemaid = ThreemaId.of("*GWYTEST");
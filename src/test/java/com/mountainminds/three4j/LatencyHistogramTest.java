@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	@Test
+	public void empty_snapshot_should_report_zero() {
+		var snapshot = histogram.snapshot();
+
+		assertEquals(0, snapshot.getCount());
+		assertEquals(Duration.ZERO, snapshot.getMean());
+		assertEquals(Duration.ZERO, snapshot.getMax());
+		assertEquals(Duration.ZERO, snapshot.getPercentile(99));
+	}
+
+	@Test
+	public void small_values_should_be_exact() {
+		for (int i = 1; i <= 10; i++) {
+			histogram.record(i);
+		}
+
+		var snapshot = histogram.snapshot();
+		assertEquals(10, snapshot.getCount());
+		assertEquals(Duration.ofNanos(5), snapshot.getMean());
+		assertEquals(Duration.ofNanos(10), snapshot.getMax());
+		assertEquals(Duration.ofNanos(5), snapshot.getPercentile(50));
+		assertEquals(Duration.ofNanos(1), snapshot.getPercentile(0));
+		assertEquals(Duration.ofNanos(10), snapshot.getPercentile(100));
+	}
+
+	@Test
+	public void percentiles_should_have_bounded_relative_error() {
+		var rand = new Random(7);
+		var values = new ArrayList<Long>();
+		for (int i = 0; i < 100000; i++) {
+			long v = (long) Math.exp(rand.nextDouble() * 25);
+			values.add(v);
+			histogram.record(v);
+		}
+		values.sort(null);
+
+		var snapshot = histogram.snapshot();
+		for (double p : new double[] { 10, 50, 90, 99, 99.9 }) {
+			long exact = values.get((int) Math.ceil(p / 100 * values.size()) - 1);
+			long approx = snapshot.getPercentile(p).toNanos();
+			assertTrue(approx >= exact && approx <= exact * 1.0625 + 1, p + ": " + exact + " vs " + approx);
+		}
+		assertEquals(values.get(values.size() - 1), snapshot.getMax().toNanos());
+	}
+
+	@Test
+	public void buckets_should_cover_all_values() {
+		int last = -1;
+		for (long v : new long[] { 0, 1, 15, 16, 17, 31, 32, 1000, 1L << 40, Long.MAX_VALUE }) {
+			int bucket = LatencyHistogram.bucket(v);
+			assertTrue(bucket > last);
+			assertTrue(bucket < LatencyHistogram.BUCKETS);
+			assertTrue(LatencyHistogram.upperBound(bucket) >= v);
+			last = bucket;
+		}
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.BUCKETS - 1));
+		for (int b = 1; b < LatencyHistogram.BUCKETS; b++) {
+			assertEquals(b, LatencyHistogram.bucket(LatencyHistogram.upperBound(b - 1) + 1));
+		}
+	}
+
+	@Test
+	public void record_should_count_negative_values_as_zero() {
+		histogram.record(-5);
+
+		assertEquals(Duration.ZERO, histogram.snapshot().getMax());
+		assertEquals(1, histogram.snapshot().getCount());
+	}
+
+	@Test
+	public void record_should_be_thread_safe() throws InterruptedException {
+		var threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 10000; i++) {
+					histogram.record(Duration.ofNanos(i * 1000L));
+				}
+			});
+			threads[t].start();
+		}
+		for (var t : threads) {
+			t.join();
+		}
+
+		assertEquals(40000, histogram.snapshot().getCount());
+	}
+
+	@Test
+	public void getPercentile_should_throw_IllegalArgumentException_for_invalid_values() {
+		var snapshot = histogram.snapshot();
+		var e = assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentile(100.5));
+		assertEquals("Invalid percentile: 100.5", e.getMessage());
+	}
+
+}
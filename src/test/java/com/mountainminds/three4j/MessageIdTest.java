@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class MessageIdTest {
+
+	@Test
+	public void toLong_should_return_big_endian_value() {
+		assertEquals(0x0011223344556677L, MessageId.of("0011223344556677").toLong());
+		assertEquals(0xffeeddccbbaa9988L, MessageId.of("ffeeddccbbaa9988").toLong());
+	}
+
+	@Test
+	public void fromLong_should_create_message_id() {
+		assertEquals(MessageId.of("0011223344556677"), MessageId.fromLong(0x0011223344556677L));
+		assertEquals(MessageId.of("ffeeddccbbaa9988"), MessageId.fromLong(0xffeeddccbbaa9988L));
+	}
+
+}
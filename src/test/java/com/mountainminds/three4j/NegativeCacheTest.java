@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class NegativeCacheTest {
+
+	@TempDir
+	Path tmp;
+
+	private final MutableClock clock = new MutableClock();
+
+	private final NegativeCache cache = new NegativeCache(1000, 0.01, Duration.ofHours(2), clock);
+
+	@Test
+	public void contains_should_return_true_for_added_hashes() {
+		var hash = Hash.ofPhone("41791234567");
+		assertFalse(cache.contains(hash));
+		cache.add(hash);
+		assertTrue(cache.contains(hash));
+	}
+
+	@Test
+	public void contains_should_respect_false_positive_rate() {
+		for (int i = 0; i < 1000; i++) {
+			cache.add(Hash.ofPhone("1" + i));
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 10000; i++) {
+			if (cache.contains(Hash.ofPhone("2" + i))) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+	}
+
+	@Test
+	public void hashes_should_expire_after_recheck_interval() {
+		var hash = Hash.ofPhone("41791234567");
+		cache.add(hash);
+		clock.advance(Duration.ofMinutes(90));
+		assertTrue(cache.contains(hash));
+		clock.advance(Duration.ofMinutes(31));
+		assertFalse(cache.contains(hash));
+	}
+
+	@Test
+	public void hashes_should_expire_after_long_inactivity() {
+		var hash = Hash.ofPhone("41791234567");
+		cache.add(hash);
+		clock.advance(Duration.ofDays(1));
+		assertFalse(cache.contains(hash));
+	}
+
+	@Test
+	public void load_should_restore_saved_cache() throws IOException {
+		var hash = Hash.ofEmail("test@example.com");
+		cache.add(hash);
+		var file = tmp.resolve("cache");
+		cache.save(file);
+
+		var restored = NegativeCache.load(file, clock);
+
+		assertTrue(restored.contains(hash));
+		assertFalse(restored.contains(Hash.ofEmail("other@example.com")));
+		clock.advance(Duration.ofHours(3));
+		assertFalse(restored.contains(hash));
+	}
+
+	@Test
+	public void load_should_reject_invalid_files() throws IOException {
+		var file = tmp.resolve("invalid");
+		Files.write(file, new byte[] { 1, 2, 3, 4 });
+		var e = assertThrows(IOException.class, () -> NegativeCache.load(file));
+		assertEquals("Invalid file format: " + file, e.getMessage());
+	}
+
+	@Test
+	public void load_should_reject_truncated_files() throws IOException {
+		var file = tmp.resolve("cache");
+		cache.save(file);
+		var content = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(content, content.length - 8));
+
+		var e = assertThrows(IOException.class, () -> NegativeCache.load(file));
+		assertEquals("Invalid file format: " + file, e.getMessage());
+	}
+
+	@Test
+	public void load_should_reject_forged_headers() throws IOException {
+		var file = tmp.resolve("cache");
+		cache.save(file);
+		var content = Files.readAllBytes(file);
+
+		var words = ByteBuffer.wrap(content.clone()).putInt(24, Integer.MAX_VALUE - 8).array();
+		Files.write(file, words);
+		assertThrows(IOException.class, () -> NegativeCache.load(file));
+
+		var hashFunctions = ByteBuffer.wrap(content.clone()).putInt(4, 1_000_000).array();
+		Files.write(file, hashFunctions);
+		assertThrows(IOException.class, () -> NegativeCache.load(file));
+	}
+
+	@Test
+	public void constructor_should_throw_IllegalArgumentException_for_invalid_rate() {
+		var e = assertThrows(IllegalArgumentException.class,
+				() -> new NegativeCache(1000, 1.0, Duration.ofHours(1)));
+		assertEquals("Invalid false positive rate: 1.0", e.getMessage());
+	}
+
+	static class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("UTC");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+	}
+
+}
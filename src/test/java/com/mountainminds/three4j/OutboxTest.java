@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OutboxTest {
+
+	private static final ThreemaId ALICE = ThreemaId.of("ALICE001");
+
+	@TempDir
+	Path dir;
+
+	private static EncryptedMessage message(int i) {
+		var box = new byte[100 + i % 50];
+		box[0] = (byte) i;
+		var nonce = new byte[Nonce.SIZE];
+		nonce[0] = (byte) i;
+		return new EncryptedMessage(box, Nonce.of(nonce));
+	}
+
+	@Test
+	public void peek_should_return_null_for_empty_outbox() throws IOException {
+		try (var outbox = Outbox.open(dir)) {
+			assertNull(outbox.peek());
+			assertEquals(0, outbox.getPending());
+		}
+	}
+
+	@Test
+	public void peek_should_return_messages_in_order() throws IOException {
+		try (var outbox = Outbox.open(dir)) {
+			outbox.enqueue(ALICE, message(1));
+			outbox.enqueue(ThreemaId.of("BOB00001"), message(2));
+
+			var first = outbox.peek();
+			assertEquals(ALICE, first.getTo());
+			assertArrayEquals(message(1).getValue(), first.getMessage().getValue());
+			assertEquals(message(1).getNonce(), first.getMessage().getNonce());
+			outbox.markSent(first, MessageId.fromLong(11));
+
+			var second = outbox.peek();
+			assertEquals(ThreemaId.of("BOB00001"), second.getTo());
+			assertArrayEquals(message(2).getValue(), second.getMessage().getValue());
+			assertEquals(1, outbox.getPending());
+			assertEquals(1, outbox.getSent());
+		}
+	}
+
+	@Test
+	public void open_should_replay_unsent_messages() throws IOException {
+		long sentEntry;
+		try (var outbox = Outbox.open(dir)) {
+			for (int i = 0; i < 10; i++) {
+				outbox.enqueue(ALICE, message(i));
+			}
+			var entry = outbox.peek();
+			sentEntry = entry.getPosition();
+			outbox.markSent(entry, MessageId.fromLong(42));
+		}
+		try (var outbox = Outbox.open(dir)) {
+			assertEquals(9, outbox.getPending());
+			assertEquals(MessageId.fromLong(42), outbox.getMessageId(sentEntry));
+			for (int i = 1; i < 10; i++) {
+				var entry = outbox.peek();
+				assertArrayEquals(message(i).getValue(), entry.getMessage().getValue());
+				assertNull(outbox.getMessageId(entry.getPosition()));
+				outbox.markSent(entry, MessageId.fromLong(i));
+			}
+			outbox.enqueue(ALICE, message(99));
+		}
+		try (var outbox = Outbox.open(dir)) {
+			assertEquals(1, outbox.getPending());
+			assertArrayEquals(message(99).getValue(), outbox.peek().getMessage().getValue());
+		}
+	}
+
+	@Test
+	public void segments_should_be_deleted_when_all_messages_are_sent() throws IOException {
+		try (var outbox = Outbox.open(dir, 8192)) {
+			for (int i = 0; i < 200; i++) {
+				outbox.enqueue(ALICE, message(i));
+			}
+			assertTrue(outbox.getSegments() > 1);
+			for (int i = 0; i < 200; i++) {
+				var entry = outbox.peek();
+				assertArrayEquals(message(i).getValue(), entry.getMessage().getValue());
+				outbox.markSent(entry, MessageId.fromLong(i + 1));
+			}
+			assertEquals(1, outbox.getSegments());
+		}
+		try (var list = Files.list(dir)) {
+			assertEquals(1, list.count());
+		}
+	}
+
+	@Test
+	public void open_should_ignore_incomplete_record() throws IOException {
+		try (var outbox = Outbox.open(dir)) {
+			outbox.enqueue(ALICE, message(1));
+			outbox.enqueue(ALICE, message(2));
+		}
+		// Corrupt the payload of the second record
+		var file = dir.resolve("0000000000000001.seg");
+		try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0x55 }), 16 + 160 + 24 + 40);
+		}
+		try (var outbox = Outbox.open(dir)) {
+			assertEquals(1, outbox.getPending());
+			outbox.enqueue(ALICE, message(3));
+		}
+		try (var outbox = Outbox.open(dir)) {
+			assertEquals(2, outbox.getPending());
+			outbox.markSent(outbox.peek(), MessageId.fromLong(1));
+			assertArrayEquals(message(3).getValue(), outbox.peek().getMessage().getValue());
+		}
+	}
+
+	@Test
+	public void open_should_throw_IOException_for_invalid_segment() throws IOException {
+		var file = dir.resolve("0000000000000001.seg");
+		Files.write(file, new byte[100]);
+		var e = assertThrows(IOException.class, () -> Outbox.open(dir));
+		assertEquals("Invalid outbox segment: " + file, e.getMessage());
+	}
+
+	@Test
+	public void open_should_throw_IllegalArgumentException_for_invalid_segment_size() {
+		var e = assertThrows(IllegalArgumentException.class, () -> Outbox.open(dir, 1000));
+		assertEquals("Invalid segment size: 1000", e.getMessage());
+	}
+
+	@Test
+	public void markSent_should_throw_IllegalStateException_for_other_entries() throws IOException {
+		try (var outbox = Outbox.open(dir)) {
+			outbox.enqueue(ALICE, message(1));
+			var entry = outbox.peek();
+			outbox.markSent(entry, MessageId.fromLong(1));
+			var e = assertThrows(IllegalStateException.class, () -> outbox.markSent(entry, MessageId.fromLong(1)));
+			assertEquals("Not the oldest pending entry", e.getMessage());
+		}
+	}
+
+	@Test
+	public void drain_should_skip_permanently_rejected_messages() throws IOException {
+		var bob = ThreemaId.of("BOB00001");
+		var sent = new ArrayList<ThreemaId>();
+		long rejected;
+		try (var outbox = Outbox.open(dir)) {
+			rejected = outbox.enqueue(bob, message(1));
+			outbox.enqueue(ALICE, message(2));
+			outbox.enqueue(ALICE, message(3));
+
+			int count = outbox.drain((to, message) -> {
+				if (to.equals(bob)) {
+					throw new GatewayException(GatewayException.STATUS_BADREQUEST, "invalid recipient");
+				}
+				sent.add(to);
+				return MessageId.fromLong(sent.size());
+			});
+
+			assertEquals(2, count);
+			assertEquals(List.of(ALICE, ALICE), sent);
+			assertEquals(0, outbox.getPending());
+			assertEquals(1, outbox.getFailed());
+			assertNull(outbox.getMessageId(rejected));
+		}
+		try (var outbox = Outbox.open(dir)) {
+			assertEquals(0, outbox.getPending());
+		}
+	}
+
+	@Test
+	public void drain_should_keep_messages_for_other_errors() throws IOException {
+		try (var outbox = Outbox.open(dir)) {
+			outbox.enqueue(ALICE, message(1));
+
+			var e = assertThrows(GatewayException.class, () -> outbox.drain((to, message) -> {
+				throw new GatewayException(GatewayException.STATUS_PAYMENTREQUIRED, "No credits remaining");
+			}));
+
+			assertEquals(GatewayException.STATUS_PAYMENTREQUIRED, e.getStatus());
+			assertEquals(1, outbox.getPending());
+			assertEquals(0, outbox.getFailed());
+		}
+	}
+
+	@Test
+	public void markFailed_should_throw_IllegalStateException_for_other_entries() throws IOException {
+		try (var outbox = Outbox.open(dir)) {
+			outbox.enqueue(ALICE, message(1));
+			var entry = outbox.peek();
+			outbox.markFailed(entry);
+			var e = assertThrows(IllegalStateException.class, () -> outbox.markFailed(entry));
+			assertEquals("Not the oldest pending entry", e.getMessage());
+		}
+	}
+
+	@Test
+	public void enqueue_should_support_concurrent_callers_with_sync() throws Exception {
+		var positions = Collections.synchronizedList(new ArrayList<Long>());
+		try (var outbox = Outbox.open(dir, 65536)) {
+			outbox.setSync(true);
+			var threads = new ArrayList<Thread>();
+			for (int t = 0; t < 4; t++) {
+				var thread = new Thread(() -> {
+					for (int i = 0; i < 250; i++) {
+						try {
+							positions.add(outbox.enqueue(ALICE, message(i)));
+						} catch (IOException e) {
+							throw new RuntimeException(e);
+						}
+					}
+				});
+				threads.add(thread);
+				thread.start();
+			}
+			for (var thread : threads) {
+				thread.join();
+			}
+		}
+		assertEquals(1000, new HashSet<>(positions).size());
+		try (var outbox = Outbox.open(dir)) {
+			assertEquals(1000, outbox.getPending());
+			List<Long> replayed = new ArrayList<>();
+			var entry = outbox.peek();
+			while (entry != null) {
+				replayed.add(entry.getPosition());
+				outbox.markSent(entry, MessageId.fromLong(1));
+				entry = outbox.peek();
+			}
+			Collections.sort(positions);
+			assertEquals(positions, replayed);
+		}
+	}
+
+}
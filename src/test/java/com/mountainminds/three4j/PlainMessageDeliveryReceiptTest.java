@@ -13,6 +13,7 @@
  *******************************************************************************/
 package com.mountainminds.three4j;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.List;
@@ -30,4 +31,29 @@ public class PlainMessageDeliveryReceiptTest {
 		assertEquals("DeliveryReceipt[READ, 1111111111111111, 2222222222222222]", msg.toString());
 	}
 
+	@Test
+	public void getMessageIds_should_return_ids_given_as_long_values() {
+		var msg = new PlainMessage.DeliveryReceipt(ReceiptType.RECEIVED, 0x1111111111111111L, 0x2222222222222222L);
+		assertEquals(List.of(MessageId.of("1111111111111111"), MessageId.of("2222222222222222")),
+				msg.getMessageIds());
+	}
+
+	@Test
+	public void getMessageIdValues_should_return_ids_given_as_list() {
+		var ids = List.of(MessageId.of("1111111111111111"), MessageId.of("2222222222222222"));
+		var msg = new PlainMessage.DeliveryReceipt(ReceiptType.RECEIVED, ids);
+		assertArrayEquals(new long[] { 0x1111111111111111L, 0x2222222222222222L }, msg.getMessageIdValues());
+	}
+
+	@Test
+	public void decode_should_read_all_message_ids() {
+		var bytes = new byte[] { (byte) 0x80, 0x02, //
+				0x11, 0x11, 0x11, 0x11, 0x11, 0x11, 0x11, 0x11, //
+				0x22, 0x22, 0x22, 0x22, 0x22, 0x22, 0x22, 0x22, //
+				0x01 };
+		var msg = (PlainMessage.DeliveryReceipt) PlainMessage.decode(bytes);
+		assertEquals(ReceiptType.READ, msg.getReceiptType());
+		assertArrayEquals(new long[] { 0x1111111111111111L, 0x2222222222222222L }, msg.getMessageIdValues());
+	}
+
 }
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.security.KeyPair;
+import java.util.Random;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Cross-validation of the pure Java provider against salty-coffee.
+ */
+public class PureJavaCryptoProviderTest {
+
+	private final CryptoProvider reference = CryptoProvider.saltyCoffee();
+	private final CryptoProvider pure = CryptoProvider.pureJava();
+
+	private final Random random = new Random(42);
+
+	private KeyPair alice;
+	private KeyPair bob;
+	private byte[] nonce;
+
+	@BeforeEach
+	public void setup() {
+		alice = KeyGenerator.generate();
+		bob = KeyGenerator.generate();
+		nonce = bytes(Nonce.SIZE);
+	}
+
+	@Test
+	public void agree_should_calculate_nacl_test_vector() {
+		// Test vector from the NaCl distribution (tests/firstkey.c)
+		var alicesk = KeyEncoder.decodePrivateKey("77076d0a7318a57d3c16c17251b26645df4c2f87ebc0992ab177fba51db92c2a");
+		var bobpk = KeyEncoder.decodePublicKey("de9edb7d7b7dc1b4d35b61c2ece435373f8343c85b78674dadfc7e146f882b4f");
+		var key = pure.agree(alicesk, bobpk);
+		assertEquals("1b27556473e985d462cd51197a9a46c76009549eac6474f206c4ee0844f68389",
+				ByteArrayValue.toHex(key.getEncoded()));
+	}
+
+	@Test
+	public void agree_should_calculate_same_key_as_reference() {
+		assertArrayEquals(reference.agree(alice.getPrivate(), bob.getPublic()).getEncoded(),
+				pure.agree(alice.getPrivate(), bob.getPublic()).getEncoded());
+		assertArrayEquals(pure.agree(bob.getPrivate(), alice.getPublic()).getEncoded(),
+				pure.agree(alice.getPrivate(), bob.getPublic()).getEncoded());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 15, 16, 17, 31, 32, 33, 63, 64, 65, 100, 255, 256, 257, 1000, 4096, 10007 })
+	public void encrypt_should_create_same_box_as_reference(int length) {
+		var key = reference.agree(alice.getPrivate(), bob.getPublic());
+		var plaintext = bytes(length);
+		assertArrayEquals(reference.encrypt(key, nonce, plaintext), pure.encrypt(key, nonce, plaintext));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 16, 33, 64, 255, 1000 })
+	public void box_should_create_same_box_as_reference(int length) {
+		var plaintext = bytes(length);
+		assertArrayEquals(reference.encrypt(alice.getPrivate(), bob.getPublic(), nonce, plaintext),
+				pure.encrypt(alice.getPrivate(), bob.getPublic(), nonce, plaintext));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 15, 16, 17, 64, 65, 1000, 10007 })
+	public void decrypt_should_open_reference_boxes(int length) {
+		var plaintext = bytes(length);
+		var box = reference.encrypt(alice.getPrivate(), bob.getPublic(), nonce, plaintext);
+		assertArrayEquals(plaintext, pure.decrypt(bob.getPrivate(), alice.getPublic(), nonce, box));
+	}
+
+	@Test
+	public void reference_should_open_pure_boxes() {
+		var plaintext = bytes(777);
+		var box = pure.encrypt(alice.getPrivate(), bob.getPublic(), nonce, plaintext);
+		assertArrayEquals(plaintext, reference.decrypt(bob.getPrivate(), alice.getPublic(), nonce, box));
+	}
+
+	@Test
+	public void decrypt_should_throw_IllegalArgumentException_for_modified_box() {
+		var key = pure.agree(alice.getPrivate(), bob.getPublic());
+		var box = pure.encrypt(key, nonce, bytes(100));
+		for (int i = 0; i < box.length; i++) {
+			var modified = box.clone();
+			modified[i] ^= 0x01;
+			assertThrows(IllegalArgumentException.class, () -> pure.decrypt(key, nonce, modified));
+		}
+	}
+
+	@Test
+	public void decrypt_should_throw_IllegalArgumentException_for_short_box() {
+		var key = pure.agree(alice.getPrivate(), bob.getPublic());
+		var e = assertThrows(IllegalArgumentException.class, () -> pure.decrypt(key, nonce, new byte[15]));
+		assertEquals("invalid box", e.getMessage());
+	}
+
+	@Test
+	public void encrypt_should_throw_IllegalArgumentException_for_invalid_nonce() {
+		var key = pure.agree(alice.getPrivate(), bob.getPublic());
+		var e = assertThrows(IllegalArgumentException.class, () -> pure.encrypt(key, new byte[23], new byte[0]));
+		assertEquals("invalid nonce", e.getMessage());
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void encrypt_should_support_byte_buffers(boolean direct) {
+		var key = pure.agree(alice.getPrivate(), bob.getPublic());
+		var plaintext = bytes(1000);
+		var source = buffer(direct, 1010).position(5);
+		source.put(plaintext).flip().position(5);
+		var target = buffer(direct, 1020).position(3);
+
+		pure.encrypt(key, nonce, source, target);
+
+		assertEquals(1019, target.position());
+		assertEquals(1005, source.position());
+		var box = new byte[1016];
+		target.flip().position(3);
+		target.get(box);
+		assertArrayEquals(reference.encrypt(key, nonce, plaintext), box);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void decrypt_should_support_byte_buffers_in_place(boolean direct) {
+		var key = pure.agree(alice.getPrivate(), bob.getPublic());
+		var plaintext = bytes(1000);
+		var buffer = buffer(direct, 1016);
+		buffer.put(reference.encrypt(key, nonce, plaintext)).flip();
+
+		pure.decrypt(key, nonce, buffer, buffer.duplicate());
+
+		var result = new byte[1000];
+		buffer.position(0).get(result);
+		assertArrayEquals(plaintext, result);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	public void decrypt_should_support_identical_byte_buffer_instance(boolean direct) {
+		var key = pure.agree(alice.getPrivate(), bob.getPublic());
+		var plaintext = bytes(1000);
+		var buffer = buffer(direct, 1016);
+		buffer.put(reference.encrypt(key, nonce, plaintext)).flip();
+
+		pure.decrypt(key, nonce, buffer, buffer);
+
+		assertEquals(1000, buffer.position());
+		var result = new byte[1000];
+		buffer.position(0).get(result);
+		assertArrayEquals(plaintext, result);
+	}
+
+	@Test
+	public void decrypt_should_not_modify_byte_buffers_for_invalid_box() {
+		SecretKey key = pure.agree(alice.getPrivate(), bob.getPublic());
+		var box = pure.encrypt(key, nonce, bytes(500));
+		box[400] ^= 0x01;
+		var buffer = ByteBuffer.allocateDirect(box.length).put(box).flip();
+
+		assertThrows(IllegalArgumentException.class, () -> pure.decrypt(key, nonce, buffer, buffer.duplicate()));
+
+		var content = new byte[box.length];
+		buffer.get(content);
+		assertArrayEquals(box, content);
+	}
+
+	private static ByteBuffer buffer(boolean direct, int capacity) {
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+	}
+
+	private byte[] bytes(int length) {
+		var bytes = new byte[length];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+
+}
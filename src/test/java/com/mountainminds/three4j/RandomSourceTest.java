@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RandomSourceTest {
+
+	@AfterEach
+	public void restore() {
+		RandomSource.setDefault(null);
+	}
+
+	@Test
+	public void nextInt_should_return_values_within_bound() {
+		RandomSource source = RandomSource.of(new Random(1))::nextBytes;
+		var counts = new int[7];
+		for (int i = 0; i < 7000; i++) {
+			counts[source.nextInt(7)]++;
+		}
+		for (int c : counts) {
+			assertTrue(c > 800 && c < 1200, "count " + c);
+		}
+	}
+
+	@Test
+	public void nextInt_should_throw_IllegalArgumentException_for_invalid_bound() {
+		RandomSource source = bytes -> {
+		};
+		var e = assertThrows(IllegalArgumentException.class, () -> source.nextInt(0));
+		assertEquals("Invalid bound: 0", e.getMessage());
+	}
+
+	@Test
+	public void of_should_delegate_to_given_random() {
+		var source = RandomSource.of(new Random(42));
+		var expected = new Random(42);
+		assertEquals(expected.nextInt(100), source.nextInt(100));
+		var bytes = new byte[8];
+		var expectedBytes = new byte[8];
+		source.nextBytes(bytes);
+		expected.nextBytes(expectedBytes);
+		assertEquals(ByteArrayValue.toHex(expectedBytes), ByteArrayValue.toHex(bytes));
+	}
+
+	@Test
+	public void setDefault_should_replace_default_source() {
+		RandomSource zeros = bytes -> {
+		};
+		RandomSource.setDefault(zeros);
+		assertSame(zeros, RandomSource.getDefault());
+		assertEquals(Nonce.of(new byte[Nonce.SIZE]), Nonce.random());
+	}
+
+	@Test
+	public void setDefault_should_restore_builtin_source() {
+		RandomSource.setDefault(bytes -> {
+		});
+		RandomSource.setDefault(null);
+		assertSame(DrbgRandomSource.INSTANCE, RandomSource.getDefault());
+	}
+
+}
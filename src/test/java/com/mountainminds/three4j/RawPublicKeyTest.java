@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class RawPublicKeyTest {
+
+	private static final String HEX = "1234567812345678123456781234567812345678123456781234567812345678";
+
+	@Test
+	public void of_should_throw_IllegalArgumentException_for_wrong_size() {
+		var e = assertThrows(IllegalArgumentException.class, () -> RawPublicKey.of(new byte[31]));
+		assertEquals("Illegal value size: 31 bytes", e.getMessage());
+	}
+
+	@Test
+	public void toPublicKey_should_decode_key() {
+		assertEquals(KeyEncoder.decodePublicKey(HEX), RawPublicKey.of(HEX).toPublicKey());
+	}
+
+	@Test
+	public void toPublicKey_should_return_cached_instance() {
+		var raw = RawPublicKey.of(HEX);
+		assertSame(raw.toPublicKey(), raw.toPublicKey());
+	}
+
+	@Test
+	public void of_should_create_raw_key_from_public_key() {
+		var key = KeyGenerator.generate().getPublic();
+		var raw = RawPublicKey.of(key);
+		assertEquals(KeyEncoder.encode(key), raw.getHexValue());
+		assertSame(key, raw.toPublicKey());
+	}
+
+	@Test
+	public void equals_should_compare_raw_bytes() {
+		assertEquals(RawPublicKey.of(HEX), RawPublicKey.of(KeyEncoder.decodePublicKey(HEX)));
+	}
+
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.PlainMessage.DeliveryReceipt;
+import com.mountainminds.three4j.PlainMessage.DeliveryReceipt.ReceiptType;
+
+public class ReceiptServiceTest {
+
+	private static final ThreemaId ALICE = ThreemaId.of("ALICE001");
+	private static final ThreemaId BOB = ThreemaId.of("BOB00001");
+
+	private final BlockingQueue<Object[]> sent = new LinkedBlockingQueue<>();
+
+	private ReceiptService service;
+
+	@AfterEach
+	public void teardown() throws InterruptedException {
+		if (service != null) {
+			service.close();
+		}
+	}
+
+	private void send(ThreemaId to, DeliveryReceipt receipt) {
+		sent.add(new Object[] { to, receipt });
+	}
+
+	@Test
+	public void MAX_MESSAGE_IDS_should_fit_into_one_message() {
+		var ids = new long[ReceiptService.MAX_MESSAGE_IDS];
+		var keys = KeyGenerator.generate();
+		var receipt = new DeliveryReceipt(ReceiptType.RECEIVED, ids);
+		for (int i = 0; i < 20; i++) {
+			receipt.encrypt(keys.getPrivate(), keys.getPublic());
+		}
+		assertEquals(465, ReceiptService.MAX_MESSAGE_IDS);
+	}
+
+	@Test
+	public void flush_should_send_one_receipt_per_sender_and_type() {
+		service = new ReceiptService(this::send, Duration.ofHours(1));
+		service.received(ALICE, MessageId.fromLong(1));
+		service.received(ALICE, MessageId.fromLong(2));
+		service.read(ALICE, MessageId.fromLong(1));
+		service.received(BOB, MessageId.fromLong(3));
+		assertEquals(3, service.getPending());
+
+		service.flush();
+
+		assertEquals(3, sent.size());
+		assertEquals(3, service.getReceipts());
+		assertEquals(4, service.getMessageIds());
+		assertEquals(0, service.getPending());
+		for (var s : sent) {
+			var receipt = (DeliveryReceipt) s[1];
+			if (s[0].equals(ALICE) && receipt.getReceiptType() == ReceiptType.RECEIVED) {
+				assertArrayEquals(new long[] { 1, 2 }, receipt.getMessageIdValues());
+			}
+		}
+	}
+
+	@Test
+	public void add_should_send_receipt_when_batch_is_full() throws InterruptedException {
+		service = new ReceiptService(this::send, Duration.ofHours(1), 20);
+		for (int i = 1; i <= 21; i++) {
+			service.received(ALICE, MessageId.fromLong(i));
+		}
+
+		var s = sent.poll(5, TimeUnit.SECONDS);
+		assertEquals(ALICE, s[0]);
+		assertEquals(20, ((DeliveryReceipt) s[1]).getMessageIdValues().length);
+		assertEquals(1, service.getPending());
+	}
+
+	@Test
+	public void add_should_send_receipt_after_window() throws InterruptedException {
+		service = new ReceiptService(this::send, Duration.ofMillis(50));
+		service.received(BOB, MessageId.fromLong(7));
+
+		var s = sent.poll(5, TimeUnit.SECONDS);
+		assertEquals(BOB, s[0]);
+		assertArrayEquals(new long[] { 7 }, ((DeliveryReceipt) s[1]).getMessageIdValues());
+	}
+
+	@Test
+	public void close_should_send_pending_receipts() throws InterruptedException {
+		service = new ReceiptService(this::send, Duration.ofHours(1));
+		service.received(BOB, MessageId.fromLong(7));
+
+		service.close();
+
+		assertEquals(1, sent.size());
+	}
+
+	@Test
+	public void add_should_throw_RejectedExecutionException_after_close() throws InterruptedException {
+		service = new ReceiptService(this::send, Duration.ofHours(1));
+		service.close();
+
+		var e = assertThrows(RejectedExecutionException.class, () -> service.received(BOB, MessageId.fromLong(7)));
+		assertEquals("Receipt service closed", e.getMessage());
+		assertEquals(0, service.getPending());
+	}
+
+	@Test
+	public void send_failures_should_be_counted() {
+		service = new ReceiptService((to, receipt) -> {
+			throw new IOException("offline");
+		}, Duration.ofHours(1));
+		service.received(BOB, MessageId.fromLong(7));
+
+		service.flush();
+
+		assertEquals(1, service.getFailed());
+		assertEquals(0, service.getReceipts());
+		assertTrue(sent.isEmpty());
+	}
+
+	@Test
+	public void constructor_should_throw_IllegalArgumentException_for_invalid_batch_size() {
+		var e = assertThrows(IllegalArgumentException.class,
+				() -> new ReceiptService(this::send, Duration.ofHours(1), 466));
+		assertEquals("Invalid batch size: 466", e.getMessage());
+	}
+
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.mountainminds.three4j.SendScheduler.Priority;
+
+public class SendSchedulerTest {
+
+	private static final ThreemaId BLOCKER = ThreemaId.of("BLOCKER1");
+	private static final ThreemaId HIGH = ThreemaId.of("HIGH0001");
+	private static final ThreemaId LOW = ThreemaId.of("LOW00001");
+
+	private static final EncryptedMessage MESSAGE = new EncryptedMessage(new byte[16], Nonce.of(new byte[Nonce.SIZE]));
+
+	private final CountDownLatch blocked = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final List<ThreemaId> sent = Collections.synchronizedList(new ArrayList<>());
+
+	private SendScheduler scheduler;
+
+	@AfterEach
+	public void teardown() throws InterruptedException {
+		release.countDown();
+		scheduler.close();
+	}
+
+	private MessageId send(ThreemaId to, EncryptedMessage message) throws IOException {
+		if (to.equals(BLOCKER)) {
+			blocked.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+		}
+		sent.add(to);
+		return MessageId.fromLong(sent.size());
+	}
+
+	private void block() throws InterruptedException {
+		scheduler.submit(Priority.NORMAL, BLOCKER, MESSAGE);
+		assertTrue(blocked.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void submit_should_send_message() throws Exception {
+		scheduler = new SendScheduler(this::send, 2);
+
+		var id = scheduler.submit(Priority.NORMAL, HIGH, MESSAGE).get(5, TimeUnit.SECONDS);
+
+		assertEquals(MessageId.fromLong(1), id);
+		assertEquals(1, scheduler.getDispatched(Priority.NORMAL));
+	}
+
+	@Test
+	public void lanes_should_share_capacity_by_weight() throws Exception {
+		scheduler = new SendScheduler(this::send, 1);
+		block();
+		var futures = new ArrayList<CompletableFuture<MessageId>>();
+		for (int i = 0; i < 40; i++) {
+			futures.add(scheduler.submit(Priority.LOW, LOW, MESSAGE));
+			futures.add(scheduler.submit(Priority.HIGH, HIGH, MESSAGE));
+		}
+		assertEquals(40, scheduler.getQueueDepth(Priority.HIGH));
+		assertEquals(40, scheduler.getQueueDepth(Priority.LOW));
+
+		release.countDown();
+		for (var f : futures) {
+			f.get(5, TimeUnit.SECONDS);
+		}
+
+		var first = sent.subList(1, 19);
+		assertEquals(16, Collections.frequency(first, HIGH));
+		assertEquals(2, Collections.frequency(first, LOW));
+		assertTrue(scheduler.getMaxWait(Priority.LOW).compareTo(scheduler.getAverageWait(Priority.LOW)) >= 0);
+	}
+
+	@Test
+	public void setWeight_should_change_share() throws Exception {
+		scheduler = new SendScheduler(this::send, 1);
+		scheduler.setWeight(Priority.LOW, 8);
+		block();
+		var futures = new ArrayList<CompletableFuture<MessageId>>();
+		for (int i = 0; i < 10; i++) {
+			futures.add(scheduler.submit(Priority.HIGH, HIGH, MESSAGE));
+			futures.add(scheduler.submit(Priority.LOW, LOW, MESSAGE));
+		}
+
+		release.countDown();
+		for (var f : futures) {
+			f.get(5, TimeUnit.SECONDS);
+		}
+
+		var first = sent.subList(1, 11);
+		assertEquals(5, Collections.frequency(first, LOW));
+	}
+
+	@Test
+	public void expired_messages_should_be_dropped() throws Exception {
+		scheduler = new SendScheduler(this::send, 1);
+		block();
+		var future = scheduler.submit(Priority.HIGH, HIGH, MESSAGE, Duration.ofMillis(1));
+		Thread.sleep(20);
+
+		release.countDown();
+
+		var e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(TimeoutException.class, e.getCause());
+		assertEquals(1, scheduler.getExpired(Priority.HIGH));
+		assertEquals(List.of(BLOCKER), sent);
+	}
+
+	@Test
+	public void send_failures_should_complete_future_exceptionally() {
+		scheduler = new SendScheduler((to, message) -> {
+			throw new IOException("offline");
+		}, 1);
+
+		var future = scheduler.submit(Priority.LOW, LOW, MESSAGE);
+
+		var e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		assertEquals("offline", e.getCause().getMessage());
+	}
+
+	@Test
+	public void close_should_send_queued_messages() throws Exception {
+		scheduler = new SendScheduler(this::send, 1);
+		var future = scheduler.submit(Priority.LOW, LOW, MESSAGE);
+
+		scheduler.close();
+
+		assertTrue(future.isDone());
+		assertThrows(RejectedExecutionException.class, () -> scheduler.submit(Priority.LOW, LOW, MESSAGE));
+	}
+
+	@Test
+	public void setWeight_should_throw_IllegalArgumentException_for_invalid_weight() {
+		scheduler = new SendScheduler(this::send, 1);
+		var e = assertThrows(IllegalArgumentException.class, () -> scheduler.setWeight(Priority.LOW, 0));
+		assertEquals("Invalid weight: 0", e.getMessage());
+	}
+
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import java.lang.reflect.Method;
+
+/**
+ * Access to thread statistics of the JVM. The library module does not depend
+ * on <code>java.management</code>, therefore the platform beans are accessed
+ * through reflection. Allocation statistics require
+ * <code>com.sun.management.ThreadMXBean</code> and are reported as -1 on JVMs
+ * without it.
+ */
+final class ThreadMetrics {
+
+	private static final Object BEAN;
+	private static final Method ALL_THREAD_IDS;
+	private static final Method THREAD_COUNT;
+	private static final Method PEAK_THREAD_COUNT;
+	private static final Method ALLOCATED_BYTES;
+	private static final Method ALLOCATED_BYTES_ALL;
+
+	static {
+		try {
+			var factory = Class.forName("java.lang.management.ManagementFactory");
+			BEAN = factory.getMethod("getThreadMXBean").invoke(null);
+			var standard = Class.forName("java.lang.management.ThreadMXBean");
+			ALL_THREAD_IDS = standard.getMethod("getAllThreadIds");
+			THREAD_COUNT = standard.getMethod("getThreadCount");
+			PEAK_THREAD_COUNT = standard.getMethod("getPeakThreadCount");
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+		ALLOCATED_BYTES = allocatedBytesMethod(long.class);
+		ALLOCATED_BYTES_ALL = allocatedBytesMethod(long[].class);
+	}
+
+	private static Method allocatedBytesMethod(Class<?> parameter) {
+		try {
+			var extended = Class.forName("com.sun.management.ThreadMXBean");
+			return extended.isInstance(BEAN) ? extended.getMethod("getThreadAllocatedBytes", parameter) : null;
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	private ThreadMetrics() {
+	}
+
+	private static Object invoke(Method method, Object... args) {
+		try {
+			return method.invoke(BEAN, args);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return bytes allocated by the current thread so far or -1 if not
+	 *         supported
+	 */
+	static long getAllocatedBytes() {
+		if (ALLOCATED_BYTES == null) {
+			return -1;
+		}
+		return (Long) invoke(ALLOCATED_BYTES, Thread.currentThread().getId());
+	}
+
+	/**
+	 * @return bytes allocated so far by all live threads or -1 if not supported
+	 */
+	static long getTotalAllocatedBytes() {
+		if (ALLOCATED_BYTES_ALL == null) {
+			return -1;
+		}
+		long sum = 0;
+		for (long bytes : (long[]) invoke(ALLOCATED_BYTES_ALL, invoke(ALL_THREAD_IDS))) {
+			sum += Math.max(0, bytes);
+		}
+		return sum;
+	}
+
+	/**
+	 * @return number of live threads
+	 */
+	static int getThreadCount() {
+		return (Integer) invoke(THREAD_COUNT);
+	}
+
+	/**
+	 * @return peak number of live threads
+	 */
+	static int getPeakThreadCount() {
+		return (Integer) invoke(PEAK_THREAD_COUNT);
+	}
+
+}
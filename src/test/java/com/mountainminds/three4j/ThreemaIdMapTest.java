@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ThreemaIdMapTest {
+
+	private final ThreemaIdMap<String> map = new ThreemaIdMap<>();
+
+	@Test
+	public void new_map_should_be_empty() {
+		assertTrue(map.isEmpty());
+		assertEquals(0, map.size());
+		assertNull(map.get(ThreemaId.of("ABCDEFGH")));
+	}
+
+	@Test
+	public void put_should_add_entry() {
+		assertNull(map.put(ThreemaId.of("ABCDEFGH"), "a"));
+		assertEquals("a", map.get(ThreemaId.of("ABCDEFGH")));
+		assertTrue(map.containsKey(ThreemaId.of("ABCDEFGH")));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void put_should_replace_existing_entry() {
+		map.put(ThreemaId.of("ABCDEFGH"), "a");
+		assertEquals("a", map.put(ThreemaId.of("ABCDEFGH"), "b"));
+		assertEquals("b", map.get(ThreemaId.of("ABCDEFGH")));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void put_should_throw_IllegalArgumentException_for_invalid_packed_ids() {
+		var e = assertThrows(IllegalArgumentException.class, () -> map.put(0, "a"));
+		assertEquals("Invalid Threema ID: 0", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> map.put(42, "a"));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void remove_should_remove_entry() {
+		map.put(ThreemaId.of("ABCDEFGH"), "a");
+		assertEquals("a", map.remove(ThreemaId.of("ABCDEFGH")));
+		assertFalse(map.containsKey(ThreemaId.of("ABCDEFGH")));
+		assertNull(map.remove(ThreemaId.of("ABCDEFGH")));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void forEach_should_visit_all_entries() {
+		map.put(ThreemaId.of("AAAAAAAA"), "a");
+		map.put(ThreemaId.of("BBBBBBBB"), "b");
+		var visited = new HashMap<ThreemaId, String>();
+		map.forEach(visited::put);
+		assertEquals(2, visited.size());
+		assertEquals("a", visited.get(ThreemaId.of("AAAAAAAA")));
+		assertEquals("b", visited.get(ThreemaId.of("BBBBBBBB")));
+	}
+
+	@Test
+	public void map_should_behave_like_HashMap_for_random_operations() {
+		var reference = new HashMap<Long, String>();
+		var rand = new Random(42);
+		for (int i = 0; i < 100000; i++) {
+			var id = randomId(rand).toLong();
+			var value = String.valueOf(i);
+			if (rand.nextInt(3) == 0) {
+				assertEquals(reference.remove(id), map.remove(id));
+			} else {
+				assertEquals(reference.put(id, value), map.put(id, value));
+			}
+		}
+		assertEquals(reference.size(), map.size());
+		reference.forEach((id, value) -> assertEquals(value, map.get(id)));
+	}
+
+	private static ThreemaId randomId(Random rand) {
+		// Small alphabet to provoke collisions
+		var chars = new char[8];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = "ABCD".charAt(rand.nextInt(4));
+		}
+		return ThreemaId.of(new String(chars));
+	}
+
+}
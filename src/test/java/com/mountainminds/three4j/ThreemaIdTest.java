@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ThreemaIdTest {
+
+	@Test
+	public void of_should_throw_IllegalArgumentException_for_wrong_length() {
+		var e = assertThrows(IllegalArgumentException.class, () -> ThreemaId.of("ABCDEFG"));
+		assertEquals("Illegal Threema ID length: ABCDEFG", e.getMessage());
+	}
+
+	@Test
+	public void of_should_throw_IllegalArgumentException_for_invalid_characters() {
+		var e = assertThrows(IllegalArgumentException.class, () -> ThreemaId.of("abcdefgh"));
+		assertEquals("Illegal Threema ID: abcdefgh", e.getMessage());
+	}
+
+	@Test
+	public void getValue_should_return_value() {
+		assertEquals("*GWYTEST", ThreemaId.of("*GWYTEST").getValue());
+	}
+
+	@Test
+	public void toLong_should_pack_characters_big_endian() {
+		assertEquals(0x4142434445464748L, ThreemaId.of("ABCDEFGH").toLong());
+	}
+
+	@Test
+	public void toLong_should_preserve_order() {
+		assertTrue(ThreemaId.of("AAAAAAAB").toLong() < ThreemaId.of("AAAAAAAC").toLong());
+	}
+
+	@Test
+	public void fromLong_should_create_id_from_packed_value() {
+		var id = ThreemaId.fromLong(ThreemaId.of("*GWYTEST").toLong());
+		assertEquals("*GWYTEST", id.getValue());
+		assertEquals(ThreemaId.of("*GWYTEST"), id);
+	}
+
+	@Test
+	public void fromLong_should_throw_IllegalArgumentException_for_invalid_values() {
+		var e = assertThrows(IllegalArgumentException.class, () -> ThreemaId.fromLong(0x4142434445464700L));
+		assertEquals("Illegal Threema ID: 4142434445464700", e.getMessage());
+	}
+
+	@Test
+	public void of_should_create_id_from_bytes() {
+		var bytes = "--*GWYTEST--".getBytes(US_ASCII);
+		assertEquals(ThreemaId.of("*GWYTEST"), ThreemaId.of(bytes, 2, 8));
+	}
+
+	@Test
+	public void of_should_throw_IllegalArgumentException_for_invalid_bytes() {
+		var bytes = "abcdefgh".getBytes(US_ASCII);
+		var e = assertThrows(IllegalArgumentException.class, () -> ThreemaId.of(bytes, 0, 8));
+		assertEquals("Illegal Threema ID: abcdefgh", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class, () -> ThreemaId.of(bytes, 0, 7));
+		assertEquals("Illegal Threema ID length: abcdefg", e.getMessage());
+	}
+
+	@Test
+	public void equals_should_be_true_for_same_ids() {
+		assertEquals(ThreemaId.of("ABCDEFGH"), ThreemaId.of("ABCDEFGH"));
+		assertEquals(ThreemaId.of("ABCDEFGH").hashCode(), ThreemaId.of("ABCDEFGH").hashCode());
+	}
+
+	@Test
+	public void equals_should_be_false_for_different_ids() {
+		assertNotEquals(ThreemaId.of("ABCDEFGH"), ThreemaId.of("ABCDEFGI"));
+		assertFalse(ThreemaId.of("ABCDEFGH").equals(null));
+	}
+
+	@Test
+	public void toString_should_print_value() {
+		assertEquals("ThreemaId[ABCDEFGH]", ThreemaId.of("ABCDEFGH").toString());
+	}
+
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TimerWheelTest {
+
+	private final List<Long> expired = new ArrayList<>();
+
+	private void collect(long deadline, long tag, String value) {
+		expired.add(tag);
+	}
+
+	@Test
+	public void advance_should_release_entries_at_their_deadline() {
+		var wheel = new TimerWheel<String>(1000);
+		wheel.schedule(1005, 1, "a");
+		wheel.schedule(1001, 2, "b");
+
+		wheel.advance(1004, this::collect);
+		assertEquals(List.of(2L), expired);
+
+		wheel.advance(1005, this::collect);
+		assertEquals(List.of(2L, 1L), expired);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	public void advance_should_release_past_entries_immediately() {
+		var wheel = new TimerWheel<String>(1000);
+		wheel.schedule(10, 1, "a");
+		wheel.schedule(1000, 2, "b");
+
+		wheel.advance(1000, this::collect);
+
+		assertEquals(2, expired.size());
+	}
+
+	@Test
+	public void advance_should_cascade_entries_from_all_levels() {
+		var wheel = new TimerWheel<String>(0);
+		long[] deadlines = { 255, 256, 257, 65535, 65536, 65537, 1 << 24, (1 << 24) + 1, 1L << 32, (1L << 32) + 1000 };
+		for (var d : deadlines) {
+			wheel.schedule(d, d, "x");
+		}
+		for (var d : deadlines) {
+			wheel.advance(d - 1, this::collect);
+			assertFalse(expired.contains(d), String.valueOf(d));
+			wheel.advance(d, this::collect);
+			assertTrue(expired.contains(d), String.valueOf(d));
+		}
+	}
+
+	@Test
+	public void cancel_should_remove_entry() {
+		var wheel = new TimerWheel<String>(0);
+		long handle = wheel.schedule(10, 1, "a");
+		wheel.schedule(10, 2, "b");
+
+		assertTrue(wheel.cancel(handle));
+		assertFalse(wheel.cancel(handle));
+		wheel.advance(10, this::collect);
+
+		assertEquals(List.of(2L), expired);
+	}
+
+	@Test
+	public void cancel_should_ignore_handles_of_reused_entries() {
+		var wheel = new TimerWheel<String>(0);
+		long handle = wheel.schedule(10, 1, "a");
+		wheel.advance(10, this::collect);
+		wheel.schedule(20, 2, "b");
+
+		assertFalse(wheel.cancel(handle));
+		assertEquals(1, wheel.size());
+	}
+
+	@Test
+	public void wheel_should_behave_like_reference_for_random_operations() {
+		var wheel = new TimerWheel<Long>(0);
+		var reference = new HashMap<Long, Long>();
+		var handles = new HashMap<Long, Long>();
+		var rand = new Random(1);
+		long now = 0;
+		long tag = 0;
+		var released = new HashMap<Long, Long>();
+		for (int i = 0; i < 20000; i++) {
+			switch (rand.nextInt(4)) {
+			case 0:
+			case 1:
+				long deadline = now + (rand.nextBoolean() ? rand.nextInt(300) : rand.nextInt(200000));
+				handles.put(++tag, wheel.schedule(deadline, tag, deadline));
+				reference.put(tag, deadline);
+				break;
+			case 2:
+				if (tag > 0) {
+					long t = 1 + rand.nextInt((int) tag);
+					assertEquals(reference.remove(t) != null, wheel.cancel(handles.get(t)));
+				}
+				break;
+			default:
+				now += rand.nextInt(500);
+				long n = now;
+				wheel.advance(now, (d, t, value) -> {
+					assertTrue(d <= n);
+					released.put(t, n);
+				});
+				for (Map.Entry<Long, Long> e : new ArrayList<>(reference.entrySet())) {
+					if (e.getValue() <= now) {
+						assertTrue(released.containsKey(e.getKey()), "missing " + e);
+						reference.remove(e.getKey());
+					}
+				}
+			}
+			assertEquals(reference.size(), wheel.size());
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Mountainminds GmbH & Co. KG
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ *******************************************************************************/
+package com.mountainminds.three4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WindowedKeySetTest {
+
+	private static final long MINUTE = 60_000;
+
+	@TempDir
+	Path tmp;
+
+	@Test
+	public void add_should_return_true_for_new_keys() {
+		var set = WindowedKeySet.create(Duration.ofMinutes(3), 100);
+		assertTrue(set.add(1, 0));
+		assertTrue(set.add(2, 0));
+	}
+
+	@Test
+	public void add_should_return_false_for_known_keys_within_window() {
+		var set = WindowedKeySet.create(Duration.ofMinutes(3), 100);
+		long start = 1_000_000 * MINUTE;
+		set.add(42, start);
+
+		assertFalse(set.add(42, start));
+		assertFalse(set.add(42, start + 2 * MINUTE));
+		assertFalse(set.add(42, start + 3 * MINUTE - 1));
+	}
+
+	@Test
+	public void add_should_forget_keys_after_window() {
+		var set = WindowedKeySet.create(Duration.ofMinutes(3), 100);
+		long start = 1_000_000 * MINUTE;
+		set.add(42, start);
+
+		assertTrue(set.add(42, start + 4 * MINUTE));
+		assertFalse(set.add(42, start + 4 * MINUTE));
+	}
+
+	@Test
+	public void add_should_reuse_tables_of_expired_slots() {
+		var set = WindowedKeySet.create(Duration.ofMinutes(3), 100);
+		long start = 1_000_000 * MINUTE;
+		for (int i = 0; i < 10 * WindowedKeySet.GENERATIONS; i++) {
+			for (long key = 1; key <= 100; key++) {
+				assertTrue(set.add(key * 1000 + i, start + i * MINUTE));
+			}
+		}
+	}
+
+	@Test
+	public void add_should_report_keys_as_new_when_table_overflows() {
+		var set = WindowedKeySet.create(Duration.ofMinutes(3), 10);
+		for (long key = 1; key <= 1000; key++) {
+			assertTrue(set.add(key, 0));
+		}
+	}
+
+	@Test
+	public void add_should_throw_IllegalArgumentException_for_zero_key() {
+		var set = WindowedKeySet.create(Duration.ofMinutes(3), 10);
+		var e = assertThrows(IllegalArgumentException.class, () -> set.add(0, 0));
+		assertEquals("Invalid key: 0", e.getMessage());
+	}
+
+	@Test
+	public void add_should_accept_every_key_only_once_when_called_concurrently() throws Exception {
+		var set = WindowedKeySet.create(Duration.ofMinutes(3), 100_000);
+		var accepted = new AtomicInteger();
+		var errors = new ConcurrentLinkedQueue<Throwable>();
+		var threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (long key = 1; key <= 20_000; key++) {
+					if (set.add(key, 0)) {
+						accepted.incrementAndGet();
+					}
+				}
+			});
+			threads[t].setUncaughtExceptionHandler((th, e) -> errors.add(e));
+			threads[t].start();
+		}
+		for (var t : threads) {
+			t.join();
+		}
+		assertTrue(errors.isEmpty());
+		assertEquals(20_000, accepted.get());
+	}
+
+	@Test
+	public void open_should_share_keys_through_file() throws IOException {
+		var file = tmp.resolve("keys");
+		try (var set1 = WindowedKeySet.open(file, Duration.ofMinutes(3), 100);
+				var set2 = WindowedKeySet.open(file, Duration.ofMinutes(3), 100)) {
+			assertTrue(set1.add(42, 0));
+			assertFalse(set2.add(42, 0));
+		}
+		try (var set = WindowedKeySet.open(file, Duration.ofMinutes(3), 100)) {
+			assertFalse(set.add(42, 0));
+		}
+	}
+
+	@Test
+	public void open_should_throw_IOException_for_different_parameters() throws IOException {
+		var file = tmp.resolve("keys");
+		WindowedKeySet.open(file, Duration.ofMinutes(3), 100).close();
+		var e = assertThrows(IOException.class, () -> WindowedKeySet.open(file, Duration.ofMinutes(5), 100));
+		assertEquals("Incompatible key set file: " + file, e.getMessage());
+	}
+
+	@Test
+	public void open_should_throw_IOException_for_invalid_file() throws IOException {
+		var file = tmp.resolve("keys");
+		Files.write(file, new byte[100]);
+		var e = assertThrows(IOException.class, () -> WindowedKeySet.open(file, Duration.ofMinutes(3), 100));
+		assertEquals("Invalid key set file: " + file, e.getMessage());
+	}
+
+	@Test
+	public void create_should_throw_IllegalArgumentException_for_too_many_keys() {
+		var e = assertThrows(IllegalArgumentException.class,
+				() -> WindowedKeySet.create(Duration.ofMinutes(3), 60_000_000));
+		assertEquals("Unsupported number of keys: 60000000", e.getMessage());
+		assertThrows(IllegalArgumentException.class,
+				() -> WindowedKeySet.create(Duration.ofMinutes(3), Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void create_should_throw_IllegalArgumentException_for_too_short_window() {
+		var e = assertThrows(IllegalArgumentException.class, () -> WindowedKeySet.create(Duration.ofMillis(1), 10));
+		assertEquals("Invalid window: PT0.001S", e.getMessage());
+	}
+
+}
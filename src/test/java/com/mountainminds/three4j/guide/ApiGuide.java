@@ -14,6 +14,7 @@
 package com.mountainminds.three4j.guide;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.PrivateKey;
@@ -25,9 +26,11 @@ import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.handler.AbstractHandler;
 
 import com.mountainminds.three4j.Blob;
+import com.mountainminds.three4j.CallbackServer;
 import com.mountainminds.three4j.EncryptedMessage;
 import com.mountainminds.three4j.Gateway;
 import com.mountainminds.three4j.GatewayCallback;
+import com.mountainminds.three4j.GatewayMetrics;
 import com.mountainminds.three4j.Hash;
 import com.mountainminds.three4j.KeyEncoder;
 import com.mountainminds.three4j.MessageId;
@@ -66,6 +69,15 @@ public class ApiGuide {
 		Gateway gw = new Gateway(from, secret);
 		// </CODE>
 
+		// To monitor latencies, status codes and transferred bytes of all requests
+		// you can register a `GatewayListener`. The built-in `GatewayMetrics`
+		// keeps lock-free histograms per endpoint:
+
+		// <CODE>
+		GatewayMetrics metrics = new GatewayMetrics();
+		gw.setListener(metrics);
+		// </CODE>
+
 		// If you want to send end-to-end encrypted messages (which is recommended)
 		// you need your private 32 byte Threema key. The hexadecimal string
 		// representation has 64 characters. Make sure you store this key securely
@@ -304,6 +316,22 @@ public class ApiGuide {
 
 		server.start();
 
+		// Alternatively you can use the embedded `CallbackServer`. It verifies
+		// incoming callbacks, answers them immediately and passes them to your
+		// handler on a separate thread pool. If too many callbacks are pending
+		// the gateway is asked to retry later:
+
+		// <CODE>
+		CallbackServer.Handler handler = callback -> System.out.println(callback.getMessage());
+		CallbackServer callbackServer = new CallbackServer(new InetSocketAddress(8889), secret, handler);
+		callbackServer.start();
+		// </CODE>
+
+		// The callback server is based on the JDK module `jdk.httpserver`, which
+		// is an optional dependency of three4j. Applications on the module path
+		// have to add it with `--add-modules jdk.httpserver` or a `requires` of
+		// their own.
+
 	}
 
 }